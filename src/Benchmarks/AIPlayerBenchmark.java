@@ -0,0 +1,68 @@
+package Benchmarks;
+
+import Models.AIPlayer;
+import Models.Board;
+import Models.Game;
+import Models.Move;
+import Models.MoveGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Benchmarks.AIPlayerBenchmark measures Models.AIPlayer.analyzeBoard(), which finds every legal play of the AI's
+ * rack, on fixed positions: the empty board and boards after a number of turns of seeded AI games (see
+ * Benchmarks.Fixtures), with both move generation backends.
+ *
+ * @date 2026.10.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIPlayerBenchmark {
+
+    @Param({"14", "3110", "2022"})
+    public long seed;
+
+    @Param({"0", "6", "12"})
+    public int turns;
+
+    @Param({"TRIE", "GADDAG"})
+    public MoveGenerator.Backend backend;
+
+    private AIPlayer player;
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        Game game = Fixtures.midGame(this.seed, this.turns);
+        this.player = Fixtures.playerToMove(game);
+        this.player.setBackend(this.backend);
+        this.board = game.getBoard();
+        // build the word graph outside the measurement
+        MoveGenerator.create(this.backend);
+    }
+
+    @Benchmark
+    public ArrayList<Move> analyzeBoard() throws FileNotFoundException {
+        this.player.analyzeBoard(this.board);
+        return this.player.getPossibleMoves();
+    }
+}
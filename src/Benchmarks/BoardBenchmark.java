@@ -0,0 +1,107 @@
+package Benchmarks;
+
+import Models.Board;
+import Models.Move;
+import Models.MoveScorer;
+import Models.Square;
+import Models.Tile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Benchmarks.BoardBenchmark measures placing a word with Models.Board.placeWord() and reading the words it formed,
+ * scoring a play with Models.MoveScorer, both once it is on the board and as a generated Models.Move, and looking up
+ * the premium of a square.
+ *
+ * Placing a word changes the board, so those benchmarks copy a fixture board first. copyBoard measures the copy on
+ * its own so it can be taken off their numbers.
+ *
+ * @date 2026.10.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({"STANDARD", "DIAMOND", "TETRIS"})
+    public Board.Pattern pattern;
+
+    private Board empty;
+    private Board withFirstWord;
+    private ArrayList<Tile> firstWord;
+    private ArrayList<Tile> crossTiles;
+    private Move firstMove;
+    private Square[] squares;
+
+    @Setup
+    public void setUp() {
+        this.empty = new Board();
+        this.empty.updateBoardPattern(this.pattern);
+        this.withFirstWord = Fixtures.boardWithFirstWord();
+        this.withFirstWord.updateBoardPattern(this.pattern);
+        this.firstWord = Fixtures.tiles(Fixtures.FIRST_WORD);
+        this.crossTiles = Fixtures.tiles(Fixtures.CROSS_TILES);
+        this.firstMove = new Move(8, 6, Board.Direction.HORIZONTAL, Fixtures.FIRST_WORD,
+                (1 << Fixtures.FIRST_WORD.length()) - 1, 0);
+        this.squares = new Square[Board.BOARD_SIZE * Board.BOARD_SIZE];
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            for (int col = 1; col <= Board.BOARD_SIZE; col++) {
+                this.squares[(row - 1) * Board.BOARD_SIZE + col - 1] = new Square(row, col);
+            }
+        }
+    }
+
+    @Benchmark
+    public Board copyBoard() {
+        return new Board(this.withFirstWord);
+    }
+
+    @Benchmark
+    public ArrayList<String> placeFirstWordAndGetNewWords() {
+        Board board = new Board(this.empty);
+        board.placeWord(8, 6, this.firstWord, Board.Direction.HORIZONTAL);
+        return board.getNewWords();
+    }
+
+    @Benchmark
+    public ArrayList<String> placeCrossWordAndGetNewWords() {
+        Board board = new Board(this.withFirstWord);
+        board.placeWord(Fixtures.CROSS_ROW, Fixtures.CROSS_COL, this.crossTiles, Board.Direction.VERTICAL);
+        return board.getNewWords();
+    }
+
+    @Benchmark
+    public int scoreLastPlay() {
+        return MoveScorer.scoreLastPlay(this.withFirstWord);
+    }
+
+    @Benchmark
+    public int scoreMove() {
+        return MoveScorer.score(this.empty, this.firstMove);
+    }
+
+    @Benchmark
+    public void getMultiplierFromXML(Blackhole blackhole) {
+        for (Square square : this.squares) {
+            blackhole.consume(this.empty.getMultiplierFromXML(square));
+        }
+    }
+}
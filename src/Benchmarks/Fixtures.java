@@ -0,0 +1,112 @@
+package Benchmarks;
+
+import Models.AIPlayer;
+import Models.Board;
+import Models.Game;
+import Models.GameLogger;
+import Models.Tile;
+import Models.TileSet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Benchmarks.Fixtures builds the positions the benchmarks run on. Mid-game positions come from headless AI games
+ * whose bag is seeded, so the same seed and number of turns always give the same board and racks, on any machine and
+ * before and after a change. Numbers from two runs are therefore measured on identical input.
+ *
+ * @date 2026.10.17
+ */
+public final class Fixtures {
+
+    /**
+     * Seeds of the games the mid-game fixtures are taken from.
+     */
+    public static final long[] SEEDS = {14L, 3110L, 2022L};
+
+    /**
+     * Word placed across the centre of an empty board by the placement benchmarks, then the tiles played down from
+     * its O to form ONE.
+     */
+    public static final String FIRST_WORD = "HELLO";
+    public static final String CROSS_TILES = "NE";
+    public static final int CROSS_ROW = 9;
+    public static final int CROSS_COL = 10;
+
+    /**
+     * Words checked by the dictionary benchmarks: valid words of every length and a few that are not words.
+     */
+    public static final String[] WORDS = {"AT", "THE", "WORD", "HELLO", "SCRABBLE", "QUIZ", "JAZZ", "ZZYZX", "HELLOO",
+            "TILES", "BOARD", "GAME", "XYZZY", "PLAYER", "RACK", "BLANK"};
+
+    static {
+        // the model logs every play at INFO, which would end up in the measurements
+        GameLogger.setLevel(GameLogger.Level.OFF);
+    }
+
+    /**
+     * Private constructor, the class only has static methods.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Plays a headless AI game up to the given turn.
+     * @param seed seed of the bag
+     * @param turns number of turns to play
+     * @return Game the position after the turns, with the next AI player to move
+     */
+    public static Game midGame(long seed, int turns) {
+        Game game = new Game(seed);
+        game.createPlayers("0", "2");
+        try {
+            for (int turn = 0; turn < turns && !game.isGameFinished(); turn++) {
+                game.playAITurn();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        return game;
+    }
+
+    /**
+     * @param game a position built by midGame()
+     * @return the AI player whose turn it is
+     */
+    public static AIPlayer playerToMove(Game game) {
+        return (AIPlayer) game.getCurrentPlayer();
+    }
+
+    /**
+     * Creates the tiles spelling a word.
+     * @param word upper case letters
+     * @return ArrayList of one tile per letter
+     */
+    public static ArrayList<Tile> tiles(String word) {
+        ArrayList<Tile> tiles = new ArrayList<>();
+        for (char c : word.toCharArray()) {
+            String letter = String.valueOf(c);
+            tiles.add(new Tile(letter, TileSet.getDefault().value(c)));
+        }
+        return tiles;
+    }
+
+    /**
+     * @return an empty board with FIRST_WORD across the centre
+     */
+    public static Board boardWithFirstWord() {
+        Board board = new Board();
+        board.placeWord(8, 6, tiles(FIRST_WORD), Board.Direction.HORIZONTAL);
+        return board;
+    }
+
+    /**
+     * @return the words of WORDS as a list
+     */
+    public static ArrayList<String> words() {
+        return new ArrayList<>(List.of(WORDS));
+    }
+}
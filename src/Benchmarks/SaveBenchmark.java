@@ -0,0 +1,93 @@
+package Benchmarks;
+
+import Models.Game;
+import Models.GameHistory;
+import Models.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Benchmarks.SaveBenchmark measures saving and loading a mid-game position (see Models.Game.saveGame() and
+ * loadGame()) and pushing a turn onto the undo history, which captures a Models.GameState from the previous one.
+ * The pushes alternate between two positions one turn apart, so every push holds the rows and player a turn changed.
+ *
+ * Saving forces the journal to disk, so its numbers depend on the file system the temporary directory is on.
+ *
+ * @date 2026.10.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveBenchmark {
+
+    @Param({"14"})
+    public long seed;
+
+    @Param({"12"})
+    public int turns;
+
+    private Game game;
+    private Game[] positions;
+    private int next;
+    private Game target;
+    private File file;
+    private GameHistory history;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.game = Fixtures.midGame(this.seed, this.turns);
+        this.target = new Game();
+        this.file = File.createTempFile("benchmark", ".journal");
+        this.game.saveGame(this.file);
+        this.positions = new Game[]{this.game, Fixtures.midGame(this.seed, this.turns + 1)};
+        this.history = new GameHistory();
+        this.history.push(GameState.capture(this.game, null));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public void saveGame() {
+        this.game.saveGame(this.file);
+    }
+
+    @Benchmark
+    public Game loadGame() {
+        this.target.loadGame(this.file);
+        return this.target;
+    }
+
+    @Benchmark
+    public GameState pushGameState() {
+        this.next ^= 1;
+        GameState state = GameState.capture(this.positions[this.next], this.history.current());
+        this.history.push(state);
+        if (this.history.getUndoDepth() > 100) {
+            // keep the history from growing through the whole run
+            this.history = new GameHistory();
+        }
+        return state;
+    }
+}
@@ -0,0 +1,60 @@
+package Benchmarks;
+
+import Models.WordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Benchmarks.WordValidatorBenchmark measures checking the words of a play against the dictionary with
+ * Models.WordValidator.isWordsValid(), for a play whose words are all valid and for one whose last word is not.
+ *
+ * @date 2026.10.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordValidatorBenchmark {
+
+    private WordValidator validator;
+    private ArrayList<String> validWords;
+    private ArrayList<String> lastWordInvalid;
+
+    @Setup
+    public void setUp() {
+        this.validator = WordValidator.getInstance();
+        this.validWords = new ArrayList<>();
+        for (String word : Fixtures.WORDS) {
+            if (this.validator.isWordValid(word)) {
+                this.validWords.add(word);
+            }
+        }
+        this.lastWordInvalid = new ArrayList<>(this.validWords);
+        this.lastWordInvalid.add("XYZZYQ");
+    }
+
+    @Benchmark
+    public boolean isWordsValid() {
+        return this.validator.isWordsValid(this.validWords);
+    }
+
+    @Benchmark
+    public boolean isWordsValidLastInvalid() {
+        return this.validator.isWordsValid(this.lastWordInvalid);
+    }
+}
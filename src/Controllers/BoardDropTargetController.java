@@ -107,14 +107,16 @@ public class BoardDropTargetController extends DropTargetAdapter {
                     this.game.changeStartingCoordinatesToVertical();
                 }
 
-                if (tile.getLetter().equals("_"))
+                // the hand gives the blank its letter, see Models.Hand.assignBlank()
+                String letter = tile.getLetter();
+                if (letter.equals("_"))
                 {
-                    tile.setLetter(handleBlankTiles());
-                    this.label.setText(tile.getLetter());
+                    letter = handleBlankTiles();
+                    this.label.setText(letter);
                     tileIsBlank = true;
                 }
 
-                this.game.addToRemoveTilesFromHand(tile.getLetter().charAt(0), tileIsBlank);
+                this.game.addToRemoveTilesFromHand(letter.charAt(0), tileIsBlank);
 
                 dropTargetDropEvent.dropComplete(true);
                 this.game.refreshHandPanelView(tile, tileIsBlank);
@@ -12,24 +12,51 @@ package Models;
  * @author Mohamed Kaddour
  * @date 2022.11.22
  */
-import Models.Board;
-
 import java.io.FileNotFoundException;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 
 public class AIPlayer extends Player implements Serializable {
 
-    private Board board;
+    /**
+     * Time an AI may take to choose a play in milliseconds, from the scrabble.ai.budget system property. 0 means no
+     * limit: every play is found.
+     */
+    public static final long DEFAULT_TIME_BUDGET = Long.getLong("scrabble.ai.budget", 0L);
+
+    /**
+     * How an AI picks its play among the legal ones.
+     * GREEDY plays the highest scoring one, SIMULATION the one with the best spread over simulated opponent replies
+     * (see Models.MonteCarloSearch).
+     */
+    public enum Strategy { GREEDY, SIMULATION }
+
+    /**
+     * Strategy chosen by the scrabble.ai.strategy system property, GREEDY if it is not set or not a strategy.
+     */
+    public static final Strategy DEFAULT_STRATEGY = GameLogger.enumProperty("scrabble.ai.strategy", Strategy.GREEDY);
 
-    private HashMap<String, String> possiblePlays;
-    private HashMap<String, Boolean> playableCoordinates;
+    /**
+     * Spreads the seeds of the AIs of a game apart, an odd constant so that every player gets its own stream.
+     */
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private ArrayList<Move> possibleMoves;
+    private transient Move bestMove;
+    private transient Long timeBudget;
+    private transient double coverage = 1.0;
+    private transient Strategy strategy;
+    private transient LeaveTable leaves;
+    private transient SplittableRandom random;
     private Game game;
+    private MoveGenerator.Backend backend = MoveGenerator.DEFAULT_BACKEND;
 
     /**
      * Constructor to initialize player points to 0 when player is created. Constructor to initialize
-     * hand and pass in an instance of the game as well.
+     * hand and pass in an instance of the game as well. The opponent racks of the simulation are drawn from the seed
+     * of the game's bag, so a game started from a seed is played the same way again.
      *
      * @param playerNumber the number assigned to the player
      * @param game of type Models.Game
@@ -37,196 +64,181 @@ public class AIPlayer extends Player implements Serializable {
     public AIPlayer(int playerNumber, Game game) {
         super(playerNumber);
 
-        this.board = new Board();
         this.setAI(true);
-        this.possiblePlays = new HashMap<>();
-        this.playableCoordinates = new HashMap<String, Boolean>();
+        this.possibleMoves = new ArrayList<>();
         this.game = game;
+        this.random = new SplittableRandom(game.getBag().getSeed() + SEED_STEP * (playerNumber + 1));
     }
 
     /**
-     * Analyzes the current state of the board by attempting all possible combinations of up to 3 letters
-     * using attemptAMove().
+     * Analyzes the current state of the board by generating every legal play of the hand with the
+     * Models.MoveGenerator (anchor squares, cross-checks and dictionary-guided extension). The rows and columns are
+     * searched and scored in parallel, and the highest scoring play is kept for playHighestMove(). While the bag
+     * has tiles, plays are ranked by their score plus the value of the tiles they leave (see Models.LeaveTable).
+     *
+     * With a time budget the search stops when the budget runs out and the best play found by then is kept;
+     * getCoverage() tells how much of the board was searched.
      * @param board Models.Board the current state of the board.
      * */
     public void analyzeBoard(Board board) throws FileNotFoundException {
-        this.board.setCells(board.getCells());
-        this.board.setSquares(board.getSquares());
-        this.board.setTiles(board.getTiles());
-        this.board.setFirstPlay(board.isFirstPlay());
-        this.board.updateBoardPattern(board.getBoardPattern());
-
-        if (board.boardIsEmpty())
-        {
-            this.playableCoordinates.put("8H", true);
-        }
-        else {
-            this.playableCoordinates = this.board.getAIPlayableCoordinates();
-        }
-        ArrayList<Tile> hand = this.getHand().getHand();
+        analyzeBoard(board, this.getHand().getRack(), this.game.getBag().getBagSize());
+    }
 
-        for (int i = 0; i < hand.size(); i++)
-        {
-            StringBuilder stringBuilder = new StringBuilder();
-            stringBuilder.append(hand.get(i).getLetter());
-
-            for (String s : this.playableCoordinates.keySet())
-            {
-                boolean direction = this.playableCoordinates.get(s);
-                attemptAiMove(stringBuilder.toString(), changeStartingCoordinatesToVertical(s, direction),
-                        direction);
-            }
+    /**
+     * Analyzes a position taken from the game, see analyzeBoard(Board). Nothing is read from the game itself, so the
+     * search can run on another thread while the game goes on.
+     * @param board Models.Board the state of the board
+     * @param rack the tiles of this AI
+     * @param bagSize the number of tiles left in the bag
+     * */
+    public void analyzeBoard(Board board, Rack rack, int bagSize) throws FileNotFoundException {
+        MoveGenerator moveGenerator = MoveGenerator.create(getBackend());
+        LeaveTable leaves = getLeaves();
+        if (leaves.isLoaded() && bagSize > 0) {
+            // the leave only matters while there are tiles left to draw to it
+            moveGenerator = moveGenerator.withLeaves(leaves);
         }
-
-        for (int i = 0; i < hand.size(); i++)
-        {
-            for (int j = 0; j < hand.size(); j++)
-            {
-                if (i != j) {
-                    StringBuilder stringBuilder = new StringBuilder();
-                    stringBuilder.append(hand.get(i).getLetter());
-                    stringBuilder.append(hand.get(j).getLetter());
-
-                    for (String s : this.playableCoordinates.keySet()) {
-                        boolean direction = this.playableCoordinates.get(s);
-                        attemptAiMove(stringBuilder.toString(), changeStartingCoordinatesToVertical(s, direction),
-                                direction);
-                    }
-                }
-            }
+        long budget = TimeUnit.MILLISECONDS.toNanos(getTimeBudget());
+        long deadline = (budget > 0) ? System.nanoTime() + budget : MoveGenerator.NO_DEADLINE;
+        MoveGenerator.Analysis analysis = moveGenerator.analyze(board, rack.copyCounts(
+                new int[MoveGenerator.RACK_SIZE]), true, MoveGenerator.defaultPool(), deadline);
+        this.possibleMoves = analysis.getMoves();
+        this.bestMove = analysis.getBestMove();
+        this.coverage = analysis.getCoverage();
+        if (!analysis.isComplete()) {
+            GameLogger.debug("AI {} ran out of time after searching {}% of the board, best play so far {}",
+                    this.getPlayerNumber() + 1, Math.round(100 * this.coverage), this.bestMove);
         }
-
-        for (int i = 0; i < hand.size(); i++)
-        {
-            for (int j = 0; j < hand.size(); j++)
-            {
-                for (int k = 0; k < hand.size(); k++) {
-                    if ((i != j) && (i != k ) && (j != k)) {
-                        StringBuilder stringBuilder = new StringBuilder();
-                        stringBuilder.append(hand.get(i).getLetter());
-                        stringBuilder.append(hand.get(j).getLetter());
-                        stringBuilder.append(hand.get(k).getLetter());
-
-                        for (String s : this.playableCoordinates.keySet()) {
-                            boolean direction = this.playableCoordinates.get(s);
-                            attemptAiMove(stringBuilder.toString(), changeStartingCoordinatesToVertical(s, direction),
-                                    direction);
-                        }
-                    }
-                }
+        if (getStrategy() == Strategy.SIMULATION && this.bestMove != null) {
+            if (this.random == null) {
+                // only players restored by Java serialization have none
+                this.random = new SplittableRandom();
             }
+            MonteCarloSearch.Result result = new MonteCarloSearch(moveGenerator)
+                    .choose(board, analysis, rack, this.random, deadline);
+            this.bestMove = result.getMove();
+            GameLogger.debug("AI {} chose {} by simulation, expected spread {}", this.getPlayerNumber() + 1,
+                    this.bestMove, String.format("%.1f", result.getSpread()));
         }
     }
 
     /**
-     * Attempts a move using the Models.PlayMove object to see if the play itself is actually valid. If the play is
-     * valid, then the word and direction are stored.
-     * @param currentAttempt the current word to be attempted
-     * @param placementAttempt the coordinates to attempt the word at
-     * @param placementDirection the direction in which to play at
+     * Returns the leave values this AI ranks its plays with. AIs loaded from saves use the default table.
+     * @return Models.LeaveTable
      * */
-    private void attemptAiMove(String currentAttempt, String placementAttempt, boolean placementDirection)
-            throws FileNotFoundException {
-        ArrayList<Character> currentAttemptArrayList = new ArrayList<>();
-        for (Character c : currentAttempt.toCharArray()) { currentAttemptArrayList.add(c); }
-
-        PlayMove playMove = new PlayMove(placementAttempt, mapCharToTile(currentAttemptArrayList),
-                this.board, placementDirection);
-        if (playMove.placeTile()) {
-            if (playMove.checkWord()) {
-                possiblePlays.put(currentAttempt, placementAttempt);
-            }
-        }
+    public LeaveTable getLeaves() {
+        return (this.leaves != null) ? this.leaves : LeaveTable.getDefault();
     }
 
     /**
-     * Analyzes the hashmap of all possible plays and then picks the word with the higest score to play on the actual
-     * board.
+     * Selects the leave values this AI ranks its plays with, LeaveTable.empty() to rank them by score alone.
+     * @param leaves Models.LeaveTable
      * */
-    public void playHighestMove(Game game) throws FileNotFoundException {
+    public void setLeaves(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
 
-        ArrayList<String> possiblePlays = new ArrayList<>();
-        for (Object s : this.possiblePlays.keySet().toArray()) {possiblePlays.add((String)s);}
-        String bestWord = " ";
-        int bestWordPoints = 0;
-        int currentWordPoints = 0;
-        for (int i = 0; i < possiblePlays.size(); i++)
-        {
-            currentWordPoints = Board.calculateWordScore(possiblePlays.get(i));
-            if(currentWordPoints > bestWordPoints)
-            {
-                bestWordPoints = currentWordPoints;
-                bestWord = possiblePlays.get(i);
-            }
-        }
+    /**
+     * Returns how this AI picks its play. AIs loaded from saves use the default.
+     * @return Strategy
+     * */
+    public Strategy getStrategy() {
+        return (this.strategy != null) ? this.strategy : DEFAULT_STRATEGY;
+    }
 
-        for (Character c : bestWord.toCharArray()){this.game.addToRemoveTilesFromHand(c, false);}
+    /**
+     * Selects how this AI picks its play.
+     * @param strategy Strategy
+     * */
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
 
-        System.out.println(this.getHand().getHand().toString() + "SHOULD BE CORRECT AI HAND");
+    /**
+     * Returns the time this AI may take to choose a play. AIs loaded from saves use the default.
+     * @return long the time budget in milliseconds, 0 for no limit
+     * */
+    public long getTimeBudget() {
+        return (this.timeBudget != null) ? this.timeBudget : DEFAULT_TIME_BUDGET;
+    }
 
-        if (bestWord != null) {
-            game.processCommand(new Command("play", bestWord, this.possiblePlays.get(bestWord)));
-        }
-        else
-        {
-            game.processCommand(new Command("pass", null, null));
-        }
+    /**
+     * Sets the time this AI may take to choose a play. The AI then plays the best play it found in that time.
+     * @param millis the time budget in milliseconds, 0 for no limit
+     * */
+    public void setTimeBudget(long millis) {
+        this.timeBudget = millis;
+    }
 
-        this.possiblePlays.clear();
+    /**
+     * Takes the time budget, strategy and leave values of the AI this one replaces, as when a game is undone, redone
+     * or loaded.
+     * @param previous the AI player with the same number before the game was restored
+     * */
+    void keepSettings(AIPlayer previous) {
+        this.timeBudget = previous.timeBudget;
+        this.strategy = previous.strategy;
+        this.leaves = previous.leaves;
     }
 
     /**
-     * Changes the starting coordinates to vertical (switching letter and number) if the play is deemed to be vertical
-     * @param coordinates the coordinates to modify
-     * @param direction check the direction
+     * Returns the share of the board searched by the last call to analyzeBoard(), 1 if every play was found.
+     * @return double from 0 to 1
      * */
-    private String changeStartingCoordinatesToVertical(String coordinates, boolean direction) {
-
-        if (!direction) {
-            String num = " ";
-            char letter = ' ';
-            if (coordinates.length() == 3) {
-                num = coordinates.substring(0, 2);
-                letter = coordinates.charAt(2);
-            } else {
-                num = coordinates.substring(0, 1);
-                letter = coordinates.charAt(1);
-            }
+    public double getCoverage() {
+        return this.coverage;
+    }
 
-            StringBuilder sb = new StringBuilder();
+    /**
+     * Returns the word graph this AI generates its plays with. AIs loaded from older saves use the default.
+     * @return MoveGenerator.Backend
+     * */
+    public MoveGenerator.Backend getBackend() {
+        return (this.backend != null) ? this.backend : MoveGenerator.DEFAULT_BACKEND;
+    }
 
-            sb.append(letter);
-            sb.append(num);
+    /**
+     * Selects the word graph this AI generates its plays with. Both backends find the same plays.
+     * @param backend MoveGenerator.Backend
+     * */
+    public void setBackend(MoveGenerator.Backend backend) {
+        this.backend = backend;
+    }
 
-            return sb.toString();
-        }
-        else
-        {
-            return coordinates;
-        }
+    /**
+     * Returns the plays found by the last call to analyzeBoard().
+     * @return ArrayList of Models.Move
+     * */
+    public ArrayList<Move> getPossibleMoves() {
+        return this.possibleMoves;
     }
 
     /**
-     * Helper method to map the chars within the word to be played to the Tiles within the Models.AIPlayer's hand.
-     * @param currentAttemptArrayList the char array to be mapped
-     * @return ArrayList<Models.Tile>
+     * Plays the word with the highest score found by analyzeBoard() on the actual board, or passes if there is none.
+     * Plays are ranked by their full score (see Models.MoveScorer).
      * */
-    private ArrayList<Tile> mapCharToTile(ArrayList<Character> currentAttemptArrayList)
-    {
-        ArrayList<Tile> returnArray = new ArrayList<>();
+    public void playHighestMove(Game game) throws FileNotFoundException {
 
-        for (Character c : currentAttemptArrayList)
-        {
-            for (Tile t : this.getHand().getHand())
-            {
-                if (t.getLetter().equals(Character.toString(c)))
-                {
-                    returnArray.add(t);
-                    break;
+        Move bestMove = this.bestMove;
+        if (bestMove != null) {
+            String placedLetters = bestMove.getPlacedLetters();
+            int placed = 0;
+            for (int i = 0; i < bestMove.getWord().length(); i++) {
+                if (bestMove.isPlaced(i)) {
+                    this.game.addToRemoveTilesFromHand(placedLetters.charAt(placed++), bestMove.isBlank(i));
                 }
             }
+
+            GameLogger.debug("AI hand after choosing its move: {}", this.getHand().getHand());
+
+            game.processCommand(new Command("play", placedLetters, bestMove.getPlacementAttempt()));
+        }
+        else
+        {
+            game.processCommand(new Command("pass", null, null));
         }
 
-        return returnArray;
+        this.possibleMoves.clear();
+        this.bestMove = null;
     }
 }
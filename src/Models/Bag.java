@@ -5,55 +5,59 @@ import java.util.*;
 
 /**
  * This class creates a bag of 100 tiles it has letters ranging from A to Z each letter
- * has different number of occurrences and values.
+ * has different number of occurrences and values, as defined by the game's Models.TileSet.
+ *
+ * Tiles are kept in an array list in no particular order. A draw picks a random index and moves the last tile into
+ * its place, so it costs O(1) and allocates nothing. The draws come from a seed and a count of the random values
+ * taken from it, mixed the way SplittableRandom does, so a game started from the same seed draws the same tiles. The
+ * seed and the count are part of saved games, and restoring them carries on the draws where they were.
  *
  * @author Jaydon Haghighi
  * @version 2022.10.25
  */
 public class Bag implements Serializable {
 
-    final private LinkedList<Tile> tiles = new LinkedList<>();
-    private List<String> numOfLetters = Arrays.asList("A-9", "B-2", "C-2", "D-4", "E-12", "F-2", "G-3", "H-2", "I-9", "J-1",
-            "K-1", "L-4", "M-2", "N-6", "O-8", "P-2", "Q-1", "R-6", "S-4", "T-6", "U-4", "V-2", "W-2", "X-1", "Y-2", "Z-1");
-    private Random random = new Random();
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    final private ArrayList<Tile> tiles = new ArrayList<>(TileSet.getDefault().getTileCount());
+    /**
+     * The seed the draws were started from and the number of random values taken from it since.
+     */
+    private long seed;
+    private long draws;
 
 
     /**
-     * Constructs Models.Bag containing 100 tiles.
+     * Constructs Models.Bag containing 100 tiles, drawn with a new random seed.
      */
     public Bag() {
-        initialize(); //initializes Models.Bag
+        this(new SplittableRandom().nextLong()); //initializes Models.Bag
+    }
+
+    /**
+     * Constructs Models.Bag containing 100 tiles that are drawn in an order fixed by the seed, so that a game can be
+     * replayed exactly.
+     * @param seed seed of the random draws
+     */
+    public Bag(long seed) {
+        setSeed(seed);
+        initialize();
     }
 
 
     /**
-     * Initializes all letters with corresponding values and places it into tiles.
+     * Places the tiles of the game's Models.TileSet into the bag: every letter as many times as the tile set has it,
+     * with its value, and the blanks.
      */
     private void initialize() {
-        final Map<Integer, List<String>> pointLetterMap = new HashMap<>(); //Map of points for each letter
-        pointLetterMap.put(1, Arrays.asList("A", "E", "I", "O", "U", "L", "N", "S", "T", "R"));
-        pointLetterMap.put(2, Arrays.asList("D", "G"));
-        pointLetterMap.put(3, Arrays.asList("B", "C", "M", "P"));
-        pointLetterMap.put(4, Arrays.asList("F", "H", "V", "W", "Y"));
-        pointLetterMap.put(5, Arrays.asList("K"));
-        pointLetterMap.put(8, Arrays.asList("J", "X"));
-        pointLetterMap.put(10, Arrays.asList("Q", "Z"));
-
-        final Map<String, Integer> eachLetterPointMap = new HashMap<>(); //Map of letters with points associated to it
-
-        for (Map.Entry<Integer, List<String>> entry : pointLetterMap.entrySet()) { //loops through letter and associates it to a value
-            for (String letter : entry.getValue()) {
-                eachLetterPointMap.put(letter, entry.getKey());
-            }
-        }
-
-        for (String numOfLetter : numOfLetters) { //loops through each letter and duplicates the letter occordingly to scrabble rules
-            String[] token = numOfLetter.split("-");
-            for (int i = 0; i < Integer.parseInt(token[1]); i++) {
-                tiles.add(new Tile(token[0], eachLetterPointMap.get(token[0])));
+        TileSet tileSet = TileSet.getDefault();
+        for (int index = 0; index < Lexicon.ALPHABET_SIZE; index++) {
+            String letter = String.valueOf((char) ('A' + index));
+            for (int i = 0; i < tileSet.countAt(index); i++) {
+                tiles.add(new Tile(letter, tileSet.valueAt(index)));
             }
         }
-        for (int i = 0; i < 2; i++) {
+        for (int i = 0; i < tileSet.getBlankCount(); i++) {
             tiles.add(new Tile("_", 0));
         }
     }
@@ -67,17 +71,20 @@ public class Bag implements Serializable {
     }
 
     /**
-     * Removes tiles from bag.
+     * Removes tiles from bag. Once the bag runs low only the tiles left in it are removed.
      * @param amount amount of tiles to remove
      * @return Returns the removed tiles from bag
      */
     public List<Tile> removeTiles(int amount){
         List<Tile> removedTiles = new ArrayList<>();
         if (amount > getBagSize()) {
-            //throw new Models.NotEnoughTiles("Not Enough Tiles, Only "+getBagSize()+" Tiles Left."); //Implemented in later milestones
+            amount = getBagSize();
         }
         for (int i = 0; i < amount; i++) {
-            removedTiles.add(tiles.remove(random.nextInt(getBagSize())));
+            int index = nextInt(tiles.size());
+            int last = tiles.size() - 1;
+            removedTiles.add(tiles.set(index, tiles.get(last)));
+            tiles.remove(last);
         }
 
         return removedTiles;
@@ -93,29 +100,99 @@ public class Bag implements Serializable {
         }
     }
 
+    /**
+     * Returns the tiles left in the bag, in the order they are stored.
+     * @return a copy of the tiles in the bag
+     */
+    List<Tile> getTiles() {
+        return new ArrayList<>(tiles);
+    }
+
+    /**
+     * Replaces the tiles in the bag, used to restore an earlier state of the game. The random draws carry on from
+     * where they were.
+     * @param tiles the tiles the bag should hold
+     */
+    void replaceTiles(List<Tile> tiles) {
+        this.tiles.clear();
+        this.tiles.addAll(tiles);
+    }
+
+    /**
+     * @return the seed the draws were started from
+     */
+    long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return the number of random values taken from the seed so far
+     */
+    long getDraws() {
+        return this.draws;
+    }
+
+    /**
+     * Restarts the random draws from the given seed.
+     * @param seed seed of the random draws
+     */
+    void setSeed(long seed) {
+        setSeed(seed, 0);
+    }
+
+    /**
+     * Carries on the random draws of a bag that was started from the given seed, after the values it already took.
+     * @param seed a seed returned by getSeed()
+     * @param draws a count returned by getDraws()
+     */
+    void setSeed(long seed, long draws) {
+        this.seed = seed;
+        this.draws = draws;
+    }
+
+    /**
+     * Takes the next random value below the bound, the same value a SplittableRandom started from the seed gives.
+     * @param bound the upper bound, at least 1
+     * @return int between 0 and bound - 1
+     */
+    private int nextInt(int bound) {
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+            // rejects the values that would make the low results more likely
+        }
+        return r;
+    }
+
+    /**
+     * Takes the next random int.
+     */
+    private int nextInt() {
+        long z = this.seed + ++this.draws * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * Shuffles the given tiles with the random draws of this bag, so that shuffles are repeated along with the draws.
+     * @param tiles the tiles to shuffle
+     */
+    void shuffle(List<Tile> tiles) {
+        for (int i = tiles.size() - 1; i > 0; i--) {
+            Collections.swap(tiles, i, nextInt(i + 1));
+        }
+    }
+
     /**
      * Returns Letters value
      * @param letter Letter between A-Z
-     * @return returns value of letter given
+     * @return returns value of letter given, 0 for anything else
      */
     public static Integer getLetterValue(String letter) {
-        if (letter.equals("A") || letter.equals("E") || letter.equals("I") || letter.equals("O") || letter.equals("U")
-                || letter.equals("L") || letter.equals("N") || letter.equals("S") || letter.equals("T") || letter.equals("R")) {
-            return 1;
-        } else if (letter.equals("D") || letter.equals("G")) {
-            return 2;
-        } else if (letter.equals("B") || letter.equals("C") || letter.equals("M") || letter.equals("P")) {
-            return 3;
-        } else if (letter.equals("F") || letter.equals("H") || letter.equals("V") || letter.equals("W") || letter.equals("Y")) {
-            return 4;
-        } else if (letter.equals("K")) {
-            return 5;
-        } else if (letter.equals("J") || letter.equals("X")) {
-            return 8;
-        } else if (letter.equals("Q") || letter.equals("Z")) {
-            return 10;
-        }
-        return 0;
+        return (letter.length() == 1) ? TileSet.getDefault().value(letter.charAt(0)) : 0;
     }
 
     /**
@@ -3,7 +3,6 @@ package Models;
 import Models.Bag;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -17,6 +16,14 @@ import java.util.*;
  * a square with its corresponding color and multiplier value, as well as the tile placed on it, which has a letter and score.
  * The cells themselves store the value of the tile letter placed on them. Printing the board displays the state of the game.
  *
+ * Internally only the 15*15 playable squares are stored, as one byte per square holding the letter of its tile (0 when
+ * empty) and a bit set of the squares holding blank tiles. The premium squares come from the shared table of the
+ * board's pattern. getCells(), getTiles() and getSquares() build their String and map views from this state on demand,
+ * so they return copies that do not change the board, and copying a board is a couple of small array copies.
+ *
+ * A play can also be tried on the board itself: between beginTrial() and commitTrial() or rollbackTrial() every tile
+ * placed is logged, so keeping or undoing the attempt only touches the squares it placed tiles on.
+ *
  * @author Mahtab Ameli
  * @date 2022-11-22
  * @version 2.0
@@ -24,19 +31,19 @@ import java.util.*;
 public class Board implements Serializable {
 
     /**
-     * 16*16 array of String stores letters of tiles placed.
+     * Number of rows and columns of playable squares.
      */
-    private String[][] cells;
+    public static final int BOARD_SIZE = 15;
 
     /**
-     * Maps Tiles to corresponding String coordinates (row as digit, and column as letter).
+     * Letter of the tile on every playable square, indexed by index(row, col), or 0 for an empty square.
      */
-    private HashMap<String, Tile> tiles;
+    private byte[] letters;
 
     /**
-     * Maps Squares to their corresponding String coordinates (row as digit, and column as letter).
+     * Bit set of the squares, indexed like letters, that hold a blank tile.
      */
-    private HashMap<String, Square> squares;
+    private long[] blanks;
 
     /**
      * True if the current move is the first play of the game.
@@ -72,9 +79,16 @@ public class Board implements Serializable {
     public enum Pattern{STANDARD, DIAMOND, TETRIS}
 
     /**
-     * List of cell coordinates that have already been scored once.
+     * Bit set of the squares, indexed like letters, that have already been scored once.
+     */
+    private long[] scoredOnce;
+
+    /**
+     * Squares, indexed like letters, that received a tile in the last play (since the last placeWord() or
+     * beginTrial()), in the order they were placed.
      */
-    ArrayList<String> scoredOnceList;
+    private int[] lastPlay;
+    private int lastPlaySize;
 
     /**
      * list of all new words added to board as a result of last play move.
@@ -87,74 +101,198 @@ public class Board implements Serializable {
      */
     private Pattern boardPattern;
 
+    /**
+     * Premium square layout of every pattern, parsed once when the class is loaded.
+     */
+    private static final Map<Pattern, Square.Multiplier[][]> MULTIPLIER_TABLES = loadMultiplierTables();
+
+    /**
+     * One letter Strings for every letter code, so reading a cell never allocates. Code 0 is the empty cell " ".
+     */
+    private static final String[] LETTER_STRINGS = new String[128];
+
+    /**
+     * String coordinates (row as digit, and column as letter) of every playable square.
+     */
+    private static final String[][] COORDINATES = new String[BOARD_SIZE + 1][BOARD_SIZE + 1];
+
+    static {
+        LETTER_STRINGS[0] = " ";
+        for (char c = 1; c < LETTER_STRINGS.length; c++) {
+            LETTER_STRINGS[c] = String.valueOf(c).intern();
+        }
+        for (int row = 1; row <= BOARD_SIZE; row++) {
+            for (int col = 1; col <= BOARD_SIZE; col++) {
+                COORDINATES[row][col] = "" + row + (char) (PlayMove.ASCII_BASE + col);
+            }
+        }
+    }
+
+    private static final int CENTRE = 8;
+    private static final int ALL_LETTERS = (1 << Lexicon.ALPHABET_SIZE) - 1;
+
+    /**
+     * Cross-check masks of every square (bit 0 = A): the letters a horizontal play (across) or a vertical play (down)
+     * may put on the empty square without forming an invalid perpendicular word. Occupied squares have no letters.
+     * The masks and anchors are built from the dictionary the first time they are asked for, then kept up to date by
+     * placeTileAt(), which only refreshes the squares next to the new tile. They are not saved with the board.
+     */
+    private transient int[] acrossChecks;
+    private transient int[] downChecks;
+
+    /**
+     * Empty squares next to a tile, where every new word has to be attached. The centre on an empty board.
+     */
+    private transient boolean[] anchors;
+    private transient boolean crossChecksValid;
+
+    /**
+     * The open trial placement, null when tiles are placed for good.
+     */
+    private transient Trial trial;
+
+    /**
+     * Undo log of a trial placement: the squares that received a tile, and the scoring state of the last play as it
+     * was before the trial started.
+     */
+    private static final class Trial {
+        private final int[] squares = new int[BOARD_SIZE * BOARD_SIZE];
+        private int size;
+        private long[] scoredOnce;
+        private int[] lastPlay;
+        private int lastPlaySize;
+        private ArrayList<String> newWords;
+        private Direction direction;
+        private int currentStartRow;
+        private int currentStartCol;
+        private boolean firstPlayValid;
+        private String playedWord;
+    }
+
 
     /**
      * Constructor for the class.
      * Creates a board and initializes its fields.
      */
     public Board() {
-        this.cells = new String[16][16];     // first row and col are for grid labels. the other 15*15 are for placing Squares and Tiles
-        this.tiles = new HashMap<>();
-        this.squares = new HashMap<>();
+        this.letters = new byte[BOARD_SIZE * BOARD_SIZE];
+        this.blanks = new long[(BOARD_SIZE * BOARD_SIZE + 63) / 64];
         this.isFirstPlay = true;
         this.firstPlayValid = false;
         this.direction = Direction.HORIZONTAL;
-        this.scoredOnceList = new ArrayList<String>();
+        this.scoredOnce = new long[blanks.length];
+        this.lastPlay = new int[BOARD_SIZE];
         this.newWords = new ArrayList<String>();
         this.boardPattern = Pattern.STANDARD;
-        initializeBoard();                   // assign a Models.Square and a Models.Tile to each cell
+    }
 
+    /**
+     * Copy constructor. Copies the tiles, the pattern and the first play flag of the given board, the state of the
+     * last scored play starts out empty just like on a new board.
+     *
+     * @param board the board to copy.
+     */
+    public Board(Board board) {
+        this();
+        System.arraycopy(board.letters, 0, this.letters, 0, this.letters.length);
+        System.arraycopy(board.blanks, 0, this.blanks, 0, this.blanks.length);
+        this.isFirstPlay = board.isFirstPlay;
+        this.boardPattern = board.boardPattern;
+        if (board.crossChecksValid) {
+            this.acrossChecks = board.acrossChecks.clone();
+            this.downChecks = board.downChecks.clone();
+            this.anchors = board.anchors.clone();
+            this.crossChecksValid = true;
+        }
     }
 
     /**
-     * Returns array of cells of the board.
+     * Returns a 16*16 array of the letters in the cells of the board, " " for empty cells. The first row and column
+     * are the grid labels and are always empty. The array is a copy, changing it does not change the board.
      *
      * @return the array of cells.
      */
     public String[][] getCells() {
+        String[][] cells = new String[BOARD_SIZE + 1][BOARD_SIZE + 1];
+        for (int row = 0; row <= BOARD_SIZE; row++) {
+            for (int col = 0; col <= BOARD_SIZE; col++) {
+                cells[row][col] = getLetterAt(row, col);
+            }
+        }
         return cells;
     }
 
     /**
-     * Setter for the cells array.
+     * Setter for the cells array. The letters of the given 16*16 array replace every tile on the board.
      *
      * @param cells the array of all cells on the board.
      */
     public void setCells(String[][] cells) {
-        for (int i = 0; i < 15; i++)
-        {
-            for (int j = 0; j < 15; j++)
-            {
-                this.cells[i][j] = cells[i][j];
+        this.crossChecksValid = false;
+        Arrays.fill(this.blanks, 0L);
+        for (int row = 1; row <= BOARD_SIZE; row++) {
+            for (int col = 1; col <= BOARD_SIZE; col++) {
+                this.letters[index(row, col)] = letterCode(cells[row][col]);
             }
         }
     }
 
     /**
-     * Returns list of all tiles on the board.
+     * Returns list of all tiles on the board, keyed by the coordinates of every playable cell. Empty cells map to a
+     * tile with letter " ". The map is a copy, changing it does not change the board.
      *
      * @return the tiles HashMap.
      */
     public HashMap<String, Tile> getTiles() {
+        HashMap<String, Tile> tiles = new HashMap<>();
+        Tile emptyTile = new Tile(" ", 0);
+        for (int row = 1; row <= BOARD_SIZE; row++) {
+            for (int col = 1; col <= BOARD_SIZE; col++) {
+                if (hasTileAt(row, col)) {
+                    String letter = getLetterAt(row, col);
+                    tiles.put(getStringCoords(row, col), new Tile(letter, isBlankTileAt(row, col) ? 0 : TileSet.getDefault().value(letter.charAt(0))));
+                } else {
+                    tiles.put(getStringCoords(row, col), emptyTile);
+                }
+            }
+        }
         return tiles;
     }
 
     /**
-     * Setter for the tiles' hashmap.
+     * Setter for the tiles' hashmap. The tiles of the map replace every tile on the board.
      *
      * @param tiles the mapping between coordinates and tiles of the board.
      */
     public void setTiles(HashMap<String, Tile> tiles) {
-        this.tiles.clear();
-        this.tiles.putAll(tiles);
+        this.crossChecksValid = false;
+        Arrays.fill(this.letters, (byte) 0);
+        Arrays.fill(this.blanks, 0L);
+        for (int row = 1; row <= BOARD_SIZE; row++) {
+            for (int col = 1; col <= BOARD_SIZE; col++) {
+                Tile tile = tiles.get(COORDINATES[row][col]);
+                if (tile != null) {
+                    storeTile(row, col, tile);
+                }
+            }
+        }
     }
 
     /**
-     * Getter for the squares' hashmap.
+     * Getter for the squares' hashmap. The squares are built from the premium table of the board's pattern, so the
+     * map is a copy and changing it does not change the board. The premium squares are set with updateBoardPattern().
      *
      * @return the squares HashMap.
      */
     public HashMap<String, Square> getSquares() {
+        HashMap<String, Square> squares = new HashMap<>();
+        for (int row = 0; row <= BOARD_SIZE; row++) {
+            for (int col = 0; col <= BOARD_SIZE; col++) {
+                Square square = new Square(row, col);
+                square.setMultiplier(getMultiplierAt(row, col));
+                squares.put(square.getStringCoordinates(), square);
+            }
+        }
         return squares;
     }
 
@@ -177,32 +315,112 @@ public class Board implements Serializable {
     }
 
     /**
-     * Setter for the squares' hashmap.
-     *
-     * @param squares the mapping between coordinates and squares of the board.
+     * Returns the index of a playable square in letters.
      */
-    public void setSquares(HashMap<String, Square> squares) {
-        this.squares.clear();
-        this.squares.putAll(squares);
+    private static int index(int row, int col) {
+        return (row - 1) * BOARD_SIZE + (col - 1);
     }
 
     /**
-     * Places a Models.Square on each cell and then place a Models.Tile on the Models.Square. Update the value of the cell to tile's letter.
+     * Returns the byte code stored for a cell letter, 0 for an empty cell.
      */
-    private void initializeBoard() {
-        Tile emptyTile = new Tile(" ", 0);
-        Square thisSquare;
-        for (int row = 0; row < cells.length; row++) {
-            for (int col = 0; col < cells[row].length; col++) {
-                // Each placement has a corresponding Models.Tile and a Models.Square
-
-                thisSquare = new Square(row,col);
-                String coordinates = thisSquare.getStringCoordinates();
-                tiles.put(coordinates, emptyTile);   // put an empty tile on thisSquare
-                squares.put(coordinates, thisSquare);   // put thisSquare on the placement corresponding to coordinates (this placement)
-                cells[row][col] = (tiles.get(coordinates).getLetter());     // store the letter of the tile in this placement
+    private static byte letterCode(String letter) {
+        if (letter == null || letter.isEmpty() || letter.equals(" ")) {
+            return 0;
+        }
+        return (byte) letter.charAt(0);
+    }
+
+    /**
+     * Returns true if the bit of the given square is set in the bit set.
+     */
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit of the given square in the bit set.
+     */
+    private static void set(long[] bits, int index) {
+        bits[index >> 6] |= 1L << index;
+    }
+
+    /**
+     * Copies the letter codes of a row (0 for empty squares) into dest, used to snapshot the board.
+     * @param row the row, 1 to 15.
+     * @param dest array of at least BOARD_SIZE letter codes, dest[col - 1] receives column col.
+     */
+    void copyRowLetters(int row, byte[] dest) {
+        System.arraycopy(this.letters, index(row, 1), dest, 0, BOARD_SIZE);
+    }
+
+    /**
+     * Returns a bit mask of the squares of a row holding blank tiles, bit col - 1 for column col.
+     * @param row the row, 1 to 15.
+     * @return int mask of the blank squares.
+     */
+    int getRowBlanks(int row) {
+        return rowMask(this.blanks, row);
+    }
+
+    /**
+     * Returns a bit mask of the squares of a row already scored once, bit col - 1 for column col.
+     * @param row the row, 1 to 15.
+     * @return int mask of the scored squares.
+     */
+    int getRowScoredOnce(int row) {
+        return rowMask(this.scoredOnce, row);
+    }
+
+    /**
+     * Replaces the contents of a row, used to restore a snapshot of the board.
+     * @param row the row, 1 to 15.
+     * @param rowLetters letter code of every column, rowLetters[col - 1] for column col.
+     * @param blankMask bit mask of the blank squares (see getRowBlanks()).
+     * @param scoredMask bit mask of the squares already scored once (see getRowScoredOnce()).
+     */
+    void setRow(int row, byte[] rowLetters, int blankMask, int scoredMask) {
+        this.crossChecksValid = false;
+        for (int col = 1; col <= BOARD_SIZE; col++) {
+            int index = index(row, col);
+            this.letters[index] = rowLetters[col - 1];
+            setBit(this.blanks, index, (blankMask & (1 << (col - 1))) != 0);
+            setBit(this.scoredOnce, index, (scoredMask & (1 << (col - 1))) != 0);
+        }
+    }
+
+    /**
+     * Collects the bits of a row of the given bit set into an int.
+     */
+    private static int rowMask(long[] bits, int row) {
+        int mask = 0;
+        for (int col = 1; col <= BOARD_SIZE; col++) {
+            if (isSet(bits, index(row, col))) {
+                mask |= 1 << (col - 1);
             }
         }
+        return mask;
+    }
+
+    /**
+     * Sets or clears the bit of the given square in the bit set.
+     */
+    private static void setBit(long[] bits, int index, boolean value) {
+        if (value) {
+            set(bits, index);
+        } else {
+            bits[index >> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Returns true if the tile on the given cell is a blank tile (a tile worth 0 points standing for a letter).
+     * @param row the integer value of the row of given cell.
+     * @param col the integer value of the column of given cell.
+     * @return true if the cell holds a blank tile.
+     */
+    public boolean isBlankTileAt(int row, int col) {
+        return inRange(row, col) && isSet(blanks, index(row, col));
     }
 
     /**
@@ -214,14 +432,15 @@ public class Board implements Serializable {
     }
 
     /**
-     * Creates and returns board pattern's sml file based on user's selection.
+     * Returns the xml file describing the premium squares of the given board pattern.
+     * @param boardPattern the pattern to look up.
      * @return xml file for board pattern.
      */
-    private File createCustomPatternFile() {
-        if (this.boardPattern.equals(Pattern.DIAMOND)) {
+    private static File createCustomPatternFile(Pattern boardPattern) {
+        if (boardPattern.equals(Pattern.DIAMOND)) {
             return new File("src/CustomBoardXML/board_custom_diamond.xml");
         }
-        else if (this.boardPattern.equals(Pattern.TETRIS)) {
+        else if (boardPattern.equals(Pattern.TETRIS)) {
             return new File("src/CustomBoardXML/board_custom_tetris.xml");
         } else {
             return new File("src/CustomBoardXML/board_standard.xml"); // board pattern is standard by default
@@ -230,58 +449,85 @@ public class Board implements Serializable {
     }
 
     /**
-     * Returns the multiplier type for a given square from the xml file from user's chosen custom board.
-     * @param square
-     * @return
+     * Parses every pattern's xml file once into a table of multipliers indexed like cells ([row][col]).
+     * @return unmodifiable map from pattern to its multiplier table.
      */
-    public Square.Multiplier getMultiplierFromXML(Square square) {
-        Square.Multiplier multi = Square.Multiplier.NONE;
+    private static Map<Pattern, Square.Multiplier[][]> loadMultiplierTables() {
+        EnumMap<Pattern, Square.Multiplier[][]> tables = new EnumMap<>(Pattern.class);
+        for (Pattern pattern : Pattern.values()) {
+            tables.put(pattern, parseMultiplierTable(createCustomPatternFile(pattern)));
+        }
+        return Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * Reads the multiplier elements of a board pattern xml file. Squares that are not listed keep Multiplier.NONE.
+     * @param file the board pattern xml file.
+     * @return the multiplier of every cell of the board.
+     */
+    private static Square.Multiplier[][] parseMultiplierTable(File file) {
+        Square.Multiplier[][] table = new Square.Multiplier[16][16];
+        for (Square.Multiplier[] row : table) {
+            Arrays.fill(row, Square.Multiplier.NONE);
+        }
         try
         {
-            File file = createCustomPatternFile();
             DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
             DocumentBuilder db = dbf.newDocumentBuilder();
             Document doc = db.parse(file);
             doc.getDocumentElement().normalize();
             NodeList nodeList = doc.getElementsByTagName("multiplier");
 
-            String coordinates = square.getStringCoordinates();
-            String coordsSearchString = "-" + coordinates + "-";
             // iterating through nodeList of multiplier elements in xml file
             for (int itr = 0; itr < nodeList.getLength(); itr++) {
-                Node node = nodeList.item(itr);
-                Element elem = (Element) node;
+                Element elem = (Element) nodeList.item(itr);
                 String coordinates_element = elem.getElementsByTagName("coordinates").item(0).getTextContent();
-
-                if (coordinates_element.contains(coordsSearchString)) {
-                    String multiplier_type_element = elem.getElementsByTagName("type").item(0).getTextContent();
-                    if(multiplier_type_element.equals("DL")) {
-                        square.setMultiplier(Square.Multiplier.DL);
-                        multi = Square.Multiplier.DL;
-                    }
-                    else if(multiplier_type_element.equals("DW")) {
-                        square.setMultiplier(Square.Multiplier.DW);
-                        multi = Square.Multiplier.DW;
-                    }
-                    else if(multiplier_type_element.equals("TL")) {
-                        square.setMultiplier(Square.Multiplier.TL);
-                        multi = Square.Multiplier.TL;
-                    }
-                    else if(multiplier_type_element.equals("TW")) {
-                        square.setMultiplier(Square.Multiplier.TW);
-                        multi = Square.Multiplier.TW;
+                String multiplier_type_element = elem.getElementsByTagName("type").item(0).getTextContent().trim();
+                Square.Multiplier multiplier = Square.Multiplier.valueOf(multiplier_type_element);
+
+                // coordinates are listed as -1D-1L-3G-...
+                for (String coordinates : coordinates_element.trim().split("-")) {
+                    if (coordinates.length() < 2) {continue;}
+                    int row = Integer.parseInt(coordinates.substring(0, coordinates.length() - 1));
+                    int col = coordinates.charAt(coordinates.length() - 1) - 'A' + 1;
+                    if (row >= 1 && row <= 15 && col >= 1 && col <= 15) {
+                        table[row][col] = multiplier;
                     }
                 }
             }
-
         }
         catch (Exception e)
         {
-            e.printStackTrace();
+            GameLogger.error("Could not read the board layout", e);
         }
+        return table;
+    }
+
+    /**
+     * Returns the multiplier type for a given square from the xml file from user's chosen custom board.
+     * The square's multiplier is updated as well.
+     * @param square
+     * @return
+     */
+    public Square.Multiplier getMultiplierFromXML(Square square) {
+        Square.Multiplier multi = getMultiplierAt(square.getRow(), square.getCol());
+        square.setMultiplier(multi);
         return multi;
     }
 
+    /**
+     * Returns the premium square multiplier at the given coordinates for the board's pattern.
+     * @param row the integer value of the row of given cell.
+     * @param col the integer value of the column of given cell.
+     * @return multiplier of the square, NONE for coordinates outside the board.
+     */
+    public Square.Multiplier getMultiplierAt(int row, int col) {
+        if (row < 1 || row > 15 || col < 1 || col > 15) {
+            return Square.Multiplier.NONE;
+        }
+        return MULTIPLIER_TABLES.get(this.boardPattern)[row][col];
+    }
+
     /**
      * Returns true if a square has the empty tile (square has not been played yet).
      * @param row the integer value of the row of given cell.
@@ -290,13 +536,14 @@ public class Board implements Serializable {
      */
     private boolean cellIsBlank(int row, int col){
         // a cell is empty if it stores a single space (" ")
-        if ((row < 1) || (col < 1) || (row > 16) || (col > 16)) {
+        if ((row < 1) || (col < 1)) {
             return false;
         }
-        if(cells[row][col].equals(" ")) {
+        // past the last row or column, words end as if the cell was blank
+        if ((row > 15) || (col > 15)) {
             return true;
         }
-        return false;
+        return letters[index(row, col)] == 0;
     }
 
     public Pattern getBoardPattern() {
@@ -310,14 +557,14 @@ public class Board implements Serializable {
     public HashMap<String, Boolean> getAIPlayableCoordinates(){
         HashMap<String, Boolean> playableCoordinates = new HashMap<>();
 
-        for (int ROW = 1; ROW < cells.length - 1; ROW++) {
-            for (int COL = 1; COL < cells.length - 1; COL++) {
-                if(!cells[ROW][COL].equals(" ")) {
-                    if(cells[ROW+1][COL].equals(" "))
+        for (int ROW = 1; ROW < BOARD_SIZE; ROW++) {
+            for (int COL = 1; COL < BOARD_SIZE; COL++) {
+                if(hasTileAt(ROW, COL)) {
+                    if(!hasTileAt(ROW + 1, COL))
                     {
                         playableCoordinates.put(getStringCoords(ROW + 1, COL), false);
                     }
-                    if(cells[ROW][COL+1].equals(" "))
+                    if(!hasTileAt(ROW, COL + 1))
                     {
                         playableCoordinates.put(getStringCoords(ROW, COL+1), true);
                     }
@@ -338,61 +585,51 @@ public class Board implements Serializable {
     public Boolean placeTileAt(int row, int col, Tile tile, Direction direction) {
         // row out of bounds error
         if (row < 1  || row > 15) {
-            System.out.println("Cannot place tile " + tile.getLetter() + ", on invalid row: " + row
-                    + ", and valid column: " + col);
-            System.out.println("Valid row range is 1 to 15 inclusive.");
+            GameLogger.warn("Cannot place tile {} on invalid row {} (column {}), valid rows are 1 to 15",
+                    tile.getLetter(), row, col);
             return false;
         }
         // column out of bounds error
         if (col < 1  || col > 15) {
 
-            System.out.println("ERROR: Cannot place tile " + tile.getLetter() + " on row: " + row
-                    + ", and invalid column: " + col);
-            System.out.println("Valid column range is 1 to 15 inclusive.");
+            GameLogger.warn("Cannot place tile {} on invalid column {} (row {}), valid columns are 1 to 15",
+                    tile.getLetter(), col, row);
             return false;
         }
         // successful placement
         if (cellIsBlank(row, col)) {
-            //String coordinates = "" + row + Models.Square.columns.get(col);
-            String coordinates = getStringCoords(row, col);
-            tiles.put(coordinates,tile);
-            cells[row][col] = tile.getLetter();
+            putTile(row, col, tile);
             return true;
         }
         // play it on next available cell based on direction
         else {
             //everytime a cell is not blank, it means it's already been scored
-            this.scoredOnceList.add(getStringCoords(row,col));
+            set(scoredOnce, index(row, col));
 
             if (direction.equals(Direction.VERTICAL)) {
                 if (row >= 16) {return false;}
-                if (getBottomCellContent(row,col).equals(" ")) {
-                    for(int ROW = row + 1; ROW < 16; ROW++) {
-                        if (cellIsBlank(ROW, col)) {
-                            tiles.put(getStringCoords(ROW,col),tile);
-                            cells[ROW][col] = tile.getLetter();
-                            return true;
-                        } else {
-                            //everytime a cell is not blank, it means it's already been scored
-                            this.scoredOnceList.add(getStringCoords(ROW,col));
-                        }
+                // skip over every tile already on the board in this column
+                for(int ROW = row + 1; ROW < 16; ROW++) {
+                    if (cellIsBlank(ROW, col)) {
+                        putTile(ROW, col, tile);
+                        return true;
+                    } else {
+                        //everytime a cell is not blank, it means it's already been scored
+                        set(scoredOnce, index(ROW, col));
                     }
                 }
 
             }
             else if (direction.equals(Direction.HORIZONTAL)) {
                 if (col >= 16) {return false;}
-                if (getRightCellContent(row,col).equals(" ")) {
-                    for (int COL = col + 1; COL < 16; COL++) {
-
-                        if (cellIsBlank(row, COL)) {
-                            tiles.put(getStringCoords(row,COL),tile);
-                            cells[row][COL] = tile.getLetter();
-                            return true;
-                        } else {
-                            //everytime a cell is not blank, it means it's already been scored
-                            this.scoredOnceList.add(getStringCoords(row,COL));
-                        }
+                // skip over every tile already on the board in this row
+                for (int COL = col + 1; COL < 16; COL++) {
+                    if (cellIsBlank(row, COL)) {
+                        putTile(row, COL, tile);
+                        return true;
+                    } else {
+                        //everytime a cell is not blank, it means it's already been scored
+                        set(scoredOnce, index(row, COL));
                     }
                 }
             }
@@ -401,6 +638,303 @@ public class Board implements Serializable {
 
     }
 
+    /**
+     * Stores the tile on the empty cell and refreshes the cross-checks around it. During a trial the square is logged
+     * instead, and the cross-checks are refreshed on commit.
+     */
+    private void putTile(int row, int col, Tile tile) {
+        storeTile(row, col, tile);
+        if (lastPlaySize == lastPlay.length) {
+            lastPlay = Arrays.copyOf(lastPlay, 2 * lastPlay.length);
+        }
+        lastPlay[lastPlaySize++] = index(row, col);
+        if (trial != null) {
+            trial.squares[trial.size++] = index(row, col);
+        } else {
+            updateCrossChecks(row, col);
+        }
+    }
+
+    /**
+     * Starts a trial placement. The tiles placed from now on can be kept with commitTrial() or taken back with
+     * rollbackTrial(). The scoring state of the last play is reset, as it would be on a fresh copy of the board.
+     * Cross-checks and anchors keep describing the board without the trial tiles until it is committed.
+     */
+    public void beginTrial() {
+        if (trial != null) {
+            throw new IllegalStateException("A trial placement is already open on this board.");
+        }
+        trial = new Trial();
+        trial.scoredOnce = scoredOnce;
+        trial.lastPlay = lastPlay;
+        trial.lastPlaySize = lastPlaySize;
+        trial.newWords = newWords;
+        trial.direction = direction;
+        trial.currentStartRow = currentStartRow;
+        trial.currentStartCol = currentStartCol;
+        trial.firstPlayValid = firstPlayValid;
+        trial.playedWord = playedWord;
+        scoredOnce = new long[blanks.length];
+        lastPlay = new int[BOARD_SIZE];
+        lastPlaySize = 0;
+        newWords = new ArrayList<String>();
+        direction = Direction.HORIZONTAL;
+        currentStartRow = 0;
+        currentStartCol = 0;
+        firstPlayValid = false;
+        playedWord = "";
+    }
+
+    /**
+     * Keeps the tiles of the open trial placement on the board. Does nothing if no trial is open.
+     */
+    public void commitTrial() {
+        if (trial == null) {
+            return;
+        }
+        Trial committed = trial;
+        trial = null;
+        for (int i = 0; i < committed.size; i++) {
+            int index = committed.squares[i];
+            updateCrossChecks(index / BOARD_SIZE + 1, index % BOARD_SIZE + 1);
+        }
+    }
+
+    /**
+     * Takes the tiles of the open trial placement back off the board and restores the scoring state of the last
+     * play. Does nothing if no trial is open.
+     */
+    public void rollbackTrial() {
+        if (trial == null) {
+            return;
+        }
+        for (int i = 0; i < trial.size; i++) {
+            int index = trial.squares[i];
+            letters[index] = 0;
+            blanks[index >> 6] &= ~(1L << index);
+        }
+        scoredOnce = trial.scoredOnce;
+        lastPlay = trial.lastPlay;
+        lastPlaySize = trial.lastPlaySize;
+        newWords = trial.newWords;
+        direction = trial.direction;
+        currentStartRow = trial.currentStartRow;
+        currentStartCol = trial.currentStartCol;
+        firstPlayValid = trial.firstPlayValid;
+        playedWord = trial.playedWord;
+        trial = null;
+    }
+
+    /**
+     * @return the number of tiles placed by the last play.
+     */
+    public int getLastPlayTileCount() {
+        return lastPlaySize;
+    }
+
+    /**
+     * @param i the tile of the last play, in the order the tiles were placed.
+     * @return the row of that tile.
+     */
+    public int getLastPlayRow(int i) {
+        return lastPlay[i] / BOARD_SIZE + 1;
+    }
+
+    /**
+     * @param i the tile of the last play, in the order the tiles were placed.
+     * @return the column of that tile.
+     */
+    public int getLastPlayCol(int i) {
+        return lastPlay[i] % BOARD_SIZE + 1;
+    }
+
+    /**
+     * @return true while a trial placement is open on this board.
+     */
+    public boolean isTrialOpen() {
+        return trial != null;
+    }
+
+    /**
+     * Writes the letter of the tile, and whether it is a blank, to the packed cell state.
+     */
+    private void storeTile(int row, int col, Tile tile) {
+        int index = index(row, col);
+        letters[index] = letterCode(tile.getLetter());
+        if (letters[index] != 0 && tile.getValue() != null && tile.getValue() == 0) {
+            set(blanks, index);
+        }
+    }
+
+    /**
+     * Returns the letters that can be put on the given square by a play in the given direction, as a bit mask with
+     * bit 0 for A. A letter is allowed when the word it forms with the tiles in the other direction (if any) is in
+     * the dictionary. Occupied and out of range squares allow no letter.
+     * @param row the integer value of the row of given cell.
+     * @param col the integer value of the column of given cell.
+     * @param direction the direction of the play.
+     * @return int bit mask of the allowed letters.
+     */
+    public int getCrossCheck(int row, int col, Direction direction) {
+        if (!inRange(row, col)) {
+            return 0;
+        }
+        ensureCrossChecks();
+        return (direction == Direction.HORIZONTAL) ? acrossChecks[index(row, col)] : downChecks[index(row, col)];
+    }
+
+    /**
+     * Returns true if the given square is an anchor: an empty square next to a tile, or the centre while the board
+     * is empty. Every new word has to cover at least one anchor.
+     * @param row the integer value of the row of given cell.
+     * @param col the integer value of the column of given cell.
+     * @return true if the cell is an anchor.
+     */
+    public boolean isAnchor(int row, int col) {
+        if (!inRange(row, col)) {
+            return false;
+        }
+        ensureCrossChecks();
+        return anchors[index(row, col)];
+    }
+
+    /**
+     * Builds the cross-checks and anchors now if they are missing or out of date. They are otherwise built on first
+     * use, so a board that several threads read at the same time has to be prepared before it is shared.
+     */
+    public void prepareCrossChecks() {
+        ensureCrossChecks();
+    }
+
+    /**
+     * Builds the cross-checks and anchors of the whole board if they are missing or out of date.
+     */
+    private void ensureCrossChecks() {
+        if (crossChecksValid) {
+            return;
+        }
+        acrossChecks = new int[letters.length];
+        downChecks = new int[letters.length];
+        anchors = new boolean[letters.length];
+        boolean empty = true;
+        for (int row = 1; row <= BOARD_SIZE; row++) {
+            for (int col = 1; col <= BOARD_SIZE; col++) {
+                if (hasTileAt(row, col)) {
+                    empty = false;
+                    continue;
+                }
+                int index = index(row, col);
+                anchors[index] = touchesTile(row, col);
+                acrossChecks[index] = computeCrossCheck(row, col, Direction.HORIZONTAL);
+                downChecks[index] = computeCrossCheck(row, col, Direction.VERTICAL);
+            }
+        }
+        anchors[index(CENTRE, CENTRE)] |= empty;
+        crossChecksValid = true;
+    }
+
+    /**
+     * Refreshes the cross-checks after a tile was put on (row, col). Only the first empty square past the tiles
+     * joined to it in each of the four directions can change.
+     */
+    private void updateCrossChecks(int row, int col) {
+        if (!crossChecksValid) {
+            return;
+        }
+        int index = index(row, col);
+        acrossChecks[index] = 0;
+        downChecks[index] = 0;
+        anchors[index] = false;
+        refreshWordEnd(row, col, -1, 0);
+        refreshWordEnd(row, col, 1, 0);
+        refreshWordEnd(row, col, 0, -1);
+        refreshWordEnd(row, col, 0, 1);
+        anchors[index(CENTRE, CENTRE)] = !hasTileAt(CENTRE, CENTRE) && touchesTile(CENTRE, CENTRE);
+    }
+
+    /**
+     * Walks from (row, col) in the direction (rowStep, colStep) past every tile and refreshes the empty square there.
+     */
+    private void refreshWordEnd(int row, int col, int rowStep, int colStep) {
+        int r = row + rowStep;
+        int c = col + colStep;
+        while (hasTileAt(r, c)) {
+            r += rowStep;
+            c += colStep;
+        }
+        if (!inRange(r, c)) {
+            return;
+        }
+        int index = index(r, c);
+        anchors[index] = true;
+        if (rowStep != 0) {
+            acrossChecks[index] = computeCrossCheck(r, c, Direction.HORIZONTAL);
+        } else {
+            downChecks[index] = computeCrossCheck(r, c, Direction.VERTICAL);
+        }
+    }
+
+    /**
+     * Computes the cross-check of an empty square by walking the perpendicular word through the dictionary.
+     */
+    private int computeCrossCheck(int row, int col, Direction direction) {
+        int rowStep = (direction == Direction.HORIZONTAL) ? 1 : 0;
+        int colStep = 1 - rowStep;
+        if (!hasTileAt(row - rowStep, col - colStep) && !hasTileAt(row + rowStep, col + colStep)) {
+            return ALL_LETTERS;
+        }
+        Lexicon lexicon = WordValidator.getInstance().getLexicon();
+        int r = row;
+        int c = col;
+        while (hasTileAt(r - rowStep, c - colStep)) {
+            r -= rowStep;
+            c -= colStep;
+        }
+        int node = Lexicon.ROOT;
+        for (; (r != row || c != col) && node != Lexicon.NO_NODE; r += rowStep, c += colStep) {
+            node = lexicon.child(node, Lexicon.letterIndex((char) letters[index(r, c)]));
+        }
+        if (node == Lexicon.NO_NODE) {
+            return 0;
+        }
+        int mask = 0;
+        int candidates = lexicon.letterMask(node);
+        while (candidates != 0) {
+            int letter = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            int next = lexicon.child(node, letter);
+            for (r = row + rowStep, c = col + colStep; hasTileAt(r, c) && next != Lexicon.NO_NODE;
+                 r += rowStep, c += colStep) {
+                next = lexicon.child(next, Lexicon.letterIndex((char) letters[index(r, c)]));
+            }
+            if (next != Lexicon.NO_NODE && lexicon.isTerminal(next)) {
+                mask |= 1 << letter;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns true if the coordinates are on the playable 15*15 part of the board.
+     */
+    private static boolean inRange(int row, int col) {
+        return row >= 1 && row <= BOARD_SIZE && col >= 1 && col <= BOARD_SIZE;
+    }
+
+    /**
+     * Returns true if there is a tile on the given cell. Cells off the board have no tile.
+     */
+    private boolean hasTileAt(int row, int col) {
+        return inRange(row, col) && letters[index(row, col)] != 0;
+    }
+
+    /**
+     * Returns true if any of the four neighbours of the given cell holds a tile.
+     */
+    private boolean touchesTile(int row, int col) {
+        return hasTileAt(row - 1, col) || hasTileAt(row + 1, col) || hasTileAt(row, col - 1) || hasTileAt(row, col + 1);
+    }
+
     /**
      * Returns true if at least one cell adjacent to given cell is not blank (hence the word can be placed according to Scrabble rules).
      * @param row the integer value of the row of given cell.
@@ -444,7 +978,7 @@ public class Board implements Serializable {
         else if ((row > 1) && (row < 15) && (col > 1) && (col < 15)) {
             adjacentCells = getAdjacentCells(row,col);}
         else {
-            System.out.println("ERROR: Invalid cell");
+            GameLogger.warn("Invalid cell ({},{})", row, col);
         }
         return adjacentCells;
     }
@@ -457,7 +991,10 @@ public class Board implements Serializable {
      * @return coordinates as a string with digit row and letter column.
      */
     public String getStringCoords(int row, int col) {
-        String stringCoordinates = "" + row + Square.columns.get(col);
+        if (inRange(row, col)) {
+            return COORDINATES[row][col];
+        }
+        String stringCoordinates = "" + row + (char) (PlayMove.ASCII_BASE + col);
         return stringCoordinates;
     }
 
@@ -468,7 +1005,7 @@ public class Board implements Serializable {
      * @param col the integer value of the column of given cell.
      * @return string content of cell above.
      */
-    private String getTopCellContent(int row, int col) {return cells[row-1][col];}
+    private String getTopCellContent(int row, int col) {return getLetterAt(row - 1, col);}
 
     /**
      * Returns the String content of the cell located to the right of given cell.
@@ -477,7 +1014,7 @@ public class Board implements Serializable {
      * @param col the integer value of the column of given cell.
      * @return string content of cell on the right.
      */
-    private String getRightCellContent(int row, int col) {return cells[row][col+1];}
+    private String getRightCellContent(int row, int col) {return getLetterAt(row, col + 1);}
 
     /**
      * Returns the String content of the cell located underneath the given cell.
@@ -486,7 +1023,7 @@ public class Board implements Serializable {
      * @param col the integer value of the column of given cell.
      * @return string content of cell underneath.
      */
-    private String getBottomCellContent(int row, int col) {return cells[row+1][col];}
+    private String getBottomCellContent(int row, int col) {return getLetterAt(row + 1, col);}
 
     /**
      * Returns the String content of the cell located to the left of given cell.
@@ -495,7 +1032,7 @@ public class Board implements Serializable {
      * @param col the integer value of the column of given cell.
      * @return string content of cell on the left.
      */
-    private String getLeftCellContent(int row, int col) {return cells[row][col-1];}
+    private String getLeftCellContent(int row, int col) {return getLetterAt(row, col - 1);}
 
     /**
      * Returns a list of contents of all cells adjacent to given cell.
@@ -546,7 +1083,7 @@ public class Board implements Serializable {
         else if ((col == 1) && (row > 1) && (row < 15)) {
             adjacentCells.add(getTopCellContent(row, col));
             adjacentCells.add(getBottomCellContent(row, col));
-            adjacentCells.add(getLeftCellContent(row, col));
+            adjacentCells.add(getRightCellContent(row, col));
         }
         return adjacentCells;
     }
@@ -583,7 +1120,7 @@ public class Board implements Serializable {
                     adjacentCells.add(getTopCellContent(row, col));
                     break;
                 default:
-                    System.out.println("Error: Not a corner cell!");
+                    GameLogger.warn("Not a corner cell: ({},{})", row, col);
             }
         }
         return adjacentCells;
@@ -635,9 +1172,10 @@ public class Board implements Serializable {
 
         Boolean adjacentConditionMet = adjacentConditionMet(row, col, tiles, direction);
         Boolean tilesCoverCentre = tilesCoverCentre(row, col, tiles, direction);
+        lastPlaySize = 0;
 
         if ((tiles.size() <= 1) && (tilesCoverCentre)) {
-            System.out.println("ERROR: Words must be at least two letters long.");
+            GameLogger.info("Words must be at least two letters long.");
             firstPlayValid = false;
         }
         else if ((tiles.size() > 1) && (tilesCoverCentre)) {
@@ -659,14 +1197,14 @@ public class Board implements Serializable {
         }
 
         if (isFirstPlay && firstPlayValid) {
-            System.out.println("First word's placement is valid.");
-            getWordScore(row, col);
+            GameLogger.debug("First word's placement is valid.");
+            collectNewWords(row, col);
             return true;
         }
 
         else if ((adjacentConditionMet) && tilePlacedCount == tiles.size()){
-            System.out.println("Placement is valid.");
-            getWordScore(row, col);
+            GameLogger.debug("Placement is valid.");
+            collectNewWords(row, col);
             return true;
         }
         return false;
@@ -688,14 +1226,24 @@ public class Board implements Serializable {
     }
 
     /**
-     * Returns the String letter placed on given coordinates.
+     * Returns the letter placed on given coordinates as a char, ' ' for empty cells and cells off the board.
      */
-    public String getLetterAt(int row, int col) {
-        return cells[row][col];
+    public char getCharAt(int row, int col) {
+        if (!inRange(row, col) || letters[index(row, col)] == 0) {
+            return ' ';
+        }
+        return (char) letters[index(row, col)];
     }
 
-
-
+    /**
+     * Returns the String letter placed on given coordinates, " " for empty cells and cells off the board.
+     */
+    public String getLetterAt(int row, int col) {
+        if (!inRange(row, col)) {
+            return LETTER_STRINGS[0];
+        }
+        return LETTER_STRINGS[letters[index(row, col)] & 0x7F];
+    }
 
     /**
      * Returns list of all String words on given row of board.
@@ -709,26 +1257,26 @@ public class Board implements Serializable {
         String currentLetter;
         //int ROW = row;
         //iterate through columns of ROW == row
-        for (int COL = 1; COL < cells.length - 1; COL++) {
+        for (int COL = 1; COL < BOARD_SIZE; COL++) {
             if (!cellIsBlank(row, COL)) {   // if
-                currentLetter = cells[row][COL];
+                currentLetter = getLetterAt(row, COL);
                 currentWord += currentLetter;
                 // if next cell in row is blank, store currentWord in horizontalWords list and move on to next word
                 if (cellIsBlank(row, COL + 1)) {
                     //todo maybe remove?
                     if ((currentWord.length() > 1)) {
                         wordsOnRow.add(currentWord);
-                        System.out.println("current word on row is: " + currentWord);
+                        GameLogger.debug("current word on row is: {}", currentWord);
                     }
                     currentWord = ""; // set currentWord to empty string so it can store the next word in row
                 }
                 // handle cells on the right border of the board (col == 15)
                 else {
-                    if ((COL == cells.length - 2)) {
-                        currentWord += cells[row][COL + 1];
+                    if ((COL == BOARD_SIZE - 1)) {
+                        currentWord += getLetterAt(row, COL + 1);
                         if (currentWord.length() > 1) {
                             wordsOnRow.add(currentWord);
-                            System.out.println("current word on row is: " + currentWord);
+                            GameLogger.debug("current word on row is: {}", currentWord);
                             currentWord = ""; // set currentWord to empty string so it can store the next word in row
                         }
                     }
@@ -736,7 +1284,7 @@ public class Board implements Serializable {
                 }
             }
         }
-        System.out.println("number of words on row: " + wordsOnRow.size());
+        GameLogger.debug("number of words on row: {}", wordsOnRow.size());
         return wordsOnRow;
     }
 
@@ -753,272 +1301,46 @@ public class Board implements Serializable {
         String currentLetter;
         //int COL = col;
         //iterate through rows of COL == col
-        for (int ROW = 1; ROW < cells.length - 1; ROW++) {
+        for (int ROW = 1; ROW < BOARD_SIZE; ROW++) {
             if (!cellIsBlank(ROW, col)) {   // if
-                currentLetter = cells[ROW][col];
+                currentLetter = getLetterAt(ROW, col);
                 currentWord += currentLetter;
                 // if next cell in row is blank, store currentWord in horizontalWords list and move on to next word
                 if (cellIsBlank(ROW + 1, col)) {
                     //todo maybe remove?
                     if ((currentWord.length() > 1)) {
                         wordsOnCol.add(currentWord);
-                        System.out.println("current word on col is: " + currentWord);
+                        GameLogger.debug("current word on col is: {}", currentWord);
                     }
                     currentWord = ""; // set currentWord to empty string so it can store the next word in row
                 }
                 // handle cells on the bottom border of the board (row == 15)
                 else {
-                    if (ROW == cells.length - 2) {
-                        currentWord += cells[ROW + 1][col];
+                    if (ROW == BOARD_SIZE - 1) {
+                        currentWord += getLetterAt(ROW + 1, col);
                         if (currentWord.length() > 1) {
                             wordsOnCol.add(currentWord);
-                            System.out.println("current word on col is: " + currentWord);
+                            GameLogger.debug("current word on col is: {}", currentWord);
                             currentWord = ""; // set currentWord to empty string so it can store the next word in row
                         }
                     }
                 }
             }
         }
-        System.out.println("number of words on column: " + wordsOnCol.size());
+        GameLogger.debug("number of words on column: {}", wordsOnCol.size());
         return wordsOnCol;
     }
 
     /**
-     * Returns the score for given word.
+     * Adds the words on the row and the column of the given cell to the new words of the last play, see
+     * getNewWords().
      *
      * @param row the integer value of the row of given cell.
      * @param col the integer value of the column of given cell.
-     * @return sum score of values of tiles.
      */
-    public int getWordScore(int row, int col) {
-        String wordToScore = getLongestWordFormed(row, col);
-        int wordScore = calculateWordScore(wordToScore);
-        int premiumScore = calculatePremiumScore(wordToScore);
-        System.out.println("WORD SCORE for " + wordToScore + ": " + wordScore);
-        System.out.println("PREMIUM SCORE for " + wordToScore + ": " + premiumScore);
-        return premiumScore;
-    }
-
-
-    /**
-     * Given a single square coordinate, finds all words containing that cell.
-     * Returns the longest one to be scored.
-     * @param row the integer value of the row of given cell.
-     * @param col the integer value of the column of given cell.
-     * @return
-     */
-    private String getLongestWordFormed(int row, int col) {
-        ArrayList<String> wordsOnRow = getWordsOnRow(row); // get all horizontal words attached to this cell
-        ArrayList<String> wordsOnCol = getWordsOnCol(col); // get all vertical words attached to this cell
-
-        this.newWords.addAll(wordsOnRow);
-        this.newWords.addAll(wordsOnCol);
-
-        String longestHorizontal = "";
-        String longestVertical = "";
-        String longestWord = "";
-
-        // find the longest horizontal word formed
-        if (!wordsOnRow.isEmpty()) {
-            for (int i = 0; i < wordsOnRow.size(); i++) {
-                String currWord_Horiz = wordsOnRow.get(i);
-                if (currWord_Horiz.length() > longestHorizontal.length()) {
-                    longestHorizontal = currWord_Horiz;
-                }
-            }
-        }
-
-        // find the longest vertical word formed that covers (row,col)
-        if (!wordsOnCol.isEmpty()) {
-            for (int i = 0; i < wordsOnCol.size(); i++) {
-                String currWord_V = wordsOnCol.get(i);
-                if (currWord_V.length() > longestVertical.length()) {
-                    longestVertical = currWord_V;
-                }
-            }
-        }
-        //choose longer word between vertical longest and horizontal longest
-        // if there's a tie, pick horizontal by convention
-        // update starting coordinates of current word
-        if (longestHorizontal.length() >= longestVertical.length()) {
-            longestWord = longestHorizontal;
-            this.direction = Direction.HORIZONTAL;
-            //updateStartingCoords(row, col, longestWord, Direction.HORIZONTAL); // update starting coordinates of current word
-
-        } else {
-            longestWord = longestVertical;
-            this.direction = Direction.VERTICAL;
-            //updateStartingCoords(row, col, longestWord, Direction.VERTICAL); // update starting coordinates of current word
-        }
-        updateStartingCoords(row, col, longestWord); // update starting coordinates of current word
-        System.out.println("LONGEST WORD FORMED BY TILE: " + longestWord
-                + "\nstarting at: row " + this.currentStartRow
-                + " col " + this.currentStartCol);
-        return longestWord;
-    }
-
-
-    /**
-     * Updates current word's starting coordinates.
-     * @param row the integer value of the row of given word.
-     * @param col the integer value of the column of given word.
-     */
-    private void updateStartingCoords(int row, int col, String word) {
-        //reset current word's starting coordinates to 0 before starting
-        currentStartRow = 0;
-        currentStartCol = 0;
-        int COL = col;
-        int ROW = row;
-
-        if (word.length() <= 1) {
-            System.out.println("ERROR: the word played is only one letter long.");
-            return;
-        }
-        // if direction is horizontal keep checking left cell until next left is blank
-        if (direction == Direction.HORIZONTAL) {
-            for (COL = col; COL > 1; COL--) {
-
-                // if left cell is blank or if current cell is on leftmost edge of the board, then current horizontal word starts at current cell
-                if (getLeftCellContent(ROW, COL).equals(" ")) {
-                    currentStartRow = ROW;
-                    currentStartCol = COL;
-                    return;
-                }
-                else if (COL == 2) {
-                    currentStartRow = ROW;
-                    currentStartCol = 1;
-                    return;
-                }
-                // else, keep going left until find starting cell of word
-            }
-        }
-
-        // if direction is vertical, keep going up in the column until find first cell of the word
-        else if (direction == Direction.VERTICAL) {
-            for (ROW = row; ROW > 1; ROW--) {
-                if (getTopCellContent(ROW,COL).equals(" ")) {
-                    currentStartRow = ROW;
-                    currentStartCol = COL;
-                    return;
-                }
-                else if (ROW == 2) {
-                    currentStartRow = 1;
-                    currentStartCol = COL;
-                    return;
-                }
-            }
-
-        }
-
-        if (currentStartCol == 0 || currentStartRow == 0) {
-            System.out.println("ERROR: NO WORDS HAVE BEEN FORMED THAT CONTAIN ROW = " + row + ", COLUMN = " + col);
-        }
-        return;
-    }
-
-
-    /**
-     * Calculates score of the given word.
-     *
-     * @param wordToScore the String word to be scored.
-     * @return int score of word.
-     */
-    public static int calculateWordScore(String wordToScore) {
-        int letterScore = 0;
-        int wordScore = 0;
-        boolean lengthValid = false;
-
-        if (wordToScore.length() > 1) {
-            lengthValid = true;
-        }
-
-        if (lengthValid) {
-            for (int i = 0; i < wordToScore.length(); i++) {
-                letterScore = Bag.getLetterValue("" + wordToScore.charAt(i));
-                wordScore += letterScore;
-                //System.out.println("current character of word " + wordToScore + ": " + wordToScore.charAt(i));
-            }
-        } else {
-            wordScore = 0;
-            System.out.println("ERROR: word must be at least two letters long.");
-            System.out.println("ERROR: " + wordToScore);
-        }
-        return wordScore;
-    }
-
-    /**
-     * Returns the score for given word multiplied by corresponding premium scores' multipliers.
-     *
-     * @param word  the String word to score.
-     * @return the multiplied score of the word.
-     */
-    public int calculatePremiumScore(String word) {
-        int startingRow = this.currentStartRow;
-        int startingCol = this.currentStartCol;
-        int wordLength = word.length();
-        ArrayList<Square.Multiplier> multipliers = new ArrayList<>();
-        int wordScore = 0;
-        int premiumScore = 0;
-        Bag b = new Bag();
-        boolean scoredBefore = false;
-
-        //iterate through squares of the word and check for multiplier type
-        if (direction == Direction.HORIZONTAL) {
-            for (int col = startingCol; col < cells.length ; col++) {
-                if (multipliers.size() >= wordLength) {break;}
-                if (scoredOnceList.contains(getStringCoords(startingRow,col))) {scoredBefore = true;}
-                Square.Multiplier multiplier = getMultiplierFromXML(squares.get(getStringCoords(startingRow,col)));
-                if (!scoredBefore) {
-                    multipliers.add(multiplier);
-                }
-
-                int letterScore = b.getLetterValue(cells[startingRow][col]);
-                // only apply multipliers if the letter hasn't been scored previously
-                if (!scoredBefore) {
-                    if (multiplier == Square.Multiplier.DL || multiplier == Square.Multiplier.TL || multiplier == Square.Multiplier.NONE) {
-                        letterScore = letterScore * multiplier.getValue();
-                    }
-                }
-                if (multiplier == Square.Multiplier.DL || multiplier == Square.Multiplier.TL || multiplier == Square.Multiplier.NONE) {
-                    letterScore = letterScore * multiplier.getValue();
-                }
-                wordScore += letterScore;
-                System.out.println("square (" + startingRow +"," + col  +") multiplier: "+ getMultiplierFromXML(squares.get(getStringCoords(startingRow,col))));
-            }
-            if (multipliers.contains(Square.Multiplier.DW)) { premiumScore = wordScore * 2;}
-            else if (multipliers.contains(Square.Multiplier.TW)) {premiumScore = wordScore * 3;}
-            else {premiumScore = wordScore;}
-        }
-
-        //iterate through squares of the word and check for multiplier type
-        if (direction == Direction.VERTICAL) {
-            for (int row = startingRow; row < cells.length; row++) {
-                if (multipliers.size() >= wordLength) {break;}
-                if (scoredOnceList.contains(getStringCoords(row,startingCol))) {scoredBefore = true;}
-                Square.Multiplier multiplier = getMultiplierFromXML(squares.get(getStringCoords(row,startingCol)));
-                if (!scoredBefore) {
-                    multipliers.add(multiplier);
-                }
-
-                int letterScore = b.getLetterValue(cells[row][startingCol]);
-
-                if (!scoredBefore) {
-                    if ((multiplier == Square.Multiplier.DL) || (multiplier == Square.Multiplier.TL) || (multiplier == Square.Multiplier.NONE)) {
-                        letterScore = letterScore * multiplier.getValue();
-                    }
-                }
-                if ((multiplier == Square.Multiplier.DL) || (multiplier == Square.Multiplier.TL) || (multiplier == Square.Multiplier.NONE)) {
-                    letterScore = letterScore * multiplier.getValue();
-                }
-                wordScore += letterScore;
-                System.out.println("square (" + row +"," + startingCol  +") multiplier: " + getMultiplierFromXML(squares.get(getStringCoords(row,startingCol))));
-            }
-            if (multipliers.contains(Square.Multiplier.DW)) { premiumScore = wordScore * 2;}
-            else if (multipliers.contains(Square.Multiplier.TW)) {premiumScore = wordScore * 3;}
-            else {premiumScore = wordScore;}
-        }
-
-        return premiumScore;
+    private void collectNewWords(int row, int col) {
+        this.newWords.addAll(getWordsOnRow(row));
+        this.newWords.addAll(getWordsOnCol(col));
     }
 
     /**
@@ -1029,7 +1351,7 @@ public class Board implements Serializable {
      */
     public String getLetterAtSquare(int row, int col)
     {
-        return this.cells[row][col];
+        return getLetterAt(row, col);
     }
 
     /**
@@ -1045,12 +1367,12 @@ public class Board implements Serializable {
      * @return
      */
     public boolean boardIsEmpty() {
-        for (int row = 1; row < cells.length; row++) {
-            for (int col = 1; col < cells.length; col++) {
+        for (int row = 1; row <= BOARD_SIZE; row++) {
+            for (int col = 1; col <= BOARD_SIZE; col++) {
                 if (!cellIsBlank(row,col)) {return false;}
             }
         }
-        System.out.println("BOARD IS EMPTY.");
+        GameLogger.debug("Board is empty.");
         return true;
     }
 
@@ -1067,7 +1389,7 @@ public class Board implements Serializable {
         if ((direction == Direction.VERTICAL) && (col == 8)) {
             for (int ROW = row; ROW < row + tiles.size(); ROW++) {
                 if (ROW == 8) {
-                    System.out.println("First word correctly covers the centre.");
+                    GameLogger.debug("First word correctly covers the centre.");
                     return true;
                 }
             }
@@ -1075,12 +1397,14 @@ public class Board implements Serializable {
         if ((direction == Direction.HORIZONTAL) && (row == 8)) {
             for (int COL = col; COL < col + tiles.size(); COL++) {
                 if (COL == 8) {
-                    System.out.println("First word correctly covers the centre.");
+                    GameLogger.debug("First word correctly covers the centre.");
                     return true;
                 }
             }
         }
-        System.out.println("ERROR: First word must cover the centre square of the board.");
+        if (!hasTileAt(CENTRE, CENTRE)) {   // only the first word has to cover it
+            GameLogger.info("First word must cover the centre square of the board.");
+        }
         return false;
     }
 
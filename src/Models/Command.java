@@ -66,7 +66,7 @@ public class Command implements Serializable {
         if (this.placementAttempt != null && this.wordAttempt != null) {
             return Character.isDigit(this.placementAttempt.charAt(0));
         } else {
-            System.out.println("NULL PASSED IN");
+            GameLogger.debug("No placement or word in command {}", this.action);
         }
 
         return false;
@@ -16,6 +16,12 @@ import Views.ScrabbleView;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 public class Game implements Serializable{
     private static final long serialVersionUID = 3156533007620095055L;
@@ -33,12 +39,33 @@ public class Game implements Serializable{
     private boolean gameFinished;
     private boolean initialReadUndo;
     private boolean initialReadRedo;
+    private boolean headless;
+
+    /**
+     * Snapshots for undo and redo. They belong to this game only and are not part of its saves.
+     */
+    private transient GameHistory history = new GameHistory();
+
+    /**
+     * Save file every change to this game is appended to once the game has been saved, see saveGame().
+     */
+    private transient GameJournal journal;
+    private transient File journalFile;
+    private transient boolean replaying;
+
+    /**
+     * Thread AI turns are searched on, and the executor their plays are made through, see runAITurnsInBackground().
+     * Without them an AI plays its turn within the call that hands it the turn. aiTurn is the search under way, only
+     * read and written on the thread of the views.
+     */
+    private transient ExecutorService aiExecutor;
+    private transient Executor publisher;
+    private transient Future<Void> aiTurn;
 
     /**
      * Public constructor for class game.
      */
     public Game() {
-        clearUndoRedoFileContents();
         this.initialReadUndo = true;
         this.initialReadRedo = true;
 
@@ -49,19 +76,32 @@ public class Game implements Serializable{
         this.gameFinished = false;
     }
 
-    private void clearUndoRedoFileContents()
-    {
-        try {
-            PrintWriter writer = new PrintWriter(GameState.FILENAME_UNDO);
-            writer.print("");
-            writer.close();
-            PrintWriter writer2 = new PrintWriter(GameState.FILENAME_REDO);
-            writer.print("");
-            writer2.close();
-        } catch (FileNotFoundException e)
-        {
-            System.out.println("ignore");
-        }
+    /**
+     * Constructor for a headless game, used to run AI games without the GUI. The bag is seeded so the game can be
+     * replayed, no undo history is kept and AI turns are not played automatically: the caller plays
+     * each one with playAITurn().
+     *
+     * @param seed seed of the bag's random draws
+     */
+    public Game(long seed) {
+        this.bag = new Bag(seed);
+        this.headless = true;
+        this.initialReadUndo = true;
+        this.initialReadRedo = true;
+
+        this.views = new ArrayList<>();
+        this.removeTilesFromHand= new ArrayList<>();
+        this.exchangeTilesFromHand = new ArrayList<>();
+        this.firstPlayInTurn = true;
+        this.gameFinished = false;
+    }
+
+    /**
+     * Restores a serialized game, which starts with an empty undo and redo history.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.history = new GameHistory();
     }
 
     public void setBag(Bag bag) {
@@ -120,6 +160,7 @@ public class Game implements Serializable{
         this.activeCount = this.playerList.size();
         this.currentPlayer = this.playerList.get(0);
         saveCurrentGameState();
+        writeJournalSnapshot();
         for(ScrabbleView v : this.views){v.update(new ScrabbleEvent(this.currentPlayer, this.board, this.gameFinished));}
     }
 
@@ -141,6 +182,10 @@ public class Game implements Serializable{
      * Logic for changing the turn order from current player to next player
      */
     public void nextPlayer() throws IOException, ClassNotFoundException {
+        if (this.journal != null && this.journal.isSnapshotDue()) {
+            writeJournalSnapshot();
+        }
+        writeJournal(j -> j.writeMarker(GameJournal.NEXT_PLAYER));
         this.removeTilesFromHand.clear();
         if (currentPlayer != null) {
             if (currentPlayer.getPoints() >= 120) {
@@ -152,8 +197,11 @@ public class Game implements Serializable{
                 } else {
                     this.currentPlayer = this.playerList.get((this.currentPlayer.getPlayerNumber() + 1));
 
-                    if (this.currentPlayer.isAI()) {
-                        performAIPlay();
+                    if (this.currentPlayer.isAI() && !this.headless) {
+                        // a journal being replayed already holds the AI's moves
+                        if (!this.replaying) {
+                            playAI();
+                        }
                     }
                     else
                     {
@@ -166,7 +214,8 @@ public class Game implements Serializable{
         }
 
 
-        for(ScrabbleView v : this.views){v.update(new ScrabbleEvent(this.currentPlayer, this.board, this.gameFinished));}
+        for(ScrabbleView v : this.views){v.update(new ScrabbleEvent(this.currentPlayer, this.board, this.gameFinished,
+                isAIThinking()));}
         this.firstPlayInTurn = true;
     }
 
@@ -179,21 +228,108 @@ public class Game implements Serializable{
         return this.bag;
     }
 
+    /**
+     * Plays the turn of the current player, which must be a Models.AIPlayer, and moves on to the next player. Meant
+     * for headless games, where AI turns are not played automatically.
+     */
+    public void playAITurn() throws IOException, ClassNotFoundException {
+        if (!this.currentPlayer.isAI()) {
+            throw new IllegalStateException("Player " + (this.currentPlayer.getPlayerNumber() + 1) + " is not an AI");
+        }
+        performAIPlay();
+    }
+
+    /**
+     * Plays AI turns on a background thread from now on, so the thread of the views is never busy with an AI's
+     * search. Only the search runs in the background, on a copy of the board. Its play is made through publisher,
+     * SwingUtilities::invokeLater for Swing views, and the views are updated from there as for any other play. While
+     * an AI is thinking the views are told so by ScrabbleEvent.isAIThinking().
+     *
+     * @param publisher runs the plays found in the background on the thread of the views
+     */
+    public void runAITurnsInBackground(Executor publisher) {
+        if (this.aiExecutor == null) {
+            this.aiExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "scrabble-ai");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.publisher = publisher;
+    }
+
+    /**
+     * Returns whether the current player is an AI searching for its play in the background.
+     *
+     * @return boolean
+     */
+    public boolean isAIThinking() {
+        return this.aiTurn != null;
+    }
+
+    /**
+     * Abandons the turn an AI is thinking about, if any. Its search is interrupted, which stops it where it is (see
+     * Models.MoveGenerator), and what it found is dropped. The AI stays the current player until the game is changed
+     * by undo, redo or load.
+     */
+    public void cancelAITurn() {
+        if (this.aiTurn != null) {
+            this.aiTurn.cancel(true);
+            this.aiTurn = null;
+        }
+    }
+
+    /**
+     * Closes the game: abandons the turn an AI is thinking about, stops the thread AI turns are searched on and
+     * closes the save journal.
+     */
+    public void close() {
+        cancelAITurn();
+        if (this.aiExecutor != null) {
+            this.aiExecutor.shutdownNow();
+            this.aiExecutor = null;
+        }
+        closeJournal();
+    }
+
+    /**
+     * Plays the turn of the current player, which must be a Models.AIPlayer, in the background if the game was set to
+     * and right away otherwise.
+     */
+    private void playAI() throws IOException, ClassNotFoundException {
+        if (this.aiExecutor == null) {
+            performAIPlay();
+        } else {
+            startAITurn();
+        }
+    }
+
     /**
      * Performs an AIPlay with Models.AIPlayer methods and then skips the turn. Also responsible for clearing out
      * blanks
      * */
     private void performAIPlay() throws IOException, ClassNotFoundException {
         AIPlayer aiPlayer = (AIPlayer) this.currentPlayer;
-        System.out.println(this.currentPlayer.getHand().getHand().toString() + "INITIAL HAND");
+        exchangeAIBlanks(aiPlayer);
+        aiPlayer.analyzeBoard(this.board);
+        finishAIPlay(aiPlayer);
+    }
+
+    /**
+     * Exchanges the blanks of an AI, which does not play them.
+     */
+    private void exchangeAIBlanks(AIPlayer aiPlayer) throws FileNotFoundException {
+        GameLogger.debug("AI initial hand: {}", aiPlayer.getHand().getHand());
 
+        // bounded, since a blank can be drawn straight back when the bag holds little else
+        int exchangesLeft = this.bag.getBagSize() + 1;
         boolean flag = true;
-        while (flag) {
+        while (flag && exchangesLeft-- > 0) {
             flag = false;
 
             ArrayList<Tile> mockHand = (ArrayList<Tile>) aiPlayer.getHand().getHand().clone();
 
-            System.out.println(mockHand.toString());
+            GameLogger.debug("AI hand: {}", mockHand);
 
             int i = 0;
 
@@ -202,22 +338,75 @@ public class Game implements Serializable{
                 i++;
                 if (t.getLetter().equals("_"))
                 {
-                    System.out.println("BLANK DETECTED AT " + i);
+                    GameLogger.debug("AI exchanging blank tile at {}", i);
                     flag = true;
                     this.addToExchangeTilesFromHand('_');
                     this.processCommand(new Command("exchange", "_", null));
-                    this.exchangeTilesFromHand.clear();
+                    this.clearRemoveFromExchangeTilesFromHand();
                 }
             }
         }
+    }
 
-        aiPlayer.analyzeBoard(this.board);
+    /**
+     * Makes the play an AI found and moves on to the next player.
+     */
+    private void finishAIPlay(AIPlayer aiPlayer) throws IOException, ClassNotFoundException {
         aiPlayer.playHighestMove(this);
         this.clearRemoveTilesFromHand();
 
         this.nextPlayer();
     }
 
+    /**
+     * Starts the search for an AI's play on the background thread. The board, the rack and the size of the bag are
+     * taken here, so the search never reads what undo or load may be changing.
+     */
+    private void startAITurn() throws FileNotFoundException {
+        AIPlayer aiPlayer = (AIPlayer) this.currentPlayer;
+        exchangeAIBlanks(aiPlayer);
+        Board position = new Board(this.board);
+        Rack rack = aiPlayer.getHand().getRack().copy();
+        int bagSize = this.bag.getBagSize();
+        Executor publisher = this.publisher;
+        FutureTask<Void> turn = new FutureTask<Void>(() -> {
+            aiPlayer.analyzeBoard(position, rack, bagSize);
+            return null;
+        }) {
+            @Override
+            protected void done() {
+                publisher.execute(() -> finishAITurn(this, aiPlayer));
+            }
+        };
+        this.aiTurn = turn;
+        this.aiExecutor.execute(turn);
+    }
+
+    /**
+     * Makes the play found by a background search, on the thread of the views, unless the turn was abandoned since.
+     * An AI whose search failed passes.
+     */
+    private void finishAITurn(Future<Void> turn, AIPlayer aiPlayer) {
+        if (turn != this.aiTurn) {
+            return;
+        }
+        this.aiTurn = null;
+        try {
+            turn.get();
+        } catch (ExecutionException e) {
+            GameLogger.warn("AI {} could not search for a play and passes: {}", aiPlayer.getPlayerNumber() + 1,
+                    e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            finishAIPlay(aiPlayer);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Returns current player
      *
@@ -233,6 +422,7 @@ public class Game implements Serializable{
      */
     public void clearRemoveTilesFromHand()
     {
+        writeJournal(j -> j.writeMarker(GameJournal.CLEAR_REMOVE));
         removeTilesFromHand.clear();
     }
 
@@ -243,21 +433,13 @@ public class Game implements Serializable{
      */
     public void addToRemoveTilesFromHand(Character c, boolean blankTile)
     {
+        writeJournal(j -> j.writeAddRemove(c, blankTile));
         this.removeTilesFromHand.add(c);
         this.firstPlayInTurn = false;
 
         if (blankTile)
         {
-            ArrayList<Tile> mockHand = (ArrayList<Tile>) currentPlayer.getHand().getHand().clone();
-
-            for (int i = 0; i < mockHand.size(); i++)
-            {
-                if (mockHand.get(i).getLetter().equals("_"))
-                {
-                    currentPlayer.getHand().getHand().get(i).setLetter(c.toString());
-                    break;
-                }
-            }
+            currentPlayer.getHand().assignBlank(c);
         }
     }
 
@@ -268,6 +450,7 @@ public class Game implements Serializable{
      */
     public void addToExchangeTilesFromHand(Character c)
     {
+        writeJournal(j -> j.writeExchange(GameJournal.ADD_EXCHANGE, c));
         this.exchangeTilesFromHand.add(c);
     }
 
@@ -278,6 +461,7 @@ public class Game implements Serializable{
      */
     public void removeFromExchangeTilesFromHand(Character c)
     {
+        writeJournal(j -> j.writeExchange(GameJournal.REMOVE_EXCHANGE, c));
         this.exchangeTilesFromHand.remove(c);
     }
 
@@ -286,6 +470,7 @@ public class Game implements Serializable{
      */
     public void clearRemoveFromExchangeTilesFromHand()
     {
+        writeJournal(j -> j.writeMarker(GameJournal.CLEAR_EXCHANGE));
         this.exchangeTilesFromHand.clear();
     }
 
@@ -380,6 +565,7 @@ public class Game implements Serializable{
     public boolean processCommand(Command command) throws FileNotFoundException {
         List<Tile> addTilesToHand;
         InHand inHand;
+        writeJournal(j -> j.writeCommand(command));
         placementCheck = true;
         boolean rc = true;
 
@@ -395,7 +581,7 @@ public class Game implements Serializable{
                             this.exchangeTilesFromHand));
                 }
                 else {
-                    System.out.println("All tiles not in hand");
+                    GameLogger.info("All tiles not in hand");
                     rc = false;
                 }
 
@@ -409,17 +595,19 @@ public class Game implements Serializable{
                 if (inHand.wordInHand()) {
                     removeTilesFromHand = inHand.wordToList();
                     addTilesToHand = this.bag.removeTiles(removeTilesFromHand.size());
-                    System.out.println(removeTilesFromHand.toString() + " " + command.getPlacementAttempt());
+                    GameLogger.debug("playing {} at {}", removeTilesFromHand, command.getPlacementAttempt());
                     PlayMove playMove = new PlayMove(command.getPlacementAttempt(),
                             currentPlayer.exchange((ArrayList<Tile>) addTilesToHand, removeTilesFromHand),
                             this.board, command.getPlacementDirection());
                     if (playMove.placeTile()) {
                         if (playMove.checkWord()) {
+                            playMove.commit();
                             this.board = playMove.getUpdatedBoard();
                             currentPlayer.addPoints(playMove.getPlayedWordScore());
                         }
                         else {
-                            System.out.println("Word is not valid.");
+                            playMove.discard();
+                            GameLogger.info("Word is not valid.");
                             this.bag.placeTiles(addTilesToHand);
                             currentPlayer.rollBack();
                             rc = false;
@@ -427,6 +615,7 @@ public class Game implements Serializable{
 
                     }
                     else {
+                        playMove.discard();
                         this.bag.placeTiles(addTilesToHand);
                         currentPlayer.rollBack();
                         placementCheck = false;
@@ -435,7 +624,7 @@ public class Game implements Serializable{
                 }
                 else
                 {
-                    System.out.println("All tiles not in hand");
+                    GameLogger.info("All tiles not in hand");
                     rc = false;
                 }
 
@@ -445,7 +634,7 @@ public class Game implements Serializable{
                 break;
 
             case "shuffle":
-                currentPlayer.shuffle();
+                this.bag.shuffle(currentPlayer.getHand().getHand());
                 for(ScrabbleView v : this.views) {
                     v.update(new ScrabbleEvent(this.currentPlayer, this.board, this.gameFinished));
                 }
@@ -455,7 +644,7 @@ public class Game implements Serializable{
                 break;
 
             case "forfeit":
-                System.out.println("Models.Player " + (currentPlayer.getPlayerNumber()+1) + " has forfeited");
+                GameLogger.info("Player {} has forfeited", currentPlayer.getPlayerNumber() + 1);
                 bag.placeTiles(currentPlayer.getHand().getHand());
                 currentPlayer.setActive(false);
                 break;
@@ -484,50 +673,208 @@ public class Game implements Serializable{
     }
 
     /**
-     * Creates new Models.GameState type object using this game
+     * Adds a Models.GameState snapshot of this game to its undo history. Headless games keep no state history.
      */
     public void saveCurrentGameState() {
-        GameState gameState = new GameState(this, true);
+        if (this.headless) {
+            return;
+        }
+        this.history.push(GameState.capture(this, this.history.current()));
     }
 
     /**
-     * Serializes the game and saves all object data into the save.txt file
+     * Appends the undo history of this game to the given stream from now on (see Models.GameHistory.setLog()).
+     *
+     * @param out the append-only stream, or null to stop logging
+     */
+    public void setHistoryLog(OutputStream out) {
+        this.history.setLog(out);
+    }
+
+    /**
+     * Saves the game to the save.journal file. From then on every change to the game is appended to the file as it
+     * happens, see Models.GameJournal.
      */
     public void saveGame() {
-        FileOutputStream outputStream;
-        ObjectOutputStream oos;
+        saveGame(new File(GameJournal.FILENAME));
+    }
 
+    /**
+     * Saves the game to the given journal file, starting a new journal if the game was not journaled to that file
+     * yet, and appends a snapshot of the game to it.
+     *
+     * @param file the journal file
+     */
+    public void saveGame(File file) {
         try {
-            outputStream = new FileOutputStream(GameState.FILENAME_SAVE);
-            oos = new ObjectOutputStream(outputStream);
-            oos.writeObject(this);
-            oos.close();
-            outputStream.close();
-
+            if (this.journal == null || !file.equals(this.journalFile)) {
+                closeJournal();
+                this.journal = GameJournal.create(file, GameJournal.DEFAULT_SNAPSHOT_INTERVAL);
+                this.journalFile = file;
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        writeJournalSnapshot();
     }
 
     /**
-     * Deserializes the game and loads all object data from save.txt file and updates the view accordingly
+     * Loads the game saved in the save.journal file and updates the view accordingly.
      */
     public void loadGame() {
-        FileInputStream inputStream;
-        ObjectInputStream ois;
-        Game gameToBeLoaded;
+        loadGame(new File(GameJournal.FILENAME));
+    }
 
+    /**
+     * Loads the game saved in the given journal file: restores its last snapshot and replays what was journaled
+     * after it. The game keeps appending to the same file, and its undo history starts over from the loaded state.
+     *
+     * @param file the journal file
+     */
+    public void loadGame(File file) {
+        GameJournal.Recovery recovery;
         try {
-            inputStream = new FileInputStream(GameState.FILENAME_SAVE);
-            ois = new ObjectInputStream(inputStream);
-
-            gameToBeLoaded = (Game) ois.readObject();
+            recovery = GameJournal.read(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        cancelAITurn();
+        closeJournal();
 
+        this.replaying = true;
+        try {
+            GameJournal.Entry snapshot = recovery.getSnapshot();
+            changeCurrentGameState(snapshot.state);
+            this.bag.setSeed(snapshot.seed, snapshot.draws);
+            this.firstPlayInTurn = snapshot.firstPlayInTurn;
+            this.removeTilesFromHand = toCharArrayList(snapshot.removeTiles);
+            this.exchangeTilesFromHand = toCharArrayList(snapshot.exchangeTiles);
+            for (GameJournal.Entry entry : recovery.getTail()) {
+                replayJournalEntry(entry);
+            }
         } catch (IOException | ClassNotFoundException e) {
             throw new RuntimeException(e);
+        } finally {
+            this.replaying = false;
+        }
+
+        this.history = new GameHistory();
+        saveCurrentGameState();
+        this.initialReadUndo = true;
+        this.initialReadRedo = true;
+        try {
+            this.journal = GameJournal.reopen(file, recovery, GameJournal.DEFAULT_SNAPSHOT_INTERVAL);
+            this.journalFile = file;
+        } catch (IOException e) {
+            GameLogger.warn("Could not reopen {} for saving: {}", file, e.getMessage());
+        }
+
+        // a game saved while an AI was thinking is loaded with that AI to play
+        if (this.currentPlayer != null && this.currentPlayer.isAI() && !this.gameFinished && !this.headless) {
+            try {
+                playAI();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        for(ScrabbleView v : this.views) {
+            v.update(new ScrabbleEvent(this.currentPlayer, this.board, this.gameFinished, isAIThinking()));
+        }
+    }
+
+    /**
+     * Performs the call a journal entry was written for.
+     */
+    private void replayJournalEntry(GameJournal.Entry entry) throws IOException, ClassNotFoundException {
+        switch (entry.type) {
+            case GameJournal.ADD_REMOVE:
+                addToRemoveTilesFromHand(entry.letter, entry.blankTile);
+                break;
+            case GameJournal.CLEAR_REMOVE:
+                clearRemoveTilesFromHand();
+                break;
+            case GameJournal.ADD_EXCHANGE:
+                addToExchangeTilesFromHand(entry.letter);
+                break;
+            case GameJournal.REMOVE_EXCHANGE:
+                removeFromExchangeTilesFromHand(entry.letter);
+                break;
+            case GameJournal.CLEAR_EXCHANGE:
+                clearRemoveFromExchangeTilesFromHand();
+                break;
+            case GameJournal.COMMAND:
+                processCommand(entry.command);
+                break;
+            case GameJournal.NEXT_PLAYER:
+                nextPlayer();
+                break;
+            case GameJournal.RESTORE:
+                changeCurrentGameState(entry.state);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Appends a snapshot of this game to its journal.
+     */
+    private void writeJournalSnapshot() {
+        writeJournal(j -> j.writeSnapshot(GameState.capture(this, null), this.bag, this.firstPlayInTurn,
+                convertCharArrayListToString(this.removeTilesFromHand),
+                convertCharArrayListToString(this.exchangeTilesFromHand)));
+    }
+
+    /**
+     * Appends to the journal, unless the game has none or is replaying it. A journal that cannot be written is closed
+     * and the game goes on unsaved.
+     */
+    private void writeJournal(JournalWrite write) {
+        if (this.journal == null || this.replaying) {
+            return;
+        }
+        try {
+            write.to(this.journal);
+        } catch (IOException e) {
+            GameLogger.warn("Could not write the save journal, saving stopped: {}", e.getMessage());
+            closeJournal();
+        }
+    }
+
+    /**
+     * Closes the journal of this game, if it has one.
+     */
+    private void closeJournal() {
+        if (this.journal == null) {
+            return;
+        }
+        try {
+            this.journal.close();
+        } catch (IOException e) {
+            GameLogger.warn("Could not close the save journal: {}", e.getMessage());
         }
+        this.journal = null;
+        this.journalFile = null;
+    }
+
+    /**
+     * A write to the journal.
+     */
+    @FunctionalInterface
+    private interface JournalWrite {
+        void to(GameJournal journal) throws IOException;
+    }
 
-        changeCurrentGameState(gameToBeLoaded);
+    /**
+     * Converts a String to an array list of its characters
+     */
+    private static ArrayList<Character> toCharArrayList(String s)
+    {
+        ArrayList<Character> ar = new ArrayList<>();
+        for (char c : s.toCharArray()) {
+            ar.add(c);
+        }
+        return ar;
     }
 
     /**
@@ -538,37 +885,25 @@ public class Game implements Serializable{
      * @throws ClassNotFoundException
      */
     public boolean undoGame() throws IOException, ClassNotFoundException {
-        ArrayList<GameState> stateHistory = new ArrayList<>();
-        FileInputStream inputStream;
-        ObjectInputStream ois;
-        if (this.initialReadUndo == false) {
-            try {
-                inputStream = new FileInputStream(GameState.FILENAME_UNDO);
-                ois = new ObjectInputStream(inputStream);
-                try {
-                    stateHistory = (ArrayList<GameState>) ois.readObject();
-                } catch (ClassNotFoundException c)
-                {
-                    System.out.print("c");
-                }
-            } catch (IOException e)
-            {
-                System.out.println(e.getMessage());
-            }
-
-            GameState gameState = new GameState(stateHistory.remove(stateHistory.size() - 1).getGame(), false);
+        if (isAIThinking()) {
+            // the AI's turn is not in the history yet, so undo goes back to the start of the turn that led to it
+            cancelAITurn();
+            changeCurrentGameState(this.history.current());
+            return true;
+        }
+        if (this.initialReadUndo == false && this.history.canUndo()) {
+            GameState gameState = this.history.undo();
             this.initialReadRedo = false;
-            popUndoStateStack(stateHistory);
 
-            if (stateHistory.size() == 1)
+            if (!this.history.canUndo())
             {
                 this.initialReadUndo = true;
             }
 
-            changeCurrentGameState(stateHistory.get(stateHistory.size() - 1).getGame());
+            changeCurrentGameState(gameState);
 
             if (this.currentPlayer.isAI()) {
-                performAIPlay();
+                playAI();
             }
 
             return true;
@@ -587,30 +922,16 @@ public class Game implements Serializable{
      * @throws ClassNotFoundException
      */
     public boolean redoGame() throws IOException, ClassNotFoundException {
-        ArrayList<GameState> stateHistory = new ArrayList<>();
-        FileInputStream inputStream;
-        ObjectInputStream ois;
-        if (this.initialReadRedo == false) {
-            try {
-                inputStream = new FileInputStream(GameState.FILENAME_REDO);
-                ois = new ObjectInputStream(inputStream);
-                try {
-                    stateHistory = (ArrayList<GameState>) ois.readObject();
-                } catch (ClassNotFoundException c)
-                {
-                    System.out.print("c");
-                }
-            } catch (IOException e)
-            {
-                System.out.println(e.getMessage());
-            }
-
-            changeCurrentGameState(stateHistory.get(stateHistory.size() - 1).getGame());
-            GameState gameState = new GameState(stateHistory.remove(stateHistory.size() - 1).getGame(), true);
-            popRedoStateStack(stateHistory);
+        // nothing played before the AI's turn has been undone
+        if (isAIThinking()) {
+            return false;
+        }
+        if (this.initialReadRedo == false && this.history.canRedo()) {
+            GameState gameState = this.history.redo();
+            changeCurrentGameState(gameState);
             this.initialReadUndo = false;
 
-            if (stateHistory.size() == 0)
+            if (!this.history.canRedo())
             {
                 this.initialReadRedo = true;
             }
@@ -624,74 +945,40 @@ public class Game implements Serializable{
     }
 
     /**
-     * Sets the games attributes to the game instance and updates all views.
+     * Restores the board, bag and players of a Models.GameState snapshot and updates all views.
      *
-     * @param game Instance of a game
+     * @param gameState snapshot of this game
      */
-    private void changeCurrentGameState(Game game)
+    private void changeCurrentGameState(GameState gameState)
     {
-        this.setBag(game.getBag());
-        this.setCurrentPlayer(game.getCurrentPlayer());
-        this.setBoard(game.getBoard());
-        this.setPlayerList(game.getPlayerList());
-        this.setGameFinished(game.isGameFinished());
+        writeJournal(j -> j.writeRestore(gameState));
+        this.bag.replaceTiles(gameState.toBagTiles());
+        this.setBoard(gameState.toBoard());
+        ArrayList<Player> players = gameState.toPlayers(this);
+        keepAISettings(players);
+        this.setPlayerList(players);
+        int current = gameState.getCurrentPlayerIndex();
+        this.setCurrentPlayer((current < 0) ? null : this.playerList.get(current));
+        this.setGameFinished(gameState.isGameFinished());
 
         for(ScrabbleView v : this.views) {
-            v.update(new ScrabbleEvent(this.currentPlayer, this.board, this.gameFinished));
-        }
-    }
-
-    /**
-     * Removes the most recent Models.GameState in the UndoState history and then updates its corresponding file.
-     *
-     * @param gameStates A list of game states
-     */
-    private void popUndoStateStack(ArrayList<GameState> gameStates)
-    {
-        FileOutputStream outputStream = null;
-        try {
-            PrintWriter writer = new PrintWriter(GameState.FILENAME_UNDO);
-            writer.print("");
-        } catch (FileNotFoundException f)
-        {
-            System.out.print("f");
-        }
-        ObjectOutputStream oos = null;
-        try {
-            outputStream = new FileOutputStream(GameState.FILENAME_UNDO);
-            oos = new ObjectOutputStream(outputStream);
-            oos.writeObject(gameStates);
-        }
-        catch (IOException e)
-        {
-            System.out.print("e2");
+            v.update(new ScrabbleEvent(this.currentPlayer, this.board, this.gameFinished, isAIThinking()));
         }
     }
 
     /**
-     * Removes the most recent Models.GameState in the RedoState history and then updates its corresponding file.
+     * Carries the settings of the current AI players over to the restored players that replace them, since a
+     * Models.GameState only keeps what is played, not how the AIs were set up.
      *
-     * @param gameStates A list of game states
+     * @param players the restored players, in player number order
      */
-    private void popRedoStateStack(ArrayList<GameState> gameStates)
+    private void keepAISettings(ArrayList<Player> players)
     {
-        FileOutputStream outputStream = null;
-        try {
-            PrintWriter writer = new PrintWriter(GameState.FILENAME_REDO);
-            writer.print("");
-        } catch (FileNotFoundException f)
-        {
-            System.out.print("f");
-        }
-        ObjectOutputStream oos = null;
-        try {
-            outputStream = new FileOutputStream(GameState.FILENAME_REDO);
-            oos = new ObjectOutputStream(outputStream);
-            oos.writeObject(gameStates);
-        }
-        catch (IOException e)
-        {
-            System.out.print("e2");
+        for (int i = 0; i < players.size() && i < this.playerList.size(); i++) {
+            Player previous = this.playerList.get(i);
+            if (players.get(i) instanceof AIPlayer && previous instanceof AIPlayer) {
+                ((AIPlayer) players.get(i)).keepSettings((AIPlayer) previous);
+            }
         }
     }
 
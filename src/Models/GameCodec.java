@@ -0,0 +1,237 @@
+package Models;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.GameCodec is the binary format of a saved game. It writes a Models.GameState and the position of the bag's
+ * random draws by hand with a DataOutputStream instead of Java serialization, so a save holds only the game (about
+ * 400 bytes) and does not depend on how the model classes are laid out.
+ *
+ * A save starts with a magic number and a format version, followed by sections. Every section is its tag, its length
+ * in bytes and its contents, and the END tag closes the save:
+ *
+ *   BOARD  first play flag, board pattern, then 15 rows of 15 letter bytes, a blank mask and a scored mask
+ *   RACKS  number of players, then for each: number, points, active and AI flags, AI backend and hand
+ *   BAG    the tiles in the bag, one char each
+ *   TURN   index of the current player and the game finished flag
+ *   RNG    seed of the bag's random draws and the number of values taken from it
+ *
+ * Schema evolution: a reader skips the sections it does not know, so new data is added as a new section without
+ * changing the version, and older readers still load the save. The version is only raised when an existing section
+ * changes, and read() keeps decoding every version it has ever written.
+ *
+ * @date 2026.10.17
+ */
+public final class GameCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x53435347; // "SCSG"
+    private static final int MAX_SECTION_BYTES = 1 << 16;
+
+    static final byte END = 0;
+    static final byte BOARD = 1;
+    static final byte RACKS = 2;
+    static final byte BAG = 3;
+    static final byte TURN = 4;
+    static final byte RNG = 5;
+
+    /**
+     * Private constructor, the codec only has static methods.
+     */
+    private GameCodec() {
+    }
+
+    /**
+     * Encodes a game.
+     * @param state the state of the game
+     * @param seed seed of the bag's random draws
+     * @param draws number of random values the bag has taken from the seed
+     * @return byte[] the save
+     */
+    public static byte[] encode(GameState state, long seed, long draws) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try {
+            write(new DataOutputStream(bytes), state, seed, draws);
+        } catch (IOException e) {
+            // a ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a save written by encode().
+     * @param save the save
+     * @return SavedGame the state of the game and the position of its random draws
+     * @throws IOException if the bytes are not a save, or a save of a newer version
+     */
+    public static SavedGame decode(byte[] save) throws IOException {
+        return read(new DataInputStream(new ByteArrayInputStream(save)));
+    }
+
+    /**
+     * Writes a save to the stream.
+     */
+    static void write(DataOutputStream out, GameState state, long seed, long draws) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        ByteArrayOutputStream section = new ByteArrayOutputStream(256);
+        DataOutputStream data = new DataOutputStream(section);
+        data.writeBoolean(state.firstPlay);
+        data.writeByte(state.pattern.ordinal());
+        for (GameState.Row row : state.rows) {
+            row.write(data);
+        }
+        writeSection(out, BOARD, section);
+
+        data.writeByte(state.players.length);
+        for (GameState.PlayerState player : state.players) {
+            player.write(data);
+        }
+        writeSection(out, RACKS, section);
+
+        data.writeUTF(state.bag);
+        writeSection(out, BAG, section);
+
+        data.writeByte(state.currentPlayer);
+        data.writeBoolean(state.gameFinished);
+        writeSection(out, TURN, section);
+
+        data.writeLong(seed);
+        data.writeLong(draws);
+        writeSection(out, RNG, section);
+
+        out.writeByte(END);
+    }
+
+    /**
+     * Reads a save from the stream, up to and including its END tag.
+     */
+    static SavedGame read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a saved game");
+        }
+        int version = in.readUnsignedShort();
+        if (version > VERSION) {
+            throw new IOException("Saved game version " + version + " is newer than this game (" + VERSION + ")");
+        }
+
+        GameState.Row[] rows = null;
+        boolean firstPlay = true;
+        Board.Pattern pattern = Board.Pattern.STANDARD;
+        GameState.PlayerState[] players = null;
+        String bag = null;
+        int currentPlayer = -1;
+        boolean gameFinished = false;
+        long seed = 0;
+        long draws = 0;
+
+        for (byte tag = in.readByte(); tag != END; tag = in.readByte()) {
+            int length = in.readInt();
+            if (length < 0 || length > MAX_SECTION_BYTES) {
+                throw new IOException("Bad length " + length + " of save section " + tag);
+            }
+            byte[] contents = new byte[length];
+            in.readFully(contents);
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(contents));
+            switch (tag) {
+                case BOARD:
+                    firstPlay = data.readBoolean();
+                    int patternIndex = data.readUnsignedByte();
+                    if (patternIndex >= Board.Pattern.values().length) {
+                        throw new IOException("Unknown board pattern " + patternIndex);
+                    }
+                    pattern = Board.Pattern.values()[patternIndex];
+                    rows = new GameState.Row[Board.BOARD_SIZE];
+                    for (int i = 0; i < rows.length; i++) {
+                        rows[i] = GameState.Row.read(data);
+                    }
+                    break;
+                case RACKS:
+                    players = new GameState.PlayerState[data.readUnsignedByte()];
+                    for (int i = 0; i < players.length; i++) {
+                        players[i] = GameState.PlayerState.read(data);
+                    }
+                    break;
+                case BAG:
+                    bag = data.readUTF();
+                    break;
+                case TURN:
+                    currentPlayer = data.readByte();
+                    gameFinished = data.readBoolean();
+                    break;
+                case RNG:
+                    seed = data.readLong();
+                    draws = data.readLong();
+                    break;
+                default:
+                    // a section added by a later version
+                    break;
+            }
+        }
+
+        if (rows == null || players == null || bag == null) {
+            throw new IOException("Saved game is missing its board, racks or bag");
+        }
+        if (currentPlayer < -1 || currentPlayer >= players.length) {
+            throw new IOException("Current player " + currentPlayer + " is not one of the " + players.length);
+        }
+        return new SavedGame(new GameState(rows, firstPlay, pattern, bag, players, currentPlayer, gameFinished), seed,
+                draws);
+    }
+
+    /**
+     * Writes the buffered section with its tag and length, and empties the buffer for the next one.
+     */
+    private static void writeSection(DataOutputStream out, byte tag, ByteArrayOutputStream section)
+            throws IOException {
+        out.writeByte(tag);
+        out.writeInt(section.size());
+        section.writeTo(out);
+        section.reset();
+    }
+
+    /**
+     * A decoded save.
+     */
+    public static final class SavedGame {
+        private final GameState state;
+        private final long seed;
+        private final long draws;
+
+        SavedGame(GameState state, long seed, long draws) {
+            this.state = state;
+            this.seed = seed;
+            this.draws = draws;
+        }
+
+        /**
+         * @return the state of the game
+         */
+        public GameState getState() {
+            return state;
+        }
+
+        /**
+         * @return seed of the bag's random draws
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * @return number of random values the bag had taken from the seed at this state
+         */
+        public long getDraws() {
+            return draws;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package Models;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.GameHistory holds the undo and redo history of one Models.Game as two persistent stacks of
+ * Models.GameState snapshots. The stacks are immutable linked nodes, so saving a turn, undoing and redoing each
+ * allocate at most one node and never copy the history. The top of the undo stack is the current state of the game.
+ * Saving a new turn drops the redo stack, like in any editor.
+ *
+ * The history can also be written to an append-only log (see setLog()). Every saved turn is appended as the delta
+ * from the turn before, and undos and redos as one byte, so the log grows by the size of a turn and
+ * replay() can rebuild the same history from it.
+ *
+ * @date 2026.10.17
+ */
+public final class GameHistory {
+
+    private static final byte PUSH = 1;
+    private static final byte UNDO = 2;
+    private static final byte REDO = 3;
+
+    private Node undoStack;
+    private Node redoStack;
+    private DataOutputStream log;
+
+    /**
+     * Writes the history to the given append-only stream from now on, or stops logging if it is null. The history
+     * saved before is not written, so the log should be set before the first turn is saved.
+     * @param out the stream to append to, it is not closed by the history
+     */
+    public void setLog(OutputStream out) {
+        this.log = (out == null) ? null : new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /**
+     * @return the current state, or null if no state has been saved
+     */
+    public GameState current() {
+        return (this.undoStack == null) ? null : this.undoStack.state;
+    }
+
+    /**
+     * Saves a new current state and clears the redo history.
+     * @param state the state to save
+     */
+    public void push(GameState state) {
+        GameState previous = current();
+        this.undoStack = new Node(state, this.undoStack);
+        this.redoStack = null;
+        if (this.log != null) {
+            try {
+                this.log.writeByte(PUSH);
+                state.writeDelta(this.log, previous);
+                this.log.flush();
+            } catch (IOException e) {
+                GameLogger.warn("Could not write the game history log, logging stopped: {}", e.getMessage());
+                this.log = null;
+            }
+        }
+    }
+
+    /**
+     * @return true if there is a state before the current one
+     */
+    public boolean canUndo() {
+        return this.undoStack != null && this.undoStack.next != null;
+    }
+
+    /**
+     * @return true if there is an undone state to go back to
+     */
+    public boolean canRedo() {
+        return this.redoStack != null;
+    }
+
+    /**
+     * Moves the current state to the redo history.
+     * @return GameState the state before it, which is now the current state
+     */
+    public GameState undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        this.redoStack = new Node(this.undoStack.state, this.redoStack);
+        this.undoStack = this.undoStack.next;
+        logMarker(UNDO);
+        return this.undoStack.state;
+    }
+
+    /**
+     * Makes the most recently undone state the current state again.
+     * @return GameState the new current state
+     */
+    public GameState redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        this.undoStack = new Node(this.redoStack.state, this.undoStack);
+        this.redoStack = this.redoStack.next;
+        logMarker(REDO);
+        return this.undoStack.state;
+    }
+
+    /**
+     * @return the number of saved states up to and including the current one
+     */
+    public int getUndoDepth() {
+        return (this.undoStack == null) ? 0 : this.undoStack.depth;
+    }
+
+    /**
+     * @return the number of states that can be redone
+     */
+    public int getRedoDepth() {
+        return (this.redoStack == null) ? 0 : this.redoStack.depth;
+    }
+
+    /**
+     * Rebuilds a history from a log written through setLog().
+     * @param in the log, read to its end
+     * @return GameHistory holding the same states as the one that wrote the log
+     * @throws IOException if the log cannot be read or is not a history log, such as one that undoes more states
+     * than it saved
+     */
+    public static GameHistory replay(InputStream in) throws IOException {
+        GameHistory history = new GameHistory();
+        DataInputStream data = new DataInputStream(in);
+        while (true) {
+            int record;
+            try {
+                record = data.readByte();
+            } catch (EOFException e) {
+                return history;
+            }
+            if (record == PUSH) {
+                history.push(GameState.readDelta(data, history.current()));
+            } else if (record == UNDO) {
+                if (!history.canUndo()) {
+                    throw new IOException("Undo record with nothing to undo");
+                }
+                history.undo();
+            } else if (record == REDO) {
+                if (!history.canRedo()) {
+                    throw new IOException("Redo record with nothing to redo");
+                }
+                history.redo();
+            } else {
+                throw new IOException("Unknown history record " + record);
+            }
+        }
+    }
+
+    /**
+     * Appends an undo or redo record to the log, if there is one.
+     */
+    private void logMarker(byte record) {
+        if (this.log == null) {
+            return;
+        }
+        try {
+            this.log.writeByte(record);
+            this.log.flush();
+        } catch (IOException e) {
+            GameLogger.warn("Could not write the game history log, logging stopped: {}", e.getMessage());
+            this.log = null;
+        }
+    }
+
+    /**
+     * Immutable stack node. Nodes are shared between the undo and redo stacks of successive histories.
+     */
+    private static final class Node {
+        private final GameState state;
+        private final Node next;
+        private final int depth;
+
+        Node(GameState state, Node next) {
+            this.state = state;
+            this.next = next;
+            this.depth = (next == null) ? 1 : next.depth + 1;
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package Models;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.GameJournal is the save file of a Models.Game. It is append-only: every call that changes the game (the
+ * tiles a player selects, each Models.Command and every change of turn) is appended as a small record when it
+ * happens, and a compact snapshot of the whole game is appended every few turns. Loading reads the last snapshot and
+ * replays the records after it, so a save costs a few bytes per action instead of the whole object graph.
+ *
+ * Every record carries its length and a CRC32 and is written to the file before the game goes on, so it survives the
+ * program stopping. The file is only forced to disk at the end of each turn and with every snapshot, since a sync per
+ * selected tile would stall the thread of the views; a power failure loses at most the turn being played. A record
+ * that was only partly written fails its check on load and is dropped together with anything after it.
+ *
+ * Snapshots are written with Models.GameCodec. Replaying gives the same game because every snapshot stores the seed of
+ * the bag's random draws and how many values were taken from it, and the draws carry on from there.
+ *
+ * @date 2026.10.17
+ */
+public final class GameJournal implements Closeable {
+
+    public static final String FILENAME = "src/SaveStates/save.journal";
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10;
+
+    private static final int MAGIC = 0x53434a4e; // "SCJN"
+    private static final short VERSION = 2;
+    private static final int HEADER_BYTES = 6;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    static final byte SNAPSHOT = 1;
+    static final byte ADD_REMOVE = 2;
+    static final byte CLEAR_REMOVE = 3;
+    static final byte ADD_EXCHANGE = 4;
+    static final byte REMOVE_EXCHANGE = 5;
+    static final byte CLEAR_EXCHANGE = 6;
+    static final byte COMMAND = 7;
+    static final byte NEXT_PLAYER = 8;
+    static final byte RESTORE = 9;
+
+    private final RandomAccessFile file;
+    private final int snapshotInterval;
+    private int turnsSinceSnapshot;
+
+    /**
+     * Private constructor, journals are opened through create() or reopen().
+     */
+    private GameJournal(RandomAccessFile file, int snapshotInterval) {
+        this.file = file;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Creates a new, empty journal, replacing the file if it exists.
+     * @param path the journal file
+     * @param snapshotInterval number of turns between snapshots
+     * @return GameJournal open for appending
+     * @throws IOException if the file cannot be written
+     */
+    public static GameJournal create(File path, int snapshotInterval) throws IOException {
+        if (path.getParentFile() != null) {
+            Files.createDirectories(path.getParentFile().toPath());
+        }
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        file.setLength(0);
+        file.writeInt(MAGIC);
+        file.writeShort(VERSION);
+        file.getFD().sync();
+        return new GameJournal(file, snapshotInterval);
+    }
+
+    /**
+     * Opens an existing journal to append to it, after dropping the damaged tail found by read().
+     * @param path the journal file
+     * @param recovery what read() found in the file
+     * @param snapshotInterval number of turns between snapshots
+     * @return GameJournal open for appending
+     * @throws IOException if the file cannot be written
+     */
+    public static GameJournal reopen(File path, Recovery recovery, int snapshotInterval) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        file.setLength(recovery.validLength);
+        file.seek(recovery.validLength);
+        GameJournal journal = new GameJournal(file, snapshotInterval);
+        journal.turnsSinceSnapshot = recovery.turnsSinceSnapshot;
+        return journal;
+    }
+
+    /**
+     * Appends a snapshot of the game. The position of the bag's random draws is stored with it, so the draws that
+     * follow can be replayed. The bag itself is left as it is.
+     * @param state the state of the game
+     * @param bag the bag of the game
+     * @param firstPlayInTurn the game's first play in turn flag
+     * @param removeTiles letters selected for the next play
+     * @param exchangeTiles letters selected for the next exchange
+     */
+    void writeSnapshot(GameState state, Bag bag, boolean firstPlayInTurn, String removeTiles, String exchangeTiles)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(SNAPSHOT);
+        GameCodec.write(out, state, bag.getSeed(), bag.getDraws());
+        out.writeBoolean(firstPlayInTurn);
+        out.writeUTF(removeTiles);
+        out.writeUTF(exchangeTiles);
+        append(bytes.toByteArray(), true);
+        this.turnsSinceSnapshot = 0;
+    }
+
+    /**
+     * @return true if enough turns were played since the last snapshot that the next one is due
+     */
+    boolean isSnapshotDue() {
+        return this.turnsSinceSnapshot >= this.snapshotInterval;
+    }
+
+    /**
+     * Appends a record for selecting a tile to play (see Models.Game.addToRemoveTilesFromHand()).
+     */
+    void writeAddRemove(char letter, boolean blankTile) throws IOException {
+        append(new byte[]{ADD_REMOVE, (byte) letter, (byte) (blankTile ? 1 : 0)}, false);
+    }
+
+    /**
+     * Appends a record for selecting or unselecting a tile to exchange.
+     * @param type ADD_EXCHANGE or REMOVE_EXCHANGE
+     */
+    void writeExchange(byte type, char letter) throws IOException {
+        append(new byte[]{type, (byte) letter}, false);
+    }
+
+    /**
+     * Appends a record that has no arguments: CLEAR_REMOVE, CLEAR_EXCHANGE or NEXT_PLAYER. NEXT_PLAYER ends a turn
+     * and forces the journal to disk.
+     */
+    void writeMarker(byte type) throws IOException {
+        append(new byte[]{type}, type == NEXT_PLAYER);
+        if (type == NEXT_PLAYER) {
+            this.turnsSinceSnapshot++;
+        }
+    }
+
+    /**
+     * Appends a Models.Command.
+     */
+    void writeCommand(Command command) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(COMMAND);
+        writeNullable(out, command.getAction());
+        writeNullable(out, command.getWordAttempt());
+        writeNullable(out, command.getPlacementAttempt());
+        append(bytes.toByteArray(), false);
+    }
+
+    /**
+     * Appends the state an undo or redo went back to.
+     */
+    void writeRestore(GameState state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RESTORE);
+        state.writeDelta(out, null);
+        append(bytes.toByteArray(), false);
+    }
+
+    /**
+     * Writes one framed record: its length, the record and its CRC32.
+     * @param sync true to force the journal to disk once the record is written
+     */
+    private void append(byte[] record, boolean sync) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(record.length + 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(record.length);
+        out.write(record);
+        out.writeInt((int) crc.getValue());
+        this.file.write(bytes.toByteArray());
+        if (sync) {
+            this.file.getFD().sync();
+        }
+    }
+
+    /**
+     * Forces what was written since the last turn to disk and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        this.file.getFD().sync();
+        this.file.close();
+    }
+
+    /**
+     * Reads a journal up to its last complete record.
+     * @param path the journal file
+     * @return Recovery with the last snapshot and the entries written after it
+     * @throws IOException if the file cannot be read, is not a journal or holds no snapshot
+     */
+    public static Recovery read(File path) throws IOException {
+        byte[] data = Files.readAllBytes(path.toPath());
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(data));
+        if (data.length < HEADER_BYTES || header.readInt() != MAGIC) {
+            throw new IOException(path + " is not a game journal");
+        }
+        short version = header.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported game journal version " + version);
+        }
+
+        Entry snapshot = null;
+        List<Entry> tail = new ArrayList<>();
+        int turns = 0;
+        int position = HEADER_BYTES;
+        while (position + 4 <= data.length) {
+            int length = ((data[position] & 0xff) << 24) | ((data[position + 1] & 0xff) << 16)
+                    | ((data[position + 2] & 0xff) << 8) | (data[position + 3] & 0xff);
+            if (length <= 0 || length > MAX_RECORD_BYTES || position + 8 + length > data.length) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data, position + 4, length);
+            int end = position + 4 + length;
+            int stored = ((data[end] & 0xff) << 24) | ((data[end + 1] & 0xff) << 16)
+                    | ((data[end + 2] & 0xff) << 8) | (data[end + 3] & 0xff);
+            if (stored != (int) crc.getValue()) {
+                break;
+            }
+            Entry entry = Entry.read(new DataInputStream(new ByteArrayInputStream(data, position + 4, length)));
+            if (entry.type == SNAPSHOT) {
+                snapshot = entry;
+                tail.clear();
+                turns = 0;
+            } else if (snapshot != null) {
+                tail.add(entry);
+                if (entry.type == NEXT_PLAYER) {
+                    turns++;
+                }
+            }
+            position = end + 4;
+        }
+        if (snapshot == null) {
+            throw new IOException(path + " holds no complete snapshot");
+        }
+        if (position != data.length) {
+            GameLogger.warn("Dropped {} bytes of an incomplete record at the end of {}", data.length - position, path);
+        }
+        return new Recovery(snapshot, tail, position, turns);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * What read() found in a journal: the last snapshot and the entries to replay after it.
+     */
+    public static final class Recovery {
+        private final Entry snapshot;
+        private final List<Entry> tail;
+        private final long validLength;
+        private final int turnsSinceSnapshot;
+
+        Recovery(Entry snapshot, List<Entry> tail, long validLength, int turnsSinceSnapshot) {
+            this.snapshot = snapshot;
+            this.tail = tail;
+            this.validLength = validLength;
+            this.turnsSinceSnapshot = turnsSinceSnapshot;
+        }
+
+        /**
+         * @return the last complete snapshot
+         */
+        Entry getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * @return the entries written after the snapshot, in order
+         */
+        List<Entry> getTail() {
+            return tail;
+        }
+
+        /**
+         * @return the number of turns played after the snapshot
+         */
+        public int getTurnsSinceSnapshot() {
+            return turnsSinceSnapshot;
+        }
+    }
+
+    /**
+     * One decoded record. Only the fields of its type are set.
+     */
+    static final class Entry {
+        final byte type;
+        char letter;
+        boolean blankTile;
+        Command command;
+        GameState state;
+        long seed;
+        long draws;
+        boolean firstPlayInTurn;
+        String removeTiles;
+        String exchangeTiles;
+
+        private Entry(byte type) {
+            this.type = type;
+        }
+
+        static Entry read(DataInputStream in) throws IOException {
+            Entry entry = new Entry(in.readByte());
+            switch (entry.type) {
+                case SNAPSHOT:
+                    GameCodec.SavedGame saved = GameCodec.read(in);
+                    entry.state = saved.getState();
+                    entry.seed = saved.getSeed();
+                    entry.draws = saved.getDraws();
+                    entry.firstPlayInTurn = in.readBoolean();
+                    entry.removeTiles = in.readUTF();
+                    entry.exchangeTiles = in.readUTF();
+                    break;
+                case ADD_REMOVE:
+                    entry.letter = (char) (in.readByte() & 0xff);
+                    entry.blankTile = in.readBoolean();
+                    break;
+                case ADD_EXCHANGE:
+                case REMOVE_EXCHANGE:
+                    entry.letter = (char) (in.readByte() & 0xff);
+                    break;
+                case COMMAND:
+                    entry.command = new Command(readNullable(in), readNullable(in), readNullable(in));
+                    break;
+                case RESTORE:
+                    entry.state = GameState.readDelta(in, null);
+                    break;
+                case CLEAR_REMOVE:
+                case CLEAR_EXCHANGE:
+                case NEXT_PLAYER:
+                    break;
+                default:
+                    throw new IOException("Unknown journal record " + entry.type);
+            }
+            return entry;
+        }
+    }
+}
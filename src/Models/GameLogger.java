@@ -0,0 +1,221 @@
+package Models;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.GameLogger is the single place the model writes diagnostic output to. Messages have a level and are dropped
+ * before any formatting happens when that level is disabled. Messages take "{}" placeholders that are only filled in
+ * when the message is actually written, and the overloads with up to three arguments avoid the varargs array, so
+ * a disabled debug call in a loop costs a field read and a compare.
+ *
+ * The level defaults to the scrabble.log.level system property (INFO if it is not set or not a level) and can be
+ * changed at any time with setLevel(). Output goes to a Sink, System.out by default. Headless runs use
+ * setLevel(Level.OFF).
+ *
+ * @date 2026.10.17
+ */
+public final class GameLogger {
+
+    /**
+     * Message levels, from the most to the least verbose. OFF disables all output.
+     */
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    /**
+     * Destination of the messages that pass the level check.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * @param level the level of the message
+         * @param message the fully formatted message
+         */
+        void write(Level level, String message);
+    }
+
+    /**
+     * Writes every message on its own line to System.out, like the model always did.
+     */
+    public static final Sink CONSOLE = (level, message) -> System.out.println(message);
+
+    private static volatile Sink sink = CONSOLE;
+    private static volatile Level level = Level.INFO;
+
+    static {
+        // read once the sink and level are set, so that a bad value can be warned about
+        level = enumProperty("scrabble.log.level", Level.INFO);
+    }
+
+    /**
+     * Private constructor, all methods are static.
+     */
+    private GameLogger() {
+    }
+
+    /**
+     * @return the least severe level that is written
+     */
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the least severe level that is written, OFF to write nothing.
+     * @param newLevel the level
+     */
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    /**
+     * Sends the messages to the given sink instead of the console.
+     * @param newSink the sink, CONSOLE to go back to System.out
+     */
+    public static void setSink(Sink newSink) {
+        sink = newSink;
+    }
+
+    /**
+     * @param messageLevel the level to check
+     * @return true if messages of that level are written
+     */
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel != Level.OFF && messageLevel.compareTo(level) >= 0;
+    }
+
+    /**
+     * @return true if debug messages are written, to guard building expensive arguments
+     */
+    public static boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    /**
+     * Writes a trace message, used for the model's internal steps. The overloads taking arguments fill in the "{}" placeholders of the message.
+     * @param message the message
+     */
+    public static void debug(String message) {
+        if (isEnabled(Level.DEBUG)) {
+            sink.write(Level.DEBUG, message);
+        }
+    }
+
+    public static void debug(String format, Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            sink.write(Level.DEBUG, format(format, arg));
+        }
+    }
+
+    public static void debug(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            sink.write(Level.DEBUG, format(format, arg1, arg2));
+        }
+    }
+
+    public static void debug(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.DEBUG)) {
+            sink.write(Level.DEBUG, format(format, arg1, arg2, arg3));
+        }
+    }
+
+    /**
+     * Writes a message about the game the player should see. The overloads taking arguments fill in the "{}" placeholders of the message.
+     * @param message the message
+     */
+    public static void info(String message) {
+        if (isEnabled(Level.INFO)) {
+            sink.write(Level.INFO, message);
+        }
+    }
+
+    public static void info(String format, Object arg) {
+        if (isEnabled(Level.INFO)) {
+            sink.write(Level.INFO, format(format, arg));
+        }
+    }
+
+    public static void info(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            sink.write(Level.INFO, format(format, arg1, arg2));
+        }
+    }
+
+    /**
+     * Writes a message about something that went wrong but was recovered from. The overloads taking arguments fill in the "{}" placeholders of the message.
+     * @param message the message
+     */
+    public static void warn(String message) {
+        if (isEnabled(Level.WARN)) {
+            sink.write(Level.WARN, message);
+        }
+    }
+
+    public static void warn(String format, Object arg) {
+        if (isEnabled(Level.WARN)) {
+            sink.write(Level.WARN, format(format, arg));
+        }
+    }
+
+    public static void warn(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) {
+            sink.write(Level.WARN, format(format, arg1, arg2));
+        }
+    }
+
+    public static void warn(String format, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.WARN)) {
+            sink.write(Level.WARN, format(format, arg1, arg2, arg3));
+        }
+    }
+
+    /**
+     * Writes an error message followed by its cause.
+     * @param message the message
+     * @param cause the exception that was caught
+     */
+    public static void error(String message, Throwable cause) {
+        if (isEnabled(Level.ERROR)) {
+            sink.write(Level.ERROR, message + ": " + cause);
+        }
+    }
+
+    /**
+     * Replaces each "{}" in the format with the next argument, in order. Extra placeholders are left as they are.
+     * @param format the message with placeholders
+     * @param args the values to fill in
+     * @return String the formatted message
+     */
+    static String format(String format, Object... args) {
+        StringBuilder sb = new StringBuilder(format.length() + 16 * args.length);
+        int start = 0;
+        for (Object arg : args) {
+            int at = format.indexOf("{}", start);
+            if (at < 0) {
+                break;
+            }
+            sb.append(format, start, at).append(arg);
+            start = at + 2;
+        }
+        return sb.append(format, start, format.length()).toString();
+    }
+
+    /**
+     * Reads a system property naming a constant of an enum, ignoring case. A value that names none of the constants
+     * is warned about and the default is used instead, so a typo on the command line does not stop the game.
+     * @param name the name of the system property
+     * @param defaultValue the constant used if the property is not set or not valid
+     * @return the constant named by the property, or defaultValue
+     */
+    static <E extends Enum<E>> E enumProperty(String name, E defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            warn("Unknown value \"{}\" for {}, using {}", value, name, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -1,151 +1,387 @@
 package Models;
 
-import java.io.*;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This class is part of the "Scrabble" application.
  *
- * Holds information of command that has been issued by the user. Holds them separately and handles if certain
- * commands are null. Also parses the direction of the placement attempt. Models.Command is used in Models.Parser where
- * the user input is individually passed into this class through the constructor to initialize the command.
+ * Models.GameState is an immutable snapshot of a Models.Game between turns, kept in the game's Models.GameHistory
+ * for undo and redo. It holds only what a turn can change: the letters of the board row by row, the tiles in the bag
+ * and the points and hand of every player. A snapshot is captured from the previous one and shares every row and
+ * player that did not change, so a turn costs the rows it touched, one player and the bag, however long the game
+ * gets.
+ *
+ * Tiles are stored as one char each: the letter, '_' for an unassigned blank and the lower case letter for a blank
+ * that was given a letter.
  *
  * @author  Mohamed Kaddour
  * @date 2022.12.09
  */
+public final class GameState {
 
-public class GameState implements Serializable{
+    private static final int NO_BACKEND = -1;
 
-    private Game game;
-    private ArrayList<GameState> undoStateHistory;
-    private ArrayList<GameState> redoStateHistory;
+    final Row[] rows;
+    final boolean firstPlay;
+    final Board.Pattern pattern;
+    final String bag;
+    final PlayerState[] players;
+    final int currentPlayer;
+    final boolean gameFinished;
 
-    public final static String FILENAME_UNDO = "src/SaveStates/undo.txt";
-    public final static String FILENAME_REDO = "src/SaveStates/redo.txt";
-    public final static String FILENAME_SAVE = "src/SaveStates/save.txt";
+    /**
+     * Package-private constructor, snapshots are created through capture() or read from a history log or a
+     * Models.GameCodec save.
+     */
+    GameState(Row[] rows, boolean firstPlay, Board.Pattern pattern, String bag, PlayerState[] players,
+                      int currentPlayer, boolean gameFinished) {
+        this.rows = rows;
+        this.firstPlay = firstPlay;
+        this.pattern = pattern;
+        this.bag = bag;
+        this.players = players;
+        this.currentPlayer = currentPlayer;
+        this.gameFinished = gameFinished;
+    }
 
     /**
-     * Public constructor for class game.
+     * Takes a snapshot of the game as it is now, sharing the unchanged parts of the previous snapshot.
+     * @param game the game to take a snapshot of
+     * @param previous the last snapshot of the same game, or null
+     * @return GameState the new snapshot
      */
-    public GameState(Game game, boolean undo) {
-        this.game = game;
-        this.undoStateHistory = new ArrayList<>();
-        this.redoStateHistory = new ArrayList<>();
+    public static GameState capture(Game game, GameState previous) {
+        Board board = game.getBoard();
+        Row[] rows = new Row[Board.BOARD_SIZE];
+        byte[] letters = new byte[Board.BOARD_SIZE];
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            board.copyRowLetters(row, letters);
+            Row captured = new Row(letters.clone(), board.getRowBlanks(row), board.getRowScoredOnce(row));
+            Row shared = (previous == null) ? null : previous.rows[row - 1];
+            rows[row - 1] = captured.equals(shared) ? shared : captured;
+        }
 
-        if (undo) {
-            updateCurrentGameHistoryUndo();
+        String bag = encodeTiles(game.getBag().getTiles());
+        if (previous != null && bag.equals(previous.bag)) {
+            bag = previous.bag;
         }
-        else
-        {
-            updateCurrentGameHistoryRedo();
+
+        List<Player> playerList = game.getPlayerList();
+        PlayerState[] players = new PlayerState[playerList.size()];
+        for (int i = 0; i < players.length; i++) {
+            PlayerState captured = new PlayerState(playerList.get(i));
+            PlayerState shared = (previous == null || i >= previous.players.length) ? null : previous.players[i];
+            players[i] = captured.equals(shared) ? shared : captured;
         }
+
+        return new GameState(rows, board.isFirstPlay(), board.getBoardPattern(), bag, players,
+                playerList.indexOf(game.getCurrentPlayer()), game.isGameFinished());
     }
 
     /**
-     * Updates the Undo state history by reading the undo file
+     * Builds a new board holding the tiles of this snapshot.
+     * @return Board the restored board
      */
-    private void updateCurrentGameHistoryUndo(){
-        File newFile = new File(FILENAME_UNDO);
-        FileInputStream inputStream;
-        ObjectInputStream ois;
-        if (newFile.length() != 0) {
-            try {
-                inputStream = new FileInputStream(FILENAME_UNDO);
-                ois = new ObjectInputStream(inputStream);
-                try {
-                    this.undoStateHistory = (ArrayList<GameState>) ois.readObject();
-                } catch (ClassNotFoundException c) {
-                    System.out.print("c");
-                }
-            } catch (IOException e) {
-                System.out.println(e.getMessage());
-            }
+    public Board toBoard() {
+        Board board = new Board();
+        board.updateBoardPattern(this.pattern);
+        board.setFirstPlay(this.firstPlay);
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            Row saved = this.rows[row - 1];
+            board.setRow(row, saved.letters, saved.blanks, saved.scoredOnce);
         }
+        return board;
+    }
 
-        this.undoStateHistory.add(this);
-        saveCurrentGameStateUndo();
+    /**
+     * @return new tiles for the contents of the bag
+     */
+    public List<Tile> toBagTiles() {
+        return decodeTiles(this.bag);
     }
 
     /**
-     * Saves the current game state to the undo file
+     * Builds new players with the points and hands of this snapshot. AI players are attached to the given game.
+     * @param game the game the players belong to
+     * @return ArrayList of the restored players, in player number order
      */
-    private void saveCurrentGameStateUndo() {
-        FileOutputStream outputStream = null;
-        try {
-            PrintWriter writer = new PrintWriter(FILENAME_UNDO);
-            writer.print("");
-        } catch (FileNotFoundException f)
-        {
-            System.out.print("f");
-        }
-        ObjectOutputStream oos = null;
-        try {
-            outputStream = new FileOutputStream(FILENAME_UNDO);
-            oos = new ObjectOutputStream(outputStream);
-            oos.writeObject(this.undoStateHistory);
-        }
-        catch (IOException e)
-        {
-            System.out.print("e2");
+    public ArrayList<Player> toPlayers(Game game) {
+        ArrayList<Player> playerList = new ArrayList<>();
+        for (PlayerState saved : this.players) {
+            playerList.add(saved.toPlayer(game));
         }
+        return playerList;
+    }
+
+    /**
+     * @return index in the player list of the player whose turn it is, -1 if there were no players yet
+     */
+    public int getCurrentPlayerIndex() {
+        return this.currentPlayer;
     }
 
     /**
-     * Updates the Redo state history by reading the redo file
+     * @return true if the game was finished
      */
-    private void updateCurrentGameHistoryRedo()
-    {
-        File newFile = new File(FILENAME_REDO);
-        FileInputStream inputStream;
-        ObjectInputStream ois;
-        if (newFile.length() != 0) {
-            try {
-                inputStream = new FileInputStream(FILENAME_REDO);
-                ois = new ObjectInputStream(inputStream);
-                try {
-                    this.redoStateHistory = (ArrayList<GameState>) ois.readObject();
-                } catch (ClassNotFoundException c) {
-                    System.out.print("c");
-                }
-            } catch (IOException e) {
-                System.out.println(e.getMessage());
+    public boolean isGameFinished() {
+        return this.gameFinished;
+    }
+
+    /**
+     * Returns the number of board rows this snapshot shares with the other one instead of holding its own copy.
+     * @param other another snapshot
+     * @return int number of shared rows
+     */
+    public int countSharedRows(GameState other) {
+        int shared = 0;
+        for (int i = 0; i < this.rows.length; i++) {
+            if (this.rows[i] == other.rows[i]) {
+                shared++;
             }
         }
+        return shared;
+    }
 
-        this.redoStateHistory.add(this);
-        saveCurrentGameStateRedo();
+    /**
+     * Writes what changed from the previous snapshot: the changed rows, the bag if it changed, the changed players
+     * and the turn.
+     * @param out the stream to write to
+     * @param previous the snapshot this one was captured after, or null to write everything
+     */
+    void writeDelta(DataOutputStream out, GameState previous) throws IOException {
+        int changedRows = 0;
+        for (int i = 0; i < this.rows.length; i++) {
+            if (previous == null || previous.rows[i] != this.rows[i]) {
+                changedRows |= 1 << i;
+            }
+        }
+        out.writeShort(changedRows);
+        for (int i = 0; i < this.rows.length; i++) {
+            if ((changedRows & (1 << i)) != 0) {
+                this.rows[i].write(out);
+            }
+        }
+        out.writeBoolean(this.firstPlay);
+        out.writeByte(this.pattern.ordinal());
+        boolean bagChanged = previous == null || !previous.bag.equals(this.bag);
+        out.writeBoolean(bagChanged);
+        if (bagChanged) {
+            out.writeUTF(this.bag);
+        }
+        out.writeByte(this.players.length);
+        for (int i = 0; i < this.players.length; i++) {
+            boolean changed = previous == null || i >= previous.players.length || previous.players[i] != this.players[i];
+            out.writeBoolean(changed);
+            if (changed) {
+                this.players[i].write(out);
+            }
+        }
+        out.writeByte(this.currentPlayer);
+        out.writeBoolean(this.gameFinished);
     }
 
     /**
-     * Saves the current game state to the redo file
+     * Reads a snapshot written by writeDelta(), sharing the unchanged parts of the previous snapshot.
+     * @param in the stream to read from
+     * @param previous the snapshot the delta was written against, or null
+     * @return GameState the snapshot
+     * @throws IOException if the stream cannot be read, or the delta leaves out a part there is no previous snapshot
+     * to take from
      */
-    private void saveCurrentGameStateRedo() {
-        FileOutputStream outputStream;
-        try {
-            PrintWriter writer = new PrintWriter(FILENAME_REDO);
-            writer.print("");
-        } catch (FileNotFoundException f)
-        {
-            System.out.print("f");
-        }
-        ObjectOutputStream oos;
-        try {
-            outputStream = new FileOutputStream(FILENAME_REDO);
-            oos = new ObjectOutputStream(outputStream);
-            oos.writeObject(this.redoStateHistory);
-        }
-        catch (IOException e)
-        {
-            System.out.print("e2");
+    static GameState readDelta(DataInputStream in, GameState previous) throws IOException {
+        int changedRows = in.readUnsignedShort();
+        Row[] rows = new Row[Board.BOARD_SIZE];
+        for (int i = 0; i < rows.length; i++) {
+            if ((changedRows & (1 << i)) != 0) {
+                rows[i] = Row.read(in);
+            } else if (previous != null) {
+                rows[i] = previous.rows[i];
+            } else {
+                throw new IOException("Delta without a previous state leaves out row " + (i + 1));
+            }
         }
+        boolean firstPlay = in.readBoolean();
+        int patternIndex = in.readUnsignedByte();
+        if (patternIndex >= Board.Pattern.values().length) {
+            throw new IOException("Unknown board pattern " + patternIndex);
+        }
+        Board.Pattern pattern = Board.Pattern.values()[patternIndex];
+        boolean bagChanged = in.readBoolean();
+        if (!bagChanged && previous == null) {
+            throw new IOException("Delta without a previous state leaves out the bag");
+        }
+        String bag = bagChanged ? in.readUTF() : previous.bag;
+        PlayerState[] players = new PlayerState[in.readUnsignedByte()];
+        for (int i = 0; i < players.length; i++) {
+            if (in.readBoolean()) {
+                players[i] = PlayerState.read(in);
+            } else if (previous != null && i < previous.players.length) {
+                players[i] = previous.players[i];
+            } else {
+                throw new IOException("Delta leaves out player " + (i + 1) + ", who has no previous state");
+            }
+        }
+        int currentPlayer = in.readByte();
+        if (currentPlayer < -1 || currentPlayer >= players.length) {
+            throw new IOException("Current player " + currentPlayer + " is not one of the " + players.length);
+        }
+        boolean gameFinished = in.readBoolean();
+        return new GameState(rows, firstPlay, pattern, bag, players, currentPlayer, gameFinished);
     }
 
     /**
-     * Getter for game
+     * Encodes tiles as one char each.
      */
-    public Game getGame()
-    {
-        return this.game;
+    private static String encodeTiles(List<Tile> tiles) {
+        StringBuilder sb = new StringBuilder(tiles.size());
+        for (Tile tile : tiles) {
+            char letter = tile.getLetter().charAt(0);
+            boolean assignedBlank = letter != '_' && tile.getValue() != null && tile.getValue() == 0;
+            sb.append(assignedBlank ? Character.toLowerCase(letter) : letter);
+        }
+        return sb.toString();
     }
 
+    /**
+     * Creates new tiles from chars written by encodeTiles().
+     */
+    private static ArrayList<Tile> decodeTiles(String codes) {
+        ArrayList<Tile> tiles = new ArrayList<>(codes.length());
+        for (int i = 0; i < codes.length(); i++) {
+            char code = codes.charAt(i);
+            if (code == '_') {
+                tiles.add(new Tile("_", 0));
+            } else if (Character.isLowerCase(code)) {
+                tiles.add(new Tile(String.valueOf(Character.toUpperCase(code)), 0));
+            } else {
+                String letter = String.valueOf(code);
+                tiles.add(new Tile(letter, TileSet.getDefault().value(code)));
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * The letters of one board row with its blank and scored masks.
+     */
+    static final class Row {
+        private final byte[] letters;
+        private final int blanks;
+        private final int scoredOnce;
+
+        Row(byte[] letters, int blanks, int scoredOnce) {
+            this.letters = letters;
+            this.blanks = blanks;
+            this.scoredOnce = scoredOnce;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.write(this.letters);
+            out.writeShort(this.blanks);
+            out.writeShort(this.scoredOnce);
+        }
+
+        static Row read(DataInputStream in) throws IOException {
+            byte[] letters = new byte[Board.BOARD_SIZE];
+            in.readFully(letters);
+            return new Row(letters, in.readUnsignedShort(), in.readUnsignedShort());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Row)) {
+                return false;
+            }
+            Row other = (Row) o;
+            return blanks == other.blanks && scoredOnce == other.scoredOnce && Arrays.equals(letters, other.letters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Arrays.hashCode(letters) + blanks) + scoredOnce;
+        }
+    }
+
+    /**
+     * The points, status and hand of one player.
+     */
+    static final class PlayerState {
+        private final int number;
+        private final int points;
+        private final boolean active;
+        private final boolean ai;
+        private final int backend;
+        private final String hand;
+
+        PlayerState(Player player) {
+            this(player.getPlayerNumber(), player.getPoints(), player.isActive(), player.isAI(),
+                    player.isAI() ? ((AIPlayer) player).getBackend().ordinal() : NO_BACKEND,
+                    encodeTiles(player.getHand().getHand()));
+        }
+
+        private PlayerState(int number, int points, boolean active, boolean ai, int backend, String hand) {
+            this.number = number;
+            this.points = points;
+            this.active = active;
+            this.ai = ai;
+            this.backend = backend;
+            this.hand = hand;
+        }
+
+        Player toPlayer(Game game) {
+            Player player;
+            if (this.ai) {
+                AIPlayer aiPlayer = new AIPlayer(this.number, game);
+                aiPlayer.setBackend(MoveGenerator.Backend.values()[this.backend]);
+                player = aiPlayer;
+            } else {
+                player = new Player(this.number);
+            }
+            player.addPoints(this.points);
+            player.setActive(this.active);
+            player.getHand().addTiles(decodeTiles(this.hand), false);
+            return player;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(this.number);
+            out.writeInt(this.points);
+            out.writeBoolean(this.active);
+            out.writeBoolean(this.ai);
+            out.writeByte(this.backend);
+            out.writeUTF(this.hand);
+        }
+
+        static PlayerState read(DataInputStream in) throws IOException {
+            int number = in.readUnsignedByte();
+            int points = in.readInt();
+            boolean active = in.readBoolean();
+            boolean ai = in.readBoolean();
+            int backend = in.readByte();
+            if (ai && (backend < 0 || backend >= MoveGenerator.Backend.values().length)) {
+                throw new IOException("Unknown move generator backend " + backend + " of player " + number);
+            }
+            return new PlayerState(number, points, active, ai, backend, in.readUTF());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PlayerState)) {
+                return false;
+            }
+            PlayerState other = (PlayerState) o;
+            return number == other.number && points == other.points && active == other.active && ai == other.ai
+                    && backend == other.backend && hand.equals(other.hand);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * number + hand.hashCode();
+        }
+    }
 }
@@ -11,6 +11,10 @@ import java.util.Collections;
  * for interacting with this ArrayList by adding and removing Hands respectively. Also performs passive actions on
  * the Models.Hand like shuffling. Models.Hand also keeps track of recently removed and added Tiles
  *
+ * Lookups go through a Models.Rack of letter counts kept next to the tiles, see getRack(). The ArrayList of Tiles is
+ * what the views show; changes made to it directly are picked up the next time the rack is asked for. Blanks are
+ * given their letter through assignBlank(), since a Models.Tile changing its letter is not a change to the list.
+ *
  * @author Mohamed Kaddour
  * @date 2022.10.25
  */
@@ -21,7 +25,9 @@ public class Hand implements Serializable {
     public final static String YELLOW_BOLD_TEXT_COLOR = "\033[1;93m";
     public final static String COLOR_RESET = "\u001B[0m";
 
-    private ArrayList<Tile> hand;
+    private TileList hand;
+    private transient Rack rack;
+    private transient int rackModCount;
     private ArrayList<Tile> recentlyRemoved;
     private ArrayList<Tile> recentlyAdded;
 
@@ -31,7 +37,7 @@ public class Hand implements Serializable {
      * */
     public Hand()
     {
-        this.hand = new ArrayList<>(MAX_HAND_SIZE);
+        this.hand = new TileList();
         this.recentlyRemoved = new ArrayList<>();
         this.recentlyAdded = new ArrayList<>();
     }
@@ -68,42 +74,29 @@ public class Hand implements Serializable {
     public boolean removeTiles(ArrayList<Character> removeTiles, boolean clear)
     {
         boolean rc = true;
-        int sizeCounter = removeTiles.size() + 1;
 
         if (clear == true) {
             this.recentlyRemoved.clear();
         }
 
-        ArrayList<Tile> mock = new ArrayList<>();
-        mock.addAll(this.hand);
-
         if ((rc = (!removeTiles.isEmpty())) == false)
         {
-            System.out.println("FAILED, PASSED IN ARRAY IS EMPTY");
+            GameLogger.warn("Cannot remove tiles, no tiles were passed in");
             rc = false;
         }
         else
         {
-            clearLoop:
-            for (int i = 0; i < removeTiles.size(); i++) {
-                mockLoop:
-                for (Tile l : mock) {
-                    if (removeTiles.get(i).equals(l.getLetter().charAt(PARSE_CHAR_AT_ZERO)))
-                    {
-                        this.hand.remove(l);
-                        mock.remove(l);
-                        sizeCounter--;
-                        if (clear == true) {
-                            this.recentlyRemoved.add(l);
-                        }
-                        if (sizeCounter == 0)
-                        {
-                            break clearLoop;
-                        }
-                        break mockLoop;
+            Rack rack = getRack();
+            for (Character c : removeTiles) {
+                // letters the hand does not hold are skipped
+                if (rack.remove(c)) {
+                    Tile removed = this.hand.remove(indexOf(c));
+                    if (clear == true) {
+                        this.recentlyRemoved.add(removed);
                     }
                 }
             }
+            this.rackModCount = this.hand.modCount();
         }
 
         return rc;
@@ -139,7 +132,31 @@ public class Hand implements Serializable {
             this.recentlyAdded.addAll(addTiles);
         }
 
+        Rack rack = getRack();
         this.hand.addAll(addTiles);
+        for (Tile t : addTiles) {
+            rack.add(t.getLetter().charAt(PARSE_CHAR_AT_ZERO));
+        }
+        this.rackModCount = this.hand.modCount();
+    }
+
+    /**
+     * Gives the first blank in hand the letter it is played as.
+     * @param letter the letter the blank is played as
+     * @return boolean false if the hand holds no blank
+     * */
+    public boolean assignBlank(char letter)
+    {
+        Rack rack = getRack();
+        for (Tile t : this.hand) {
+            if (t.getLetter().charAt(PARSE_CHAR_AT_ZERO) == Rack.BLANK_CHAR) {
+                t.setLetter(String.valueOf(letter));
+                rack.remove(Rack.BLANK_CHAR);
+                rack.add(letter);
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -158,4 +175,60 @@ public class Hand implements Serializable {
     public ArrayList<Tile> getHand() {
         return this.hand;
     }
+
+    /**
+     * Returns the letter counts of the hand, counting the tiles again only if the list was changed from outside.
+     * @return Models.Rack of the tiles in hand
+     * */
+    public Rack getRack() {
+        if (this.rack == null || this.rackModCount != this.hand.modCount()) {
+            if (this.rack == null) {
+                this.rack = new Rack();
+            }
+            this.rack.clear();
+            for (Tile t : this.hand) {
+                this.rack.add(t.getLetter().charAt(PARSE_CHAR_AT_ZERO));
+            }
+            this.rackModCount = this.hand.modCount();
+        }
+        return this.rack;
+    }
+
+    /**
+     * Returns the index of the first tile with the given letter, the hand must hold one.
+     * */
+    private int indexOf(char letter)
+    {
+        int i = 0;
+        while (this.hand.get(i).getLetter().charAt(PARSE_CHAR_AT_ZERO) != letter) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * The tiles of the hand. Exposes the list's modification count so the rack can tell when the list was changed
+     * from outside; set() counts as a change since it can replace a tile with another letter.
+     * */
+    private static final class TileList extends ArrayList<Tile>
+    {
+        private static final long serialVersionUID = 1L;
+
+        TileList()
+        {
+            super(MAX_HAND_SIZE);
+        }
+
+        int modCount()
+        {
+            return this.modCount;
+        }
+
+        @Override
+        public Tile set(int index, Tile tile)
+        {
+            this.modCount++;
+            return super.set(index, tile);
+        }
+    }
 }
\ No newline at end of file
@@ -39,24 +39,7 @@ public class InHand implements Serializable {
      * */
     public boolean wordInHand()
     {
-        ArrayList<Tile> mockHand = (ArrayList<Tile>) (this.hand.getHand().clone());
-
-        System.out.println();
-        int initialSize = mockHand.size();
-
-        for (Character c : this.wordAttempt.toCharArray())
-        {
-            for (Tile t : mockHand)
-            {
-                if (c.equals(t.getLetter().charAt(Hand.PARSE_CHAR_AT_ZERO)))
-                {
-                    mockHand.remove(t);
-                    break;
-                }
-            }
-        }
-
-        return (mockHand.size() == (initialSize - this.wordAttempt.length()));
+        return this.hand.getRack().canForm(this.wordAttempt);
     }
 
     /**
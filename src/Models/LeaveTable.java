@@ -0,0 +1,415 @@
+package Models;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.LeaveTable holds the value of every leave, the tiles a player keeps on the rack after a play. A good leave
+ * (blanks, S, balanced letters) scores points on the next turn and a bad one (duplicates, Q without U) costs them, so
+ * the AI ranks a play by its score plus the value of its leave.
+ *
+ * Every leave of up to MAX_LEAVE tiles has a slot in one table. A leave is its letter counts in Models.Rack slot order,
+ * and index() ranks the sorted sequence of its slots in the combinatorial number system, which numbers the leaves of
+ * each size densely from 0. The index is a perfect hash computed in a few steps without probing, and the table is a
+ * flat array of values in hundredths of a point.
+ *
+ * The table is built offline by main(), which plays headless AI games and, for every leave, measures how many points
+ * its player scored on the next turn compared with the average turn. Leaves that were rarely seen lean on a model
+ * that adds up the value of each tile, and of each duplicate. The table is written to FILE and mapped read-only at
+ * runtime, like the lexicon images (see Models.LexiconImage). Without the file every leave is worth 0 and the AI
+ * plays as before.
+ *
+ * Usage: java Models.LeaveTable [games] [seed]
+ *
+ * @date 2026.10.17
+ */
+public final class LeaveTable {
+
+    public static final String FILE = "src/Resources/leaves.bin";
+
+    /**
+     * Largest leave in the table: a play places at least one tile.
+     */
+    public static final int MAX_LEAVE = Hand.MAX_HAND_SIZE - 1;
+
+    private static final int MAGIC = 0x53434c56; // "SCLV"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 4;
+    private static final double SCALE = 100.0;
+
+    private static final int DEFAULT_GAMES = 20000;
+    private static final long DEFAULT_SEED = 1L;
+
+    /**
+     * Weight, in samples, of the per tile model against the measured average of a leave.
+     */
+    private static final int PRIOR_SAMPLES = 20;
+
+    /**
+     * Duplicates counted by the per tile model, a third or later copy counting as the third.
+     */
+    private static final int MAX_COPIES = 3;
+
+    /**
+     * BINOMIAL[n][k] is n choose k.
+     */
+    private static final int[][] BINOMIAL = new int[Rack.SLOTS + MAX_LEAVE][MAX_LEAVE + 1];
+
+    /**
+     * OFFSET[k] is the index of the first leave of k tiles, OFFSET[MAX_LEAVE + 1] the size of the table.
+     */
+    private static final int[] OFFSET = new int[MAX_LEAVE + 2];
+
+    static {
+        for (int n = 0; n < BINOMIAL.length; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= MAX_LEAVE && k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + ((k < n) ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+        for (int k = 0; k <= MAX_LEAVE; k++) {
+            // leaves of k tiles are the multisets of size k over SLOTS letters
+            OFFSET[k + 1] = OFFSET[k] + BINOMIAL[Rack.SLOTS + k - 1][k];
+        }
+    }
+
+    /**
+     * Values in hundredths of a point indexed by index(), null for the empty table.
+     */
+    private final ShortBuffer values;
+
+    /**
+     * Holder class so the table is mapped the first time getDefault() is called, and only once.
+     */
+    private static final class Holder {
+        private static final LeaveTable DEFAULT = loadDefault();
+    }
+
+    private LeaveTable(ShortBuffer values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the table of the game, mapping FILE on first use.
+     * @return the process wide Models.LeaveTable, empty if FILE cannot be read
+     */
+    public static LeaveTable getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * @return a table in which every leave is worth 0
+     */
+    public static LeaveTable empty() {
+        return new LeaveTable(null);
+    }
+
+    /**
+     * @return the number of leaves in a table
+     */
+    public static int size() {
+        return OFFSET[MAX_LEAVE + 1];
+    }
+
+    /**
+     * Returns the index of a leave in the table.
+     * @param counts tiles of the leave per Models.Rack slot
+     * @return int index from 0 to size() - 1, -1 for a leave of more than MAX_LEAVE tiles
+     */
+    public static int index(int[] counts) {
+        int rank = 0;
+        int taken = 0;
+        for (int slot = 0; slot < Rack.SLOTS; slot++) {
+            for (int copy = 0; copy < counts[slot]; copy++) {
+                if (taken == MAX_LEAVE) {
+                    return -1;
+                }
+                // the i-th smallest slot s maps to s + i - 1, which makes the sequence strictly increasing
+                taken++;
+                rank += BINOMIAL[slot + taken - 1][taken];
+            }
+        }
+        return OFFSET[taken] + rank;
+    }
+
+    /**
+     * Returns the value of a leave.
+     * @param counts tiles of the leave per Models.Rack slot
+     * @return double points the leave is worth on the next turn, 0 for leaves not in the table
+     */
+    public double value(int[] counts) {
+        if (values == null) {
+            return 0;
+        }
+        int index = index(counts);
+        return (index < 0) ? 0 : values.get(index) / SCALE;
+    }
+
+    /**
+     * @return true if the table has values, false if it is empty
+     */
+    public boolean isLoaded() {
+        return values != null;
+    }
+
+    /**
+     * Maps a table file read-only.
+     * @param file the table file
+     * @return the Models.LeaveTable
+     * @throws IOException if the file cannot be read or is not a table of this size
+     */
+    public static LeaveTable load(File file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        IntBuffer header = mapped.asIntBuffer();
+        if (header.limit() < HEADER_INTS || header.get(0) != MAGIC || header.get(1) != VERSION) {
+            throw new IOException(file + " is not a leave table");
+        }
+        if (header.get(2) != MAX_LEAVE || header.get(3) != size()
+                || mapped.limit() != 4 * HEADER_INTS + 2 * size()) {
+            throw new IOException(file + " does not hold leaves of up to " + MAX_LEAVE + " tiles");
+        }
+        mapped.position(4 * HEADER_INTS);
+        return new LeaveTable(mapped.slice().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer());
+    }
+
+    /**
+     * Writes a table of values, to a temporary file first so a process mapping the old table never sees a half
+     * written one.
+     * @param values value of every leave in points, indexed by index()
+     * @param file the table file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(double[] values, File file) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(4 * HEADER_INTS + 2 * size()).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(MAGIC).putInt(VERSION).putInt(MAX_LEAVE).putInt(size());
+        for (double value : values) {
+            long scaled = Math.round(value * SCALE);
+            bytes.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, scaled)));
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        Files.write(temp.toPath(), bytes.array());
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps FILE, or returns the empty table if it is missing or cannot be read.
+     */
+    private static LeaveTable loadDefault() {
+        File file = new File(FILE);
+        if (!file.exists()) {
+            GameLogger.debug("No leave table at {}, run Models.LeaveTable to build it", file);
+            return empty();
+        }
+        try {
+            return load(file);
+        } catch (IOException e) {
+            GameLogger.info("Not using {}: {}", file, e.getMessage());
+            return empty();
+        }
+    }
+
+    /**
+     * Builds the table by self-play and writes it to FILE.
+     * @param args optional number of games and random seed
+     */
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        GameLogger.setLevel(GameLogger.Level.OFF);
+
+        Samples samples = new Samples();
+        for (int game = 0; game < games; game++) {
+            play(seed + game, samples);
+        }
+        double[] values = samples.values();
+        write(values, new File(FILE));
+        System.out.printf("%d games, %d leaves seen, average next turn %.1f points, %d entries written to %s%n",
+                games, samples.count, samples.total / Math.max(1, samples.count), values.length, FILE);
+    }
+
+    /**
+     * Plays one AI game, recording every leave with the points its player scored on the next turn.
+     */
+    private static void play(long seed, Samples samples) throws IOException, ClassNotFoundException {
+        int players = Simulator.DEFAULT_PLAYERS;
+        Game game = new Game(seed);
+        game.createPlayers("0", String.valueOf(players));
+        int[][] pending = new int[players][];
+        int scoreless = 0;
+        for (int turn = 0; turn < Simulator.MAX_TURNS && !game.isGameFinished() && scoreless < 2 * players; turn++) {
+            Player player = game.getCurrentPlayer();
+            int number = player.getPlayerNumber();
+            int points = player.getPoints();
+            int[] rack = player.getHand().getRack().copyCounts(new int[Rack.SLOTS]);
+            int[] before = boardCounts(game.getBoard());
+            game.playAITurn();
+            int gained = player.getPoints() - points;
+            scoreless = (gained == 0) ? scoreless + 1 : 0;
+
+            if (pending[number] != null) {
+                samples.add(pending[number], gained);
+            }
+            int[] after = boardCounts(game.getBoard());
+            int placed = 0;
+            for (int slot = 0; slot < Rack.SLOTS; slot++) {
+                int played = after[slot] - before[slot];
+                rack[slot] -= played;
+                placed += played;
+            }
+            // a pass or an exchange keeps no leave worth measuring, and the AI exchanges its blanks before it plays,
+            // so the rack taken before the turn is not the one it played from
+            pending[number] = (placed > 0 && rack[Rack.BLANK] == 0) ? rack : null;
+        }
+    }
+
+    /**
+     * Counts the tiles on the board per Models.Rack slot, blanks in the BLANK slot.
+     */
+    private static int[] boardCounts(Board board) {
+        int[] counts = new int[Rack.SLOTS];
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            for (int col = 1; col <= Board.BOARD_SIZE; col++) {
+                int slot = board.isBlankTileAt(row, col) ? Rack.BLANK : Lexicon.letterIndex(board.getCharAt(row, col));
+                if (slot >= 0) {
+                    counts[slot]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Points scored on the turn after each leave, per leave, and the sums of a least squares fit of those points on
+     * the copies of each tile in the leave.
+     */
+    private static final class Samples {
+        private static final int FEATURES = 1 + Rack.SLOTS * MAX_COPIES;
+
+        private final double[] sums = new double[size()];
+        private final int[] counts = new int[size()];
+        private final double[][] xx = new double[FEATURES][FEATURES];
+        private final double[] xy = new double[FEATURES];
+        private final int[] features = new int[FEATURES];
+        private double total;
+        private int count;
+
+        void add(int[] leave, int points) {
+            int index = index(leave);
+            if (index < 0) {
+                return;
+            }
+            sums[index] += points;
+            counts[index]++;
+            total += points;
+            count++;
+            int active = features(leave, features);
+            for (int i = 0; i < active; i++) {
+                xy[features[i]] += points;
+                for (int j = 0; j < active; j++) {
+                    xx[features[i]][features[j]]++;
+                }
+            }
+        }
+
+        /**
+         * Lists the features of a leave: the intercept, then one for every copy of a tile up to MAX_COPIES.
+         * @return the number of features listed
+         */
+        private static int features(int[] leave, int[] into) {
+            int active = 0;
+            into[active++] = 0;
+            for (int slot = 0; slot < Rack.SLOTS; slot++) {
+                for (int copies = 1; copies <= Math.min(leave[slot], MAX_COPIES); copies++) {
+                    into[active++] = 1 + slot * MAX_COPIES + copies - 1;
+                }
+            }
+            return active;
+        }
+
+        /**
+         * Values every leave. The points of the next turn are fitted by ridge regression on the intercept and the
+         * copies of each tile, which gives every copy its worth even for leaves that were never seen. A leave is
+         * worth the sum of its copies, pulled towards its own measured average by the number of times it was seen.
+         */
+        double[] values() {
+            double[] worth = solve();
+            double[] values = new double[size()];
+            fill(values, worth, new int[Rack.SLOTS], 0, 0);
+            return values;
+        }
+
+        /**
+         * Solves (xx + PRIOR_SAMPLES * I) w = xy by Gaussian elimination, without a prior on the intercept.
+         */
+        private double[] solve() {
+            double[][] a = new double[FEATURES][FEATURES + 1];
+            for (int i = 0; i < FEATURES; i++) {
+                System.arraycopy(xx[i], 0, a[i], 0, FEATURES);
+                a[i][i] += (i == 0) ? 1e-9 : PRIOR_SAMPLES;
+                a[i][FEATURES] = xy[i];
+            }
+            for (int col = 0; col < FEATURES; col++) {
+                int pivot = col;
+                for (int row = col + 1; row < FEATURES; row++) {
+                    if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+                        pivot = row;
+                    }
+                }
+                double[] swap = a[col];
+                a[col] = a[pivot];
+                a[pivot] = swap;
+                for (int row = 0; row < FEATURES; row++) {
+                    if (row != col && a[row][col] != 0) {
+                        double factor = a[row][col] / a[col][col];
+                        for (int k = col; k <= FEATURES; k++) {
+                            a[row][k] -= factor * a[col][k];
+                        }
+                    }
+                }
+            }
+            double[] w = new double[FEATURES];
+            for (int i = 0; i < FEATURES; i++) {
+                w[i] = a[i][FEATURES] / a[i][i];
+            }
+            return w;
+        }
+
+        /**
+         * Values every leave holding the current counts plus tiles from slot on, up to MAX_LEAVE tiles.
+         */
+        private void fill(double[] values, double[] worth, int[] leave, int slot, int tiles) {
+            if (slot == Rack.SLOTS) {
+                int active = features(leave, features);
+                double model = 0;
+                for (int i = 1; i < active; i++) {
+                    model += worth[features[i]];
+                }
+                int index = index(leave);
+                // the measured average is relative to the intercept, the points of the next turn with any leave
+                double measured = (counts[index] == 0) ? 0 : sums[index] / counts[index] - worth[0];
+                values[index] = (counts[index] * measured + PRIOR_SAMPLES * model) / (counts[index] + PRIOR_SAMPLES);
+                return;
+            }
+            for (int copies = 0; tiles + copies <= MAX_LEAVE; copies++) {
+                leave[slot] = copies;
+                fill(values, worth, leave, slot + 1, tiles + copies);
+            }
+            leave[slot] = 0;
+        }
+    }
+}
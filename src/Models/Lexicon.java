@@ -0,0 +1,364 @@
+package Models;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.Lexicon is an immutable, minimized word graph (DAWG) built from the dictionary word list. Every node stores
+ * a bit mask of the letters that can follow it, a terminal flag and the index of its first outgoing edge, so a
+ * child lookup is a popcount into a flat edge array. Looking up a word therefore costs O(word length) regardless of
+ * how many words the dictionary holds.
+ *
+ * Nodes are plain ints so that move generation can walk the graph without allocating. The root node is ROOT.
+ *
+ * The arrays are held as IntBuffers so a graph can live either on the heap, when it is built from words, or in a
+ * read-only memory mapped image written ahead of time (see Models.LexiconImage).
+ *
+ * The same structure also stores a GADDAG (see gaddagFromWords()), where every word is added once per letter as its
+ * reversed prefix, a SEPARATOR edge, and the rest of the word. That lets move generation grow a word leftwards from
+ * an anchor and then turn around, at the cost of roughly word-length times more paths.
+ *
+ * @date 2026.10.17
+ */
+public final class Lexicon {
+
+    public static final int ROOT = 0;
+    public static final int NO_NODE = -1;
+    public static final int ALPHABET_SIZE = 26;
+
+    /**
+     * Symbol index of the GADDAG separator edge, written as SEPARATOR_CHAR in GADDAG paths.
+     */
+    public static final int SEPARATOR = ALPHABET_SIZE;
+    public static final char SEPARATOR_CHAR = '^';
+    private static final int SYMBOL_COUNT = ALPHABET_SIZE + 1;
+
+    /**
+     * Bit set in a node's mask when the path leading to that node spells a complete word.
+     */
+    private static final int TERMINAL_BIT = 1 << SYMBOL_COUNT;
+    private static final int LETTER_BITS = (1 << ALPHABET_SIZE) - 1;
+
+    /**
+     * Per node: letters with an outgoing edge (bits 0-25), the separator edge (bit 26) and the terminal flag (bit 27).
+     */
+    private final IntBuffer masks;
+
+    /**
+     * Per node: index into edges of the edge for the lowest letter in the mask.
+     */
+    private final IntBuffer firstEdge;
+
+    /**
+     * Target node of every edge, grouped by source node and ordered by letter.
+     */
+    private final IntBuffer edges;
+
+    private final int wordCount;
+
+    /**
+     * Package-private constructor, lexicons are built through fromWords() and gaddagFromWords() or mapped by
+     * Models.LexiconImage.
+     */
+    Lexicon(IntBuffer masks, IntBuffer firstEdge, IntBuffer edges, int wordCount) {
+        this.masks = masks;
+        this.firstEdge = firstEdge;
+        this.edges = edges;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Builds a minimized lexicon from the given words. Words containing anything other than the letters A-Z are
+     * skipped since they can never be formed on the board.
+     * @param words the dictionary words
+     * @return the Models.Lexicon containing every valid word
+     */
+    public static Lexicon fromWords(Collection<String> words) {
+        String[] sorted = words.stream().filter(Lexicon::isPlayable).distinct().toArray(String[]::new);
+        Arrays.sort(sorted);
+        return new Builder().build(sorted, sorted.length);
+    }
+
+    /**
+     * Builds a minimized GADDAG from the given words. For a word w of length n the paths rev(w[0..i]) SEPARATOR w[i..n]
+     * are added for 1 <= i < n, plus rev(w) on its own, so that any letter of the word can be the starting point.
+     * @param words the dictionary words
+     * @return the Models.Lexicon holding the GADDAG paths
+     */
+    public static Lexicon gaddagFromWords(Collection<String> words) {
+        String[] unique = words.stream().filter(Lexicon::isPlayable).distinct().toArray(String[]::new);
+        List<String> paths = new ArrayList<>();
+        for (String word : unique) {
+            String reversed = new StringBuilder(word).reverse().toString();
+            for (int i = 1; i < word.length(); i++) {
+                paths.add(reversed.substring(word.length() - i) + SEPARATOR_CHAR + word.substring(i));
+            }
+            paths.add(reversed);
+        }
+        String[] sorted = paths.toArray(new String[0]);
+        Arrays.sort(sorted);
+        return new Builder().build(sorted, unique.length);
+    }
+
+    /**
+     * Returns the 0-25 index of an upper case letter, or -1 if it is not a letter A-Z.
+     * @param c the char to convert
+     * @return int index of the letter
+     */
+    public static int letterIndex(char c) {
+        return (c >= 'A' && c <= 'Z') ? c - 'A' : -1;
+    }
+
+    /**
+     * Returns the symbol index of a letter A-Z or of SEPARATOR_CHAR, or -1 for anything else.
+     */
+    private static int symbolIndex(char c) {
+        return (c == SEPARATOR_CHAR) ? SEPARATOR : letterIndex(c);
+    }
+
+    /**
+     * Checks whether the word is in the lexicon.
+     * @param word the word to look up
+     * @return boolean true if the word is in the lexicon
+     */
+    public boolean contains(CharSequence word) {
+        if (word == null || word.length() == 0) {
+            return false;
+        }
+        int node = ROOT;
+        for (int i = 0; i < word.length() && node != NO_NODE; i++) {
+            int letter = letterIndex(word.charAt(i));
+            node = (letter < 0) ? NO_NODE : child(node, letter);
+        }
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    /**
+     * Follows the edge for letter out of node.
+     * @param node the node to start from
+     * @param letter the 0-25 letter index, or SEPARATOR
+     * @return int the child node, or NO_NODE if no word continues with that letter
+     */
+    public int child(int node, int letter) {
+        int mask = masks.get(node);
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) {
+            return NO_NODE;
+        }
+        return edges.get(firstEdge.get(node) + Integer.bitCount(mask & (bit - 1)));
+    }
+
+    /**
+     * @param node the node to check
+     * @return boolean true if the path to this node spells a word
+     */
+    public boolean isTerminal(int node) {
+        return (masks.get(node) & TERMINAL_BIT) != 0;
+    }
+
+    /**
+     * @param node the node to check
+     * @return int bit mask of the letters (bit 0 = A) that have an edge out of this node
+     */
+    public int letterMask(int node) {
+        return masks.get(node) & LETTER_BITS;
+    }
+
+    /**
+     * @return the number of nodes in the minimized graph
+     */
+    public int getNodeCount() {
+        return masks.limit();
+    }
+
+    /**
+     * @return the number of edges in the minimized graph
+     */
+    public int getEdgeCount() {
+        return edges.limit();
+    }
+
+    /**
+     * @return the approximate number of bytes used by the graph arrays, on the heap or mapped
+     */
+    public long getMemoryFootprint() {
+        return 4L * (masks.limit() + firstEdge.limit() + edges.limit());
+    }
+
+    /**
+     * @return true if the graph is held in a mapped image rather than on the heap
+     */
+    public boolean isMapped() {
+        return masks.isDirect();
+    }
+
+    /**
+     * Writes the node masks, first edges and edges, in that order.
+     * @param out the buffer to write to, with room for 2 * getNodeCount() + getEdgeCount() ints
+     */
+    void writeTo(IntBuffer out) {
+        out.put(masks.duplicate().rewind());
+        out.put(firstEdge.duplicate().rewind());
+        out.put(edges.duplicate().rewind());
+    }
+
+    /**
+     * @return the number of words in the lexicon
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Helper method to check that a word only contains upper case letters.
+     */
+    private static boolean isPlayable(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (letterIndex(word.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the minimized graph incrementally from sorted words (Daciuk et al.). Once a word no longer shares a
+     * prefix with the next one, the nodes of its suffix are merged with any equivalent node already registered, so
+     * the full unminimized trie never exists in memory.
+     */
+    private static final class Builder {
+
+        private final HashMap<BuildNode, BuildNode> register = new HashMap<>();
+        private final List<BuildNode> path = new ArrayList<>();
+        private final BuildNode root = new BuildNode();
+
+        Lexicon build(String[] sortedWords, int wordCount) {
+            String previous = "";
+            path.add(root);
+            for (String word : sortedWords) {
+                int common = commonPrefixLength(previous, word);
+                minimize(common);
+                for (int i = common; i < word.length(); i++) {
+                    BuildNode next = new BuildNode();
+                    path.get(i).children[symbolIndex(word.charAt(i))] = next;
+                    path.add(next);
+                }
+                path.get(word.length()).terminal = true;
+                previous = word;
+            }
+            minimize(0);
+            return flatten(wordCount);
+        }
+
+        /**
+         * Replaces every node on the current path deeper than depth with its registered equivalent.
+         */
+        private void minimize(int depth) {
+            for (int i = path.size() - 1; i > depth; i--) {
+                BuildNode node = path.remove(i);
+                BuildNode parent = path.get(i - 1);
+                BuildNode existing = register.putIfAbsent(node, node);
+                if (existing != null) {
+                    for (int letter = 0; letter < SYMBOL_COUNT; letter++) {
+                        if (parent.children[letter] == node) {
+                            parent.children[letter] = existing;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Numbers the nodes breadth first from the root and lays them out in flat arrays.
+         */
+        private Lexicon flatten(int wordCount) {
+            HashMap<BuildNode, Integer> ids = new HashMap<>();
+            List<BuildNode> order = new ArrayList<>();
+            ids.put(root, ROOT);
+            order.add(root);
+            int edgeCount = 0;
+            for (int i = 0; i < order.size(); i++) {
+                for (BuildNode child : order.get(i).children) {
+                    if (child != null) {
+                        edgeCount++;
+                        if (!ids.containsKey(child)) {
+                            ids.put(child, order.size());
+                            order.add(child);
+                        }
+                    }
+                }
+            }
+
+            int[] masks = new int[order.size()];
+            int[] firstEdge = new int[order.size()];
+            int[] edges = new int[edgeCount];
+            int edge = 0;
+            for (int i = 0; i < order.size(); i++) {
+                BuildNode node = order.get(i);
+                firstEdge[i] = edge;
+                int mask = node.terminal ? TERMINAL_BIT : 0;
+                for (int letter = 0; letter < SYMBOL_COUNT; letter++) {
+                    if (node.children[letter] != null) {
+                        mask |= 1 << letter;
+                        edges[edge++] = ids.get(node.children[letter]);
+                    }
+                }
+                masks[i] = mask;
+            }
+            return new Lexicon(IntBuffer.wrap(masks), IntBuffer.wrap(firstEdge), IntBuffer.wrap(edges), wordCount);
+        }
+
+        private static int commonPrefixLength(String a, String b) {
+            int length = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < length && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Mutable node used only while building. Two nodes are equivalent when they agree on the terminal flag and point
+     * to the very same (already minimized) children.
+     */
+    private static final class BuildNode {
+        private boolean terminal;
+        private final BuildNode[] children = new BuildNode[SYMBOL_COUNT];
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BuildNode)) {
+                return false;
+            }
+            BuildNode other = (BuildNode) o;
+            if (terminal != other.terminal) {
+                return false;
+            }
+            for (int i = 0; i < SYMBOL_COUNT; i++) {
+                if (children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = terminal ? 1 : 0;
+            for (BuildNode child : children) {
+                hash = 31 * hash + System.identityHashCode(child);
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package Models;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.LexiconImage is the prebuilt binary form of a Models.Lexicon. The build step (main()) compiles words.txt
+ * into a DAWG image and a GADDAG image once. At runtime an image is mapped read-only with FileChannel.map and the
+ * Models.Lexicon reads its node arrays straight from the mapping. Nothing is parsed or built, the graph stays off the
+ * heap, and every game process on the host shares the same pages of the file cache.
+ *
+ * Layout, little endian: a header of HEADER_INTS ints (magic, version, kind, node count, edge count, word count,
+ * length of the word list it was built from, modification time of the word list as two ints), then the node masks,
+ * the first edges and the edges.
+ *
+ * An image is only used if it was built from the word list as it is now, so a changed words.txt is never hidden by
+ * an old image: load() then builds the graph from the words as before.
+ *
+ * Usage: java Models.LexiconImage
+ *
+ * @date 2026.10.17
+ */
+public final class LexiconImage {
+
+    public static final String DAWG_FILE = "src/Resources/words.dawg";
+    public static final String GADDAG_FILE = "src/Resources/words.gaddag";
+
+    private static final int MAGIC = 0x53434c58; // "SCLX"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 10;
+
+    /**
+     * The graph stored in an image.
+     */
+    public enum Kind {DAWG, GADDAG}
+
+    /**
+     * Private constructor, the class only has static methods.
+     */
+    private LexiconImage() {
+    }
+
+    /**
+     * Builds both images from words.txt.
+     * @param args unused
+     */
+    public static void main(String[] args) throws IOException {
+        File words = new File(WordValidator.FILE);
+        ArrayList<String> list = WordValidator.readWords();
+        build(Lexicon.fromWords(list), Kind.DAWG, words, new File(DAWG_FILE));
+        build(Lexicon.gaddagFromWords(list), Kind.GADDAG, words, new File(GADDAG_FILE));
+    }
+
+    /**
+     * Builds one image and prints its size.
+     */
+    private static void build(Lexicon lexicon, Kind kind, File words, File image) throws IOException {
+        write(lexicon, kind, words, image);
+        System.out.printf("%-8s %10d nodes %10d edges %12d bytes  %s%n", kind, lexicon.getNodeCount(),
+                lexicon.getEdgeCount(), image.length(), image);
+    }
+
+    /**
+     * Writes the image of a lexicon. The image is written to a temporary file first and then moved into place, so a
+     * process mapping the old image never sees a half written one.
+     * @param lexicon the lexicon to write
+     * @param kind the kind of graph the lexicon holds
+     * @param words the word list the lexicon was built from
+     * @param image the image file
+     * @throws IOException if the image cannot be written
+     */
+    public static void write(Lexicon lexicon, Kind kind, File words, File image) throws IOException {
+        int ints = HEADER_INTS + 2 * lexicon.getNodeCount() + lexicon.getEdgeCount();
+        ByteBuffer bytes = ByteBuffer.allocate(4 * ints).order(ByteOrder.LITTLE_ENDIAN);
+        IntBuffer out = bytes.asIntBuffer();
+        long modified = words.lastModified();
+        out.put(MAGIC).put(VERSION).put(kind.ordinal()).put(lexicon.getNodeCount()).put(lexicon.getEdgeCount())
+                .put(lexicon.getWordCount()).put((int) words.length()).put((int) (words.length() >>> 32))
+                .put((int) modified).put((int) (modified >>> 32));
+        lexicon.writeTo(out);
+
+        File temp = new File(image.getPath() + ".tmp");
+        Files.write(temp.toPath(), bytes.array());
+        Files.move(temp.toPath(), image.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps an image read-only.
+     * @param image the image file
+     * @param kind the kind of graph expected
+     * @param words the word list the image must have been built from
+     * @return Lexicon reading from the mapped image
+     * @throws IOException if the image cannot be read, is damaged, or was built from another word list
+     */
+    public static Lexicon map(File image, Kind kind, File words) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(image.toPath(), StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        IntBuffer in = mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        if (in.limit() < HEADER_INTS || in.get(0) != MAGIC || in.get(1) != VERSION) {
+            throw new IOException(image + " is not a lexicon image");
+        }
+        if (in.get(2) != kind.ordinal()) {
+            throw new IOException(image + " does not hold a " + kind);
+        }
+        long length = (in.get(6) & 0xffffffffL) | ((long) in.get(7) << 32);
+        long modified = (in.get(8) & 0xffffffffL) | ((long) in.get(9) << 32);
+        if (length != words.length() || modified != words.lastModified()) {
+            throw new IOException(image + " was built from another version of " + words);
+        }
+        int nodes = in.get(3);
+        int edges = in.get(4);
+        if (nodes <= 0 || edges < 0 || in.limit() != HEADER_INTS + 2 * nodes + edges) {
+            throw new IOException(image + " is truncated");
+        }
+        return new Lexicon(in.slice(HEADER_INTS, nodes), in.slice(HEADER_INTS + nodes, nodes),
+                in.slice(HEADER_INTS + 2 * nodes, edges), in.get(5));
+    }
+
+    /**
+     * Maps the image of a lexicon, or builds the lexicon from the word list if the image is missing or out of date.
+     * @param image the image file
+     * @param kind the kind of graph to load
+     * @param words the word list
+     * @return the Models.Lexicon
+     * @throws FileNotFoundException if there is neither a usable image nor a word list
+     */
+    public static Lexicon load(File image, Kind kind, File words) throws FileNotFoundException {
+        if (image.exists()) {
+            try {
+                return map(image, kind, words);
+            } catch (IOException e) {
+                GameLogger.info("Not using {}: {}", image, e.getMessage());
+            }
+        } else {
+            GameLogger.debug("No {} image at {}, run Models.LexiconImage to build it", kind, image);
+        }
+        ArrayList<String> list = WordValidator.readWords(words);
+        return (kind == Kind.DAWG) ? Lexicon.fromWords(list) : Lexicon.gaddagFromWords(list);
+    }
+}
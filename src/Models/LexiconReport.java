@@ -0,0 +1,156 @@
+package Models;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.LexiconReport compares the two move generation backends. It builds the plain word graph and the GADDAG from
+ * words.txt, prints their size and build time, then replays a few seeded self-play games and times both generators
+ * on every position, checking that they find the same number of moves. Each backend is timed over several
+ * alternating rounds and its fastest round is reported. The trie comes out faster than the GADDAG, which is why TRIE
+ * is the default backend.
+ *
+ * Usage: java Models.LexiconReport [games] [seed]
+ *
+ * @date 2026.10.17
+ */
+public class LexiconReport {
+
+    private static final int DEFAULT_GAMES = 20;
+    private static final long DEFAULT_SEED = 14L;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * Runs the report.
+     * @param args optional number of games and random seed
+     */
+    public static void main(String[] args) throws FileNotFoundException {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_SEED;
+
+        ArrayList<String> words = WordValidator.readWords();
+        long start = System.nanoTime();
+        Lexicon trie = Lexicon.fromWords(words);
+        long trieBuild = System.nanoTime() - start;
+        start = System.nanoTime();
+        Lexicon gaddag = Lexicon.gaddagFromWords(words);
+        long gaddagBuild = System.nanoTime() - start;
+
+        System.out.printf("%-8s %10s %10s %12s %10s%n", "backend", "nodes", "edges", "bytes", "build ms");
+        printGraph("TRIE", trie, trieBuild);
+        printGraph("GADDAG", gaddag, gaddagBuild);
+
+        List<Board> boards = new ArrayList<>();
+        List<List<Tile>> racks = new ArrayList<>();
+        MoveGenerator trieGenerator = new MoveGenerator(trie, MoveGenerator.Backend.TRIE);
+        MoveGenerator gaddagGenerator = new MoveGenerator(gaddag, MoveGenerator.Backend.GADDAG);
+        for (int game = 0; game < games; game++) {
+            selfPlay(trieGenerator, new Random(seed + game), boards, racks);
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            time(trieGenerator, boards, racks);
+            time(gaddagGenerator, boards, racks);
+        }
+        long[] trieResult = null;
+        long[] gaddagResult = null;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            trieResult = fastest(trieResult, time(trieGenerator, boards, racks));
+            gaddagResult = fastest(gaddagResult, time(gaddagGenerator, boards, racks));
+        }
+
+        System.out.printf("%n%d positions from %d games (seed %d)%n", boards.size(), games, seed);
+        System.out.printf("%-8s %10s %14s%n", "backend", "moves", "avg us/rack");
+        System.out.printf("%-8s %10d %14.1f%n", "TRIE", trieResult[1], trieResult[0] / 1e3 / boards.size());
+        System.out.printf("%-8s %10d %14.1f%n", "GADDAG", gaddagResult[1], gaddagResult[0] / 1e3 / boards.size());
+        System.out.printf("GADDAG takes %.0f%% of the time of TRIE%n", 100.0 * gaddagResult[0] / trieResult[0]);
+        if (trieResult[1] != gaddagResult[1]) {
+            System.out.println("WARNING: the backends found a different number of moves");
+        }
+    }
+
+    /**
+     * Prints one line of the graph size table.
+     */
+    private static void printGraph(String name, Lexicon graph, long buildNanos) {
+        System.out.printf("%-8s %10d %10d %12d %10.1f%n", name, graph.getNodeCount(), graph.getEdgeCount(),
+                graph.getMemoryFootprint(), buildNanos / 1e6);
+    }
+
+    /**
+     * Plays a game in which the longest move is always chosen, storing every position and rack along the way.
+     */
+    private static void selfPlay(MoveGenerator generator, Random random, List<Board> boards, List<List<Tile>> racks) {
+        Bag bag = new Bag(random.nextLong());
+        List<Tile> tiles = new ArrayList<>(bag.removeTiles(bag.getBagSize()));
+        Collections.shuffle(tiles, random);
+        Board board = new Board();
+        List<Tile> rack = new ArrayList<>();
+        int next = 0;
+        while (true) {
+            while (rack.size() < Hand.MAX_HAND_SIZE && next < tiles.size()) {
+                rack.add(tiles.get(next++));
+            }
+            ArrayList<Move> moves = generator.generateMoves(board, rack);
+            boards.add(new Board(board));
+            racks.add(new ArrayList<>(rack));
+            Move best = null;
+            for (Move move : moves) {
+                if (best == null || move.getTileCount() > best.getTileCount()) {
+                    best = move;
+                }
+            }
+            if (best == null) {
+                return;
+            }
+            play(board, best, rack);
+        }
+    }
+
+    /**
+     * Puts the tiles of move on the board and takes them out of the rack.
+     */
+    private static void play(Board board, Move move, List<Tile> rack) {
+        for (int i = 0; i < move.getWord().length(); i++) {
+            if (!move.isPlaced(i)) {
+                continue;
+            }
+            String letter = move.isBlank(i) ? "_" : String.valueOf(move.getWord().charAt(i));
+            for (int t = 0; t < rack.size(); t++) {
+                if (rack.get(t).getLetter().equals(letter)) {
+                    rack.remove(t);
+                    break;
+                }
+            }
+            int row = move.getRow() + ((move.getDirection() == Board.Direction.VERTICAL) ? i : 0);
+            int col = move.getCol() + ((move.getDirection() == Board.Direction.HORIZONTAL) ? i : 0);
+            board.placeTileAt(row, col, new Tile(String.valueOf(move.getWord().charAt(i)), 0), move.getDirection());
+        }
+    }
+
+    /**
+     * Returns the faster of two timings, so a round slowed down by something else running is not reported.
+     */
+    private static long[] fastest(long[] best, long[] result) {
+        return (best == null || result[0] < best[0]) ? result : best;
+    }
+
+    /**
+     * Generates the moves of every stored position.
+     * @return the total time in nanoseconds and the total number of moves found
+     */
+    private static long[] time(MoveGenerator generator, List<Board> boards, List<List<Tile>> racks) {
+        long moves = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < boards.size(); i++) {
+            moves += generator.generateMoves(boards.get(i), racks.get(i)).size();
+        }
+        return new long[]{System.nanoTime() - start, moves};
+    }
+}
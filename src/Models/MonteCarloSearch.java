@@ -0,0 +1,339 @@
+package Models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.MonteCarloSearch chooses a play by simulation instead of by its score alone. It takes the highest scoring
+ * candidates of a Models.MoveGenerator analysis and plays each of them on its own copy of the board. Then, many times
+ * over, it draws a random rack for the opponent from the unseen tiles (the bag and the other hands, which the player
+ * cannot tell apart) and finds the opponent's best reply. The candidate with the best expected spread, its score less
+ * the average reply, is played. With leave values (see MoveGenerator.withLeaves()) candidates are taken and compared by
+ * equity, the score plus the value of the leave, and the opponent replies with its highest scoring play.
+ *
+ * The board of a candidate is built once and only read by its playouts, so playouts need no copy or undo of their
+ * own and run in parallel on a ForkJoinPool. Every batch of playouts draws its racks from its own SplittableRandom,
+ * split from the player's random in a fixed order, so the choice does not depend on the number of threads. With a
+ * deadline no new playout is started once it has passed, nor once the thread that called choose() is interrupted, and
+ * a reply still being searched when the deadline passes stops and its playout is not counted. Replies are searched for
+ * their best score only (see MoveGenerator.best()), without the list of every reply.
+ *
+ * @date 2026.10.17
+ */
+public final class MonteCarloSearch {
+
+    /**
+     * Number of highest scoring plays simulated, from the scrabble.ai.candidates system property.
+     */
+    public static final int DEFAULT_CANDIDATES = Integer.getInteger("scrabble.ai.candidates", 10);
+
+    /**
+     * Number of opponent racks tried against every candidate, from the scrabble.ai.playouts system property.
+     */
+    public static final int DEFAULT_PLAYOUTS = Integer.getInteger("scrabble.ai.playouts", 64);
+
+    /**
+     * Playouts of a candidate run one after the other in a task.
+     */
+    private static final int BATCH = 8;
+
+    private final MoveGenerator generator;
+    private final MoveGenerator replies;
+    private final int candidates;
+    private final int playouts;
+
+    /**
+     * Constructor for a search with the default number of candidates and playouts.
+     * @param generator the generator opponent replies are found with
+     */
+    public MonteCarloSearch(MoveGenerator generator) {
+        this(generator, DEFAULT_CANDIDATES, DEFAULT_PLAYOUTS);
+    }
+
+    /**
+     * Constructor for Models.MonteCarloSearch.
+     * @param generator the generator opponent replies are found with
+     * @param candidates number of highest scoring plays simulated
+     * @param playouts number of opponent racks tried against every candidate
+     */
+    public MonteCarloSearch(MoveGenerator generator, int candidates, int playouts) {
+        this.generator = generator;
+        this.replies = generator.withLeaves(null);
+        this.candidates = Math.max(1, candidates);
+        this.playouts = Math.max(1, playouts);
+    }
+
+    /**
+     * Chooses the play with the best expected spread among the highest scoring plays of an analysis.
+     * @param board the current board
+     * @param analysis the scored plays of the rack on the board, see MoveGenerator.analyze()
+     * @param rack the rack of the player
+     * @param random source of the opponent racks
+     * @param deadline System.nanoTime() after which no playout is started, MoveGenerator.NO_DEADLINE for none
+     * @return Result with the chosen play, null if the analysis has no scoring play
+     */
+    public Result choose(Board board, MoveGenerator.Analysis analysis, Rack rack, SplittableRandom random,
+                         long deadline) {
+        LeaveTable leaves = generator.getLeaves();
+        int[] counts = rack.copyCounts(new int[Rack.SLOTS]);
+        int[] leave = new int[Rack.SLOTS];
+        List<Move> top = new ArrayList<>();
+        List<Integer> scores = new ArrayList<>();
+        List<Double> equities = new ArrayList<>();
+        for (Move move : analysis.getMoves()) {
+            int points = MoveScorer.score(board, move);
+            double equity = (leaves != null) ? points + leaves.value(leaveOf(counts, move, leave)) : points;
+            // keep the candidates sorted by equity, a later move only passing one with strictly less
+            int at = equities.size();
+            while (at > 0 && equities.get(at - 1) < equity) {
+                at--;
+            }
+            if (points > 0 && at < candidates) {
+                top.add(at, move);
+                scores.add(at, points);
+                equities.add(at, equity);
+                if (top.size() > candidates) {
+                    top.remove(candidates);
+                    scores.remove(candidates);
+                    equities.remove(candidates);
+                }
+            }
+        }
+        if (top.isEmpty()) {
+            return null;
+        }
+
+        int[] unseen = unseenTiles(board, rack);
+        int unseenCount = 0;
+        for (int count : unseen) {
+            unseenCount += count;
+        }
+        int opponentTiles = Math.min(Hand.MAX_HAND_SIZE, unseenCount);
+
+        Thread owner = Thread.currentThread();
+        int batches = (playouts + BATCH - 1) / BATCH;
+        List<Playouts> tasks = new ArrayList<>();
+        for (int c = 0; c < top.size(); c++) {
+            Board after = new Board(board);
+            place(after, top.get(c));
+            after.prepareCrossChecks();
+            for (int b = 0; b < batches; b++) {
+                int count = Math.min(BATCH, playouts - b * BATCH);
+                tasks.add(new Playouts(after, unseen, opponentTiles, count, random.split(), deadline, owner));
+            }
+        }
+        ForkJoinPool pool = MoveGenerator.defaultPool();
+        if (pool == null) {
+            for (Playouts task : tasks) {
+                task.compute();
+            }
+        } else if (ForkJoinTask.inForkJoinPool()) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        Result best = null;
+        for (int c = 0; c < top.size(); c++) {
+            long replyPoints = 0;
+            int played = 0;
+            for (int b = 0; b < batches; b++) {
+                Playouts task = tasks.get(c * batches + b);
+                replyPoints += task.replyPoints;
+                played += task.played;
+            }
+            double equity = equities.get(c);
+            double spread = (played == 0) ? equity : equity - (double) replyPoints / played;
+            if (best == null || (played > 0 && (best.playouts == 0 || spread > best.spread))) {
+                best = new Result(top.get(c), scores.get(c), spread, played);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts the tiles the player cannot see: the full tile set less the tiles on the board and on the rack.
+     * @return int array of Rack.SLOTS counts
+     */
+    static int[] unseenTiles(Board board, Rack rack) {
+        TileSet tileSet = TileSet.getDefault();
+        int[] unseen = new int[Rack.SLOTS];
+        for (int i = 0; i < Lexicon.ALPHABET_SIZE; i++) {
+            unseen[i] = tileSet.countAt(i);
+        }
+        unseen[Rack.BLANK] = tileSet.getBlankCount();
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            for (int col = 1; col <= Board.BOARD_SIZE; col++) {
+                char c = board.getCharAt(row, col);
+                int slot = board.isBlankTileAt(row, col) ? Rack.BLANK : Lexicon.letterIndex(c);
+                if (slot >= 0 && unseen[slot] > 0) {
+                    unseen[slot]--;
+                }
+            }
+        }
+        int[] own = rack.copyCounts(new int[Rack.SLOTS]);
+        for (int i = 0; i < Rack.SLOTS; i++) {
+            unseen[i] = Math.max(0, unseen[i] - own[i]);
+        }
+        return unseen;
+    }
+
+    /**
+     * Writes the tiles a rack keeps after a move into leave.
+     * @return leave
+     */
+    static int[] leaveOf(int[] rack, Move move, int[] leave) {
+        System.arraycopy(rack, 0, leave, 0, Rack.SLOTS);
+        String word = move.getWord();
+        for (int i = 0; i < word.length(); i++) {
+            if (move.isPlaced(i)) {
+                leave[move.isBlank(i) ? Rack.BLANK : Lexicon.letterIndex(word.charAt(i))]--;
+            }
+        }
+        return leave;
+    }
+
+    /**
+     * Puts the tiles a move places on the board.
+     */
+    private static void place(Board board, Move move) {
+        String word = move.getWord();
+        int rowStep = (move.getDirection() == Board.Direction.VERTICAL) ? 1 : 0;
+        int colStep = 1 - rowStep;
+        for (int i = 0; i < word.length(); i++) {
+            if (move.isPlaced(i)) {
+                String letter = String.valueOf(word.charAt(i));
+                Tile tile = new Tile(letter, move.isBlank(i) ? 0 : MoveScorer.letterValue(word.charAt(i)));
+                board.placeTileAt(move.getRow() + i * rowStep, move.getCol() + i * colStep, tile,
+                        move.getDirection());
+            }
+        }
+    }
+
+    /**
+     * A batch of playouts of one candidate: draws opponent racks and adds up the points of their best replies.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    private final class Playouts extends RecursiveAction {
+        private final Board board;
+        private final int[] unseen;
+        private final int tiles;
+        private final int count;
+        private final SplittableRandom random;
+        private final long deadline;
+        private final Thread owner;
+        private long replyPoints;
+        private int played;
+
+        Playouts(Board board, int[] unseen, int tiles, int count, SplittableRandom random, long deadline,
+                 Thread owner) {
+            this.board = board;
+            this.unseen = unseen;
+            this.tiles = tiles;
+            this.count = count;
+            this.random = random;
+            this.deadline = deadline;
+            this.owner = owner;
+        }
+
+        @Override
+        protected void compute() {
+            int[] pool = unseen.clone();
+            int[] opponent = new int[Rack.SLOTS];
+            for (int i = 0; i < count; i++) {
+                if (owner.isInterrupted()
+                        || (deadline != MoveGenerator.NO_DEADLINE && System.nanoTime() - deadline >= 0)) {
+                    return;
+                }
+                draw(pool, opponent);
+                MoveGenerator.Analysis reply = replies.best(board, opponent, null, deadline);
+                if (!reply.isComplete()) {
+                    // the deadline passed during the reply, whose best score so far would understate it
+                    return;
+                }
+                replyPoints += reply.getBestScore();
+                played++;
+                for (int slot = 0; slot < Rack.SLOTS; slot++) {
+                    pool[slot] += opponent[slot];
+                }
+            }
+        }
+
+        /**
+         * Draws tiles at random from pool into rack, taking them out of pool.
+         */
+        private void draw(int[] pool, int[] rack) {
+            Arrays.fill(rack, 0);
+            int left = 0;
+            for (int n : pool) {
+                left += n;
+            }
+            for (int t = 0; t < tiles; t++) {
+                int pick = random.nextInt(left--);
+                int slot = 0;
+                while (pick >= pool[slot]) {
+                    pick -= pool[slot++];
+                }
+                pool[slot]--;
+                rack[slot]++;
+            }
+        }
+    }
+
+    /**
+     * The chosen play and how it did in the simulation.
+     */
+    public static final class Result {
+        private final Move move;
+        private final int score;
+        private final double spread;
+        private final int playouts;
+
+        Result(Move move, int score, double spread, int playouts) {
+            this.move = move;
+            this.score = score;
+            this.spread = spread;
+            this.playouts = playouts;
+        }
+
+        /**
+         * @return the chosen play
+         */
+        public Move getMove() {
+            return move;
+        }
+
+        /**
+         * @return the score of the play
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * @return the equity of the play less the average score of the opponent's best reply
+         */
+        public double getSpread() {
+            return spread;
+        }
+
+        /**
+         * @return the number of playouts the spread is the average of, 0 if the deadline passed before any
+         */
+        public int getPlayouts() {
+            return playouts;
+        }
+    }
+}
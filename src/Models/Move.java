@@ -0,0 +1,142 @@
+package Models;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.Move is an immutable candidate play found by the Models.MoveGenerator. It stores the full word formed along
+ * the main direction, where that word starts, and which of its letters are new tiles from the rack (and which of
+ * those are blanks). Letters of the word that are not new were already on the board.
+ *
+ * @date 2026.10.17
+ */
+public final class Move {
+
+    private final int row;
+    private final int col;
+    private final Board.Direction direction;
+    private final String word;
+
+    /**
+     * Bit i is set when letter i of the word is a tile placed by this move.
+     */
+    private final int placedMask;
+
+    /**
+     * Bit i is set when letter i of the word is a placed blank tile.
+     */
+    private final int blankMask;
+
+    /**
+     * Constructor for Models.Move.
+     * @param row the row of the first letter of the word
+     * @param col the column of the first letter of the word
+     * @param direction the direction the word is read in
+     * @param word the full word formed on the board
+     * @param placedMask bit mask of the word positions that are newly placed tiles
+     * @param blankMask bit mask of the word positions that are newly placed blanks
+     * */
+    public Move(int row, int col, Board.Direction direction, String word, int placedMask, int blankMask) {
+        this.row = row;
+        this.col = col;
+        this.direction = direction;
+        this.word = word;
+        this.placedMask = placedMask;
+        this.blankMask = blankMask;
+    }
+
+    /**
+     * @return the row of the first letter of the word
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return the column of the first letter of the word
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * @return the direction the word is read in
+     */
+    public Board.Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return the full word formed along the main direction, including letters already on the board
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * @return bit mask of the word positions that are newly placed tiles
+     */
+    public int getPlacedMask() {
+        return placedMask;
+    }
+
+    /**
+     * @return bit mask of the word positions that are newly placed blanks
+     */
+    public int getBlankMask() {
+        return blankMask;
+    }
+
+    /**
+     * @return the number of tiles this move takes from the rack
+     */
+    public int getTileCount() {
+        return Integer.bitCount(placedMask);
+    }
+
+    /**
+     * @param index position in the word
+     * @return true if the letter at index is a tile placed by this move
+     */
+    public boolean isPlaced(int index) {
+        return (placedMask & (1 << index)) != 0;
+    }
+
+    /**
+     * @param index position in the word
+     * @return true if the letter at index is a placed blank tile
+     */
+    public boolean isBlank(int index) {
+        return (blankMask & (1 << index)) != 0;
+    }
+
+    /**
+     * @return the letters of the newly placed tiles, in board order
+     */
+    public String getPlacedLetters() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < word.length(); i++) {
+            if (isPlaced(i)) {
+                sb.append(word.charAt(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the coordinates of the first placed tile in the format used by Models.Command: row then column letter
+     * for horizontal plays ("8H") and column letter then row for vertical plays ("H8").
+     * @return String of the placement attempt
+     */
+    public String getPlacementAttempt() {
+        int first = Integer.numberOfTrailingZeros(placedMask);
+        int placedRow = (direction == Board.Direction.VERTICAL) ? row + first : row;
+        int placedCol = (direction == Board.Direction.HORIZONTAL) ? col + first : col;
+        char column = (char) (PlayMove.ASCII_BASE + placedCol);
+        return (direction == Board.Direction.HORIZONTAL) ? "" + placedRow + column : "" + column + placedRow;
+    }
+
+    @Override
+    public String toString() {
+        return word + "@" + getPlacementAttempt();
+    }
+}
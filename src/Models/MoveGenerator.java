@@ -0,0 +1,1033 @@
+package Models;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.MoveGenerator enumerates every legal play for a rack on a given board using the Appel-Jacobson algorithm.
+ * For each row (and then each column) it finds the anchor squares, which are the empty squares next to a tile, and
+ * the cross-check set of every empty square, which is the set of letters that form a valid word with the tiles
+ * above and below it. Words are then grown through the Models.Lexicon: a left part is built from the rack (or taken
+ * from the tiles already on the board) and extended to the right across the anchor, so only dictionary prefixes are
+ * ever explored.
+ *
+ * With the GADDAG backend the graph is a GADDAG instead (see Models.Lexicon.gaddagFromWords()), and words are grown
+ * from the anchor itself: first leftwards, then across the separator and rightwards (Gordon's algorithm). Both
+ * backends find exactly the same moves. The GADDAG makes fewer search steps, but its graph is about six times larger
+ * and each step does more work, so the trie generates moves faster (see Models.LexiconReport) and is the default.
+ * The backend used by the AI defaults to the scrabble.movegen.backend system property (TRIE or GADDAG).
+ *
+ * Generators made by create() use the shared dictionary, so they read the anchors and cross-checks that the
+ * Models.Board keeps up to date instead of computing them for every square on every call.
+ *
+ * Every row and every column is searched on its own, so the 30 lines are searched in parallel on a ForkJoinPool
+ * (see analyze()). Each line keeps its own moves and best move, and the results are merged back in line order, across
+ * lines 1-15 and then down lines 1-15, so the moves, their order and the best move are the same for any number of
+ * threads. The number of threads defaults to the scrabble.movegen.threads system property, or the number of cores;
+ * with 1 the lines are searched one after the other on the calling thread.
+ *
+ * A search can also be given a deadline (see analyze(Board, Rack, long)). Moves are then scored as they are found, so
+ * there is always a best move so far, and the search stops where it is when the deadline passes. Within a task the
+ * lines with the most anchors are searched first. The Analysis reports the share of the anchors that were searched.
+ * A search stops the same way when the thread that started it is interrupted, as by Future.cancel(true). Callers
+ * that only need the best play can skip the list of every play (see best()).
+ *
+ * A generator made by withLeaves() ranks moves by equity instead of score alone: the score plus the value of the
+ * tiles left on the rack (see Models.LeaveTable), looked up as each move is found from the rack counts the search
+ * already keeps.
+ *
+ * The generator itself holds no mutable state and can be shared between threads.
+ *
+ * @date 2026.10.17
+ */
+public class MoveGenerator {
+
+    /**
+     * Index of blank tiles in a rack count array, after the 26 letters.
+     */
+    public static final int BLANK = Lexicon.ALPHABET_SIZE;
+    public static final int RACK_SIZE = Lexicon.ALPHABET_SIZE + 1;
+    public static final int BOARD_SIZE = 15;
+    public static final int CENTRE = 8;
+    public static final char EMPTY = ' ';
+
+    protected static final int ALL_LETTERS = (1 << Lexicon.ALPHABET_SIZE) - 1;
+
+    /**
+     * The word graphs move generation can run on.
+     */
+    public enum Backend { TRIE, GADDAG }
+
+    /**
+     * Backend chosen by the scrabble.movegen.backend system property, TRIE if it is not set or not a backend.
+     */
+    public static final Backend DEFAULT_BACKEND = GameLogger.enumProperty("scrabble.movegen.backend", Backend.TRIE);
+
+    /**
+     * Threads searching the lines of a board, from the scrabble.movegen.threads system property.
+     */
+    public static final int PARALLELISM =
+            Integer.getInteger("scrabble.movegen.threads", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Deadline of a search without a time budget.
+     */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /**
+     * The clock and the interrupt status are read once every CHECK_INTERVAL + 1 steps of a search.
+     */
+    private static final int CHECK_INTERVAL = 255;
+
+    /**
+     * Holder class so the pool is only started the first time a board is searched in parallel.
+     */
+    private static final class Pool {
+        private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM);
+    }
+
+    protected final Lexicon lexicon;
+    protected final Backend backend;
+
+    /**
+     * True when lexicon holds the same words as Models.WordValidator, so the board's cross-checks can be used.
+     */
+    private final boolean boardCrossChecks;
+
+    /**
+     * Values of the leaves moves are ranked with, null to rank them by score alone.
+     */
+    private final LeaveTable leaves;
+
+    /**
+     * Constructor for Models.MoveGenerator using a plain word graph.
+     * @param lexicon the dictionary words are generated from
+     * */
+    public MoveGenerator(Lexicon lexicon) {
+        this(lexicon, Backend.TRIE);
+    }
+
+    /**
+     * Constructor for Models.MoveGenerator.
+     * @param graph the dictionary as a word graph (TRIE) or as a GADDAG (GADDAG)
+     * @param backend how graph is laid out
+     * */
+    public MoveGenerator(Lexicon graph, Backend backend) {
+        this(graph, backend, false);
+    }
+
+    private MoveGenerator(Lexicon graph, Backend backend, boolean boardCrossChecks) {
+        this(graph, backend, boardCrossChecks, null);
+    }
+
+    private MoveGenerator(Lexicon graph, Backend backend, boolean boardCrossChecks, LeaveTable leaves) {
+        this.lexicon = graph;
+        this.backend = backend;
+        this.boardCrossChecks = boardCrossChecks;
+        this.leaves = leaves;
+    }
+
+    /**
+     * Returns a generator on the same dictionary that ranks moves by their score plus the value of their leave.
+     * @param leaves the leave values, null to rank by score alone
+     * @return Models.MoveGenerator
+     */
+    public MoveGenerator withLeaves(LeaveTable leaves) {
+        return new MoveGenerator(lexicon, backend, boardCrossChecks, leaves);
+    }
+
+    /**
+     * @return the leave values moves are ranked with, null if they are ranked by score alone
+     */
+    public LeaveTable getLeaves() {
+        return leaves;
+    }
+
+    /**
+     * Creates a generator on the shared dictionary of Models.WordValidator for the given backend.
+     * @param backend the word graph to generate with
+     * @return Models.MoveGenerator
+     */
+    public static MoveGenerator create(Backend backend) {
+        WordValidator validator = WordValidator.getInstance();
+        return (backend == Backend.GADDAG)
+                ? new MoveGenerator(validator.getGaddag(), Backend.GADDAG, true)
+                : new MoveGenerator(validator.getLexicon(), Backend.TRIE, true);
+    }
+
+    /**
+     * @return the backend this generator runs on
+     */
+    public Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Converts a hand of tiles into letter counts, blanks ("_") being counted at index BLANK.
+     * @param hand the tiles to count
+     * @return int array of RACK_SIZE counts
+     */
+    public static int[] rackCounts(List<Tile> hand) {
+        int[] rack = new int[RACK_SIZE];
+        for (Tile t : hand) {
+            int slot = Rack.slotOf(t.getLetter().charAt(Hand.PARSE_CHAR_AT_ZERO));
+            if (slot >= 0) {
+                rack[slot]++;
+            }
+        }
+        return rack;
+    }
+
+    /**
+     * Generates all legal plays of the given hand on the board.
+     * @param board the current board
+     * @param hand the tiles available to play
+     * @return ArrayList of every legal Models.Move
+     */
+    public ArrayList<Move> generateMoves(Board board, List<Tile> hand) {
+        return generateMoves(board, rackCounts(hand));
+    }
+
+    /**
+     * Generates all legal plays of the given rack on the board.
+     * @param board the current board
+     * @param rack the tiles available to play
+     * @return ArrayList of every legal Models.Move
+     */
+    public ArrayList<Move> generateMoves(Board board, Rack rack) {
+        return generateMoves(board, rack.copyCounts(new int[RACK_SIZE]));
+    }
+
+    /**
+     * Generates all legal plays of the given rack on the board.
+     * @param board the current board
+     * @param rack letter counts of the rack, see rackCounts()
+     * @return ArrayList of every legal Models.Move
+     */
+    public ArrayList<Move> generateMoves(Board board, int[] rack) {
+        return analyze(board, rack, false, defaultPool()).getMoves();
+    }
+
+    /**
+     * Generates all legal plays of the given rack on the board and finds the highest scoring one.
+     * @param board the current board
+     * @param rack the tiles available to play
+     * @return Analysis with every legal Models.Move and the best of them
+     */
+    public Analysis analyze(Board board, Rack rack) {
+        return analyze(board, rack.copyCounts(new int[RACK_SIZE]), true, defaultPool());
+    }
+
+    /**
+     * Generates and scores the legal plays of the given rack on the board until the time budget runs out, returning
+     * the best play found by then. Without a budget every play is found, as with analyze(Board, Rack).
+     * @param board the current board
+     * @param rack the tiles available to play
+     * @param budgetNanos the time the search may take in nanoseconds, 0 or less for no limit
+     * @return Analysis with the plays found, the best of them and the share of the board searched
+     */
+    public Analysis analyze(Board board, Rack rack, long budgetNanos) {
+        long deadline = (budgetNanos > 0) ? System.nanoTime() + budgetNanos : NO_DEADLINE;
+        return analyze(board, rack.copyCounts(new int[RACK_SIZE]), true, defaultPool(), deadline);
+    }
+
+    /**
+     * Generates all legal plays of the given rack on the board, searching the lines of the board on a pool. When
+     * called from a task of another ForkJoinPool, such as the games of Models.Simulator, the lines are searched on
+     * that pool instead.
+     * @param board the current board
+     * @param rack letter counts of the rack, see rackCounts()
+     * @param score true to score the moves and find the best one (see Models.MoveScorer)
+     * @param pool the pool to search on, null to search on the calling thread
+     * @return Analysis with every legal Models.Move, and the best of them if score is true
+     */
+    public Analysis analyze(Board board, int[] rack, boolean score, ForkJoinPool pool) {
+        return analyze(board, rack, score, pool, NO_DEADLINE);
+    }
+
+    /**
+     * Generates the legal plays of the given rack on the board until a deadline, see analyze(Board, int[], boolean,
+     * ForkJoinPool).
+     * @param board the current board
+     * @param rack letter counts of the rack, see rackCounts()
+     * @param score true to score the moves and find the best one (see Models.MoveScorer)
+     * @param pool the pool to search on, null to search on the calling thread
+     * @param deadline System.nanoTime() at which the search stops, NO_DEADLINE to find every play
+     * @return Analysis with the plays found, and the best of them if score is true
+     */
+    public Analysis analyze(Board board, int[] rack, boolean score, ForkJoinPool pool, long deadline) {
+        return search(board, rack, score, true, pool, deadline);
+    }
+
+    /**
+     * Finds the best play of the given rack on the board until a deadline without keeping the list of every play, for
+     * callers that only need the best one, such as the replies of Models.MonteCarloSearch. Only the best play is made
+     * into a Models.Move; the others are scored from the search's own buffers.
+     * @param board the current board
+     * @param rack letter counts of the rack, see rackCounts()
+     * @param pool the pool to search on, null to search on the calling thread
+     * @param deadline System.nanoTime() at which the search stops, NO_DEADLINE to search every play
+     * @return Analysis with no moves, only the best of them
+     */
+    public Analysis best(Board board, int[] rack, ForkJoinPool pool, long deadline) {
+        return search(board, rack, true, false, pool, deadline);
+    }
+
+    /**
+     * Searches the board for the plays of the rack, see analyze(Board, int[], boolean, ForkJoinPool, long).
+     */
+    private Analysis search(Board board, int[] rack, boolean score, boolean keepMoves, ForkJoinPool pool,
+                            long deadline) {
+        char[][] grid = gridOf(board);
+        if (boardCrossChecks) {
+            board.prepareCrossChecks();
+        }
+        LineSearch task = new LineSearch(board, grid, rack, score, keepMoves, pool != null, deadline);
+        if (pool == null) {
+            return task.compute();
+        }
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+    }
+
+    /**
+     * @return the shared pool, or null if the lines are searched on the calling thread
+     */
+    static ForkJoinPool defaultPool() {
+        return (PARALLELISM > 1) ? Pool.POOL : null;
+    }
+
+    /**
+     * Copies the letters of the board into a grid with an empty border at 0 and 16, so neighbours never go out of
+     * bounds.
+     */
+    private static char[][] gridOf(Board board) {
+        char[][] grid = new char[BOARD_SIZE + 2][BOARD_SIZE + 2];
+        for (char[] row : grid) {
+            Arrays.fill(row, EMPTY);
+        }
+        for (int row = 1; row <= BOARD_SIZE; row++) {
+            for (int col = 1; col <= BOARD_SIZE; col++) {
+                String letter = board.getLetterAt(row, col);
+                if (!letter.equals(" ")) {
+                    grid[row][col] = letter.charAt(0);
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Counts the anchors of a line from the grid: its empty squares next to a tile, or the centre of an empty board.
+     * @param index the line, 0-14 for the rows and 15-29 for the columns
+     */
+    private static int anchorCount(char[][] grid, int index) {
+        int line = index % BOARD_SIZE + 1;
+        boolean across = index < BOARD_SIZE;
+        int count = 0;
+        for (int pos = 1; pos <= BOARD_SIZE; pos++) {
+            int row = across ? line : pos;
+            int col = across ? pos : line;
+            if (grid[row][col] == EMPTY && (grid[row - 1][col] != EMPTY || grid[row + 1][col] != EMPTY
+                    || grid[row][col - 1] != EMPTY || grid[row][col + 1] != EMPTY)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The moves found on some lines of a board and the best of them. Every task keeps its own and they are merged in
+     * line order, the best move of a later line only replacing one with strictly less equity, which picks the same
+     * move as ranking the whole list in order.
+     */
+    public static final class Analysis {
+        private final ArrayList<Move> moves;
+        private final Move bestMove;
+        private final int bestScore;
+        private final double bestEquity;
+        private final int anchors;
+        private final int searchedAnchors;
+
+        Analysis(ArrayList<Move> moves, Move bestMove, int bestScore, double bestEquity, int anchors,
+                 int searchedAnchors) {
+            this.moves = moves;
+            this.bestMove = bestMove;
+            this.bestScore = bestScore;
+            this.bestEquity = bestEquity;
+            this.anchors = anchors;
+            this.searchedAnchors = searchedAnchors;
+        }
+
+        /**
+         * Appends the moves of the lines after these.
+         */
+        Analysis merge(Analysis next) {
+            moves.addAll(next.moves);
+            boolean better = next.bestMove != null && (bestMove == null || next.bestEquity > bestEquity);
+            Analysis best = better ? next : this;
+            return new Analysis(moves, best.bestMove, best.bestScore, best.bestEquity, anchors + next.anchors,
+                    searchedAnchors + next.searchedAnchors);
+        }
+
+        /**
+         * @return every legal move, in line order
+         */
+        public ArrayList<Move> getMoves() {
+            return moves;
+        }
+
+        /**
+         * @return the scoring move with the most equity, the highest scoring one without leave values, null if no
+         * move scores or the moves were not scored
+         */
+        public Move getBestMove() {
+            return bestMove;
+        }
+
+        /**
+         * @return the score of the best move plus the value of its leave, 0 if there is none
+         */
+        public double getBestEquity() {
+            return bestEquity;
+        }
+
+        /**
+         * @return the score of the best move, 0 if there is none
+         */
+        public int getBestScore() {
+            return bestScore;
+        }
+
+        /**
+         * @return the share of the board's anchors whose plays were all found, from 0 to 1
+         */
+        public double getCoverage() {
+            return (anchors == 0) ? 1.0 : (double) searchedAnchors / anchors;
+        }
+
+        /**
+         * @return true if every play was found, false if the search ran out of time
+         */
+        public boolean isComplete() {
+            return searchedAnchors == anchors;
+        }
+    }
+
+    /**
+     * Searches the lines [from, to) of a board, lines 0-14 being the rows and 15-29 the columns, splitting them in
+     * halves until every task searches a single line.
+     */
+    @SuppressWarnings("serial") // tasks are never serialized
+    private final class LineSearch extends RecursiveTask<Analysis> {
+        private final Board board;
+        private final char[][] grid;
+        private final int[] rack;
+        private final boolean score;
+        private final boolean keepMoves;
+        private final boolean split;
+        private final long deadline;
+        private final Thread owner;
+        private final int from;
+        private final int to;
+
+        /**
+         * Task searching the whole board.
+         */
+        LineSearch(Board board, char[][] grid, int[] rack, boolean score, boolean keepMoves, boolean split,
+                   long deadline) {
+            this.board = board;
+            this.grid = grid;
+            this.rack = rack;
+            this.score = score;
+            this.keepMoves = keepMoves;
+            this.split = split;
+            this.deadline = deadline;
+            this.owner = Thread.currentThread();
+            this.from = 0;
+            this.to = 2 * BOARD_SIZE;
+        }
+
+        /**
+         * Task searching part of the lines of its parent.
+         */
+        private LineSearch(LineSearch parent, int from, int to) {
+            this.board = parent.board;
+            this.grid = parent.grid;
+            this.rack = parent.rack;
+            this.score = parent.score;
+            this.keepMoves = parent.keepMoves;
+            this.split = parent.split;
+            this.deadline = parent.deadline;
+            this.owner = parent.owner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Analysis compute() {
+            if (split && to - from > 1) {
+                int middle = (from + to) >>> 1;
+                LineSearch first = new LineSearch(this, from, middle);
+                LineSearch second = new LineSearch(this, middle, to);
+                second.fork();
+                Analysis result = first.compute();
+                return result.merge(second.join());
+            }
+            // search the lines with the most anchors first, so a search that runs out of time has covered the most
+            Integer[] order = new Integer[to - from];
+            int[] anchorCounts = new int[to - from];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+                anchorCounts[i] = anchorCount(grid, from + i);
+            }
+            Arrays.sort(order, (a, b) -> anchorCounts[b] - anchorCounts[a]);
+
+            Search search = new Search(board, grid, rack, score, keepMoves, deadline, owner);
+            Analysis[] lines = new Analysis[order.length];
+            for (int i : order) {
+                int index = from + i;
+                int line = index % BOARD_SIZE + 1;
+                search.generate(index < BOARD_SIZE, line, line);
+                lines[i] = search.takeAnalysis();
+            }
+            Analysis result = lines[0];
+            for (int i = 1; i < lines.length; i++) {
+                result = result.merge(lines[i]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * State of the search of some lines: the padded board, the anchors and cross-checks of the current direction, the
+     * remaining rack and the word being built.
+     */
+    private class Search {
+
+        /**
+         * Board letters indexed [row][col] with an empty border at 0 and 16, shared by the searches of all lines.
+         */
+        private final char[][] grid;
+        private final int[][] crossChecks = new int[BOARD_SIZE + 2][BOARD_SIZE + 2];
+        private final boolean[][] anchors = new boolean[BOARD_SIZE + 2][BOARD_SIZE + 2];
+        private final Board board;
+        private final int[] rack;
+        private final char[] word = new char[BOARD_SIZE];
+        private final boolean[] blank = new boolean[BOARD_SIZE];
+
+        /**
+         * Letters of the GADDAG word being built, indexed by position on the line since it grows in both directions.
+         */
+        private final char[] squares = new char[BOARD_SIZE + 2];
+        private final boolean[] squareBlank = new boolean[BOARD_SIZE + 2];
+        private final boolean boardEmpty;
+
+        /**
+         * True if moves are scored as they are found.
+         */
+        private final boolean score;
+
+        /**
+         * False if only the best move is kept, not the list of every move.
+         */
+        private final boolean keepMoves;
+
+        /**
+         * The first letters of word, for scoring a play before a Models.Move is made of it.
+         */
+        private final CharBuffer wordView = CharBuffer.wrap(word);
+        private final long deadline;
+        private final Thread owner;
+        private boolean stopped;
+        private int steps;
+
+        /**
+         * Letters the rack holds at least one tile of, kept in step with rack by take() and putBack().
+         */
+        private int rackLetters;
+
+        private ArrayList<Move> moves = new ArrayList<>();
+        private Move bestMove;
+        private int bestScore;
+        private double bestEquity;
+        private int anchorCount;
+        private int searchedAnchors;
+
+        private boolean across;
+        private int line;
+        private int anchor;
+
+        Search(Board board, char[][] grid, int[] rack, boolean score, boolean keepMoves, long deadline,
+               Thread owner) {
+            this.board = board;
+            this.grid = grid;
+            this.score = score;
+            this.keepMoves = keepMoves;
+            this.deadline = deadline;
+            this.owner = owner;
+            this.rack = rack.clone();
+            for (int letter = 0; letter < Lexicon.ALPHABET_SIZE; letter++) {
+                if (this.rack[letter] > 0) {
+                    this.rackLetters |= 1 << letter;
+                }
+            }
+            boolean empty = true;
+            for (int row = 1; row <= BOARD_SIZE && empty; row++) {
+                for (int col = 1; col <= BOARD_SIZE; col++) {
+                    if (grid[row][col] != EMPTY) {
+                        empty = false;
+                        break;
+                    }
+                }
+            }
+            this.boardEmpty = empty;
+        }
+
+        /**
+         * Returns what was found since the last call, and starts over with the next line.
+         */
+        Analysis takeAnalysis() {
+            Analysis analysis = new Analysis(moves, bestMove, bestScore, bestEquity, anchorCount, searchedAnchors);
+            moves = new ArrayList<>();
+            bestMove = null;
+            bestScore = 0;
+            bestEquity = 0;
+            anchorCount = 0;
+            searchedAnchors = 0;
+            return analysis;
+        }
+
+        /**
+         * Returns true once the deadline has passed or the thread that started the search was interrupted. They are
+         * only read every CHECK_INTERVAL + 1 calls, or on every call if now is true.
+         */
+        private boolean outOfTime(boolean now) {
+            if (!stopped && (now || (++steps & CHECK_INTERVAL) == 0)) {
+                stopped = owner.isInterrupted() || (deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0);
+            }
+            return stopped;
+        }
+
+        /**
+         * Returns the letters a tile can be played for: every letter while the rack holds a blank, otherwise the
+         * letters of its tiles, so the search never follows an edge it has no tile for.
+         */
+        private int playable() {
+            return (rack[BLANK] > 0) ? ALL_LETTERS : rackLetters;
+        }
+
+        /**
+         * Takes a tile of the given letter off the rack.
+         */
+        private void take(int letter) {
+            if (--rack[letter] == 0) {
+                rackLetters &= ~(1 << letter);
+            }
+        }
+
+        /**
+         * Puts a tile of the given letter back on the rack.
+         */
+        private void putBack(int letter) {
+            rack[letter]++;
+            rackLetters |= 1 << letter;
+        }
+
+        /**
+         * Letter at the given position of a line in the current direction.
+         */
+        private char at(int line, int pos) {
+            return across ? grid[line][pos] : grid[pos][line];
+        }
+
+        /**
+         * Generates all moves on the lines [first, last] of one direction.
+         * @param across true for horizontal words, false for vertical words
+         * @param first the first line, 1-15
+         * @param last the last line, 1-15
+         */
+        void generate(boolean across, int first, int last) {
+            this.across = across;
+            computeAnchorsAndCrossChecks(first, last);
+            int rackTiles = 0;
+            for (int count : rack) {
+                rackTiles += count;
+            }
+            for (line = first; line <= last; line++) {
+                for (int pos = 1; pos <= BOARD_SIZE; pos++) {
+                    if (!anchors[line][pos]) {
+                        continue;
+                    }
+                    anchorCount++;
+                    if (outOfTime(true)) {
+                        continue;
+                    }
+                    anchor = pos;
+                    if (backend == Backend.GADDAG) {
+                        gaddagGen(pos, Lexicon.ROOT, false, 0);
+                    } else if (at(line, pos - 1) != EMPTY) {
+                        // the left part is the word already on the board in front of the anchor
+                        int start = pos - 1;
+                        while (at(line, start - 1) != EMPTY) {
+                            start--;
+                        }
+                        int node = Lexicon.ROOT;
+                        int length = 0;
+                        for (int p = start; p < pos && node != Lexicon.NO_NODE; p++) {
+                            word[length] = at(line, p);
+                            blank[length++] = false;
+                            node = lexicon.child(node, Lexicon.letterIndex(at(line, p)));
+                        }
+                        if (node != Lexicon.NO_NODE) {
+                            extendRight(length, node, pos);
+                        }
+                    } else {
+                        // the left part comes from the rack, over empty squares that are not anchors themselves
+                        int limit = 0;
+                        for (int p = pos - 1; p >= 1 && at(line, p) == EMPTY && !anchors[line][p]; p--) {
+                            limit++;
+                        }
+                        leftPart(0, Lexicon.ROOT, Math.min(limit, rackTiles - 1));
+                    }
+                    if (!stopped) {
+                        searchedAnchors++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Marks the anchor squares and computes the cross-check set of every empty square of the lines [first, last]
+         * for the current direction.
+         */
+        private void computeAnchorsAndCrossChecks(int first, int last) {
+            if (boardCrossChecks) {
+                Board.Direction direction = across ? Board.Direction.HORIZONTAL : Board.Direction.VERTICAL;
+                for (int l = first; l <= last; l++) {
+                    for (int p = 1; p <= BOARD_SIZE; p++) {
+                        int row = across ? l : p;
+                        int col = across ? p : l;
+                        anchors[l][p] = board.isAnchor(row, col);
+                        crossChecks[l][p] = board.getCrossCheck(row, col, direction);
+                    }
+                }
+                return;
+            }
+            for (int l = first; l <= last; l++) {
+                for (int p = 1; p <= BOARD_SIZE; p++) {
+                    anchors[l][p] = false;
+                    crossChecks[l][p] = 0;
+                    if (at(l, p) != EMPTY) {
+                        continue;
+                    }
+                    anchors[l][p] = at(l - 1, p) != EMPTY || at(l + 1, p) != EMPTY
+                            || at(l, p - 1) != EMPTY || at(l, p + 1) != EMPTY;
+                    crossChecks[l][p] = (backend == Backend.GADDAG) ? gaddagCrossCheck(l, p) : crossCheck(l, p);
+                }
+            }
+            if (boardEmpty) {
+                anchors[CENTRE][CENTRE] = true;
+            }
+        }
+
+        /**
+         * Returns the letters that can go on the empty square (l, p) given the perpendicular word through it.
+         */
+        private int crossCheck(int l, int p) {
+            if (at(l - 1, p) == EMPTY && at(l + 1, p) == EMPTY) {
+                return ALL_LETTERS;
+            }
+            int start = l;
+            while (at(start - 1, p) != EMPTY) {
+                start--;
+            }
+            int node = Lexicon.ROOT;
+            for (int i = start; i < l && node != Lexicon.NO_NODE; i++) {
+                node = lexicon.child(node, Lexicon.letterIndex(at(i, p)));
+            }
+            if (node == Lexicon.NO_NODE) {
+                return 0;
+            }
+            int mask = 0;
+            int candidates = lexicon.letterMask(node);
+            while (candidates != 0) {
+                int letter = Integer.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                int next = lexicon.child(node, letter);
+                for (int i = l + 1; at(i, p) != EMPTY && next != Lexicon.NO_NODE; i++) {
+                    next = lexicon.child(next, Lexicon.letterIndex(at(i, p)));
+                }
+                if (next != Lexicon.NO_NODE && lexicon.isTerminal(next)) {
+                    mask |= 1 << letter;
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Cross-check through the GADDAG, walking the letters around the square once and only branching on the
+         * letter of the square itself, as crossCheck() does: with letters above, the path is the letters above read
+         * upwards, the separator, the letter and the letters below; with letters below only, it is the whole word
+         * reversed, the letters below read upwards and then the letter.
+         */
+        private int gaddagCrossCheck(int l, int p) {
+            boolean above = at(l - 1, p) != EMPTY;
+            if (!above && at(l + 1, p) == EMPTY) {
+                return ALL_LETTERS;
+            }
+            int node = Lexicon.ROOT;
+            if (above) {
+                for (int i = l - 1; at(i, p) != EMPTY && node != Lexicon.NO_NODE; i--) {
+                    node = lexicon.child(node, Lexicon.letterIndex(at(i, p)));
+                }
+                if (node != Lexicon.NO_NODE) {
+                    node = lexicon.child(node, Lexicon.SEPARATOR);
+                }
+            } else {
+                int end = l + 1;
+                while (at(end + 1, p) != EMPTY) {
+                    end++;
+                }
+                for (int i = end; i > l && node != Lexicon.NO_NODE; i--) {
+                    node = lexicon.child(node, Lexicon.letterIndex(at(i, p)));
+                }
+            }
+            if (node == Lexicon.NO_NODE) {
+                return 0;
+            }
+            int mask = 0;
+            int candidates = lexicon.letterMask(node);
+            while (candidates != 0) {
+                int letter = Integer.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                int next = lexicon.child(node, letter);
+                for (int i = l + 1; above && at(i, p) != EMPTY && next != Lexicon.NO_NODE; i++) {
+                    next = lexicon.child(next, Lexicon.letterIndex(at(i, p)));
+                }
+                if (next != Lexicon.NO_NODE && lexicon.isTerminal(next)) {
+                    mask |= 1 << letter;
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Puts a letter on square pos of the current line, the tile already there or any rack tile the cross-check
+         * allows, and carries on with gaddagGoOn().
+         * @param right false while growing leftwards from the anchor, true after the separator
+         * @param leftEnd the leftmost square of the word once growing rightwards
+         */
+        private void gaddagGen(int pos, int node, boolean right, int leftEnd) {
+            if (outOfTime(false)) {
+                return;
+            }
+            char c = at(line, pos);
+            if (c != EMPTY) {
+                int next = lexicon.child(node, Lexicon.letterIndex(c));
+                if (next != Lexicon.NO_NODE) {
+                    squares[pos] = c;
+                    squareBlank[pos] = false;
+                    gaddagGoOn(pos, next, right, leftEnd);
+                }
+                return;
+            }
+            int candidates = lexicon.letterMask(node) & crossChecks[line][pos] & playable();
+            while (candidates != 0) {
+                int letter = Integer.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                int next = lexicon.child(node, letter);
+                squares[pos] = (char) ('A' + letter);
+                if (rack[letter] > 0) {
+                    take(letter);
+                    squareBlank[pos] = false;
+                    gaddagGoOn(pos, next, right, leftEnd);
+                    putBack(letter);
+                }
+                if (rack[BLANK] > 0) {
+                    rack[BLANK]--;
+                    squareBlank[pos] = true;
+                    gaddagGoOn(pos, next, right, leftEnd);
+                    rack[BLANK]++;
+                }
+            }
+        }
+
+        /**
+         * Records the word if it is complete and bounded on both sides, then keeps growing it. Leftwards the word may
+         * only grow over tiles and over empty squares that are not anchors, so every move is found from exactly one
+         * anchor, the leftmost one it covers, just like the trie search.
+         */
+        private void gaddagGoOn(int pos, int node, boolean right, int leftEnd) {
+            if (!right) {
+                boolean leftFree = pos == 1 || at(line, pos - 1) == EMPTY;
+                boolean rightFree = anchor == BOARD_SIZE || at(line, anchor + 1) == EMPTY;
+                if (leftFree && rightFree && pos < anchor && lexicon.isTerminal(node)) {
+                    recordSquares(pos, anchor);
+                }
+                if (pos > 1 && (at(line, pos - 1) != EMPTY || !anchors[line][pos - 1])) {
+                    gaddagGen(pos - 1, node, false, 0);
+                }
+                if (leftFree && anchor < BOARD_SIZE) {
+                    int next = lexicon.child(node, Lexicon.SEPARATOR);
+                    if (next != Lexicon.NO_NODE) {
+                        gaddagGen(anchor + 1, next, true, pos);
+                    }
+                }
+            } else {
+                boolean rightFree = pos == BOARD_SIZE || at(line, pos + 1) == EMPTY;
+                if (rightFree && lexicon.isTerminal(node)) {
+                    recordSquares(leftEnd, pos);
+                }
+                if (pos < BOARD_SIZE) {
+                    gaddagGen(pos + 1, node, true, leftEnd);
+                }
+            }
+        }
+
+        /**
+         * Copies the GADDAG word on squares [from, to] into the word buffer and records it.
+         */
+        private void recordSquares(int from, int to) {
+            int length = to - from + 1;
+            System.arraycopy(squares, from, word, 0, length);
+            System.arraycopy(squareBlank, from, blank, 0, length);
+            record(length, from);
+        }
+
+        /**
+         * Builds every left part of up to limit rack tiles that is a dictionary prefix, extending each to the right
+         * from the anchor.
+         */
+        private void leftPart(int length, int node, int limit) {
+            if (outOfTime(false)) {
+                return;
+            }
+            extendRight(length, node, anchor);
+            if (limit <= 0) {
+                return;
+            }
+            int candidates = lexicon.letterMask(node) & playable();
+            while (candidates != 0) {
+                int letter = Integer.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                int next = lexicon.child(node, letter);
+                word[length] = (char) ('A' + letter);
+                if (rack[letter] > 0) {
+                    take(letter);
+                    blank[length] = false;
+                    leftPart(length + 1, next, limit - 1);
+                    putBack(letter);
+                }
+                if (rack[BLANK] > 0) {
+                    rack[BLANK]--;
+                    blank[length] = true;
+                    leftPart(length + 1, next, limit - 1);
+                    rack[BLANK]++;
+                }
+            }
+        }
+
+        /**
+         * Extends the word occupying [pos - length, pos - 1] to the right, recording it whenever it is a complete
+         * word that covers the anchor.
+         */
+        private void extendRight(int length, int node, int pos) {
+            if (outOfTime(false)) {
+                return;
+            }
+            if (pos > BOARD_SIZE || at(line, pos) == EMPTY) {
+                if (pos > anchor && length >= 2 && lexicon.isTerminal(node)) {
+                    record(length, pos - length);
+                }
+                if (pos > BOARD_SIZE) {
+                    return;
+                }
+                int candidates = lexicon.letterMask(node) & crossChecks[line][pos] & playable();
+                while (candidates != 0) {
+                    int letter = Integer.numberOfTrailingZeros(candidates);
+                    candidates &= candidates - 1;
+                    int next = lexicon.child(node, letter);
+                    word[length] = (char) ('A' + letter);
+                    if (rack[letter] > 0) {
+                        take(letter);
+                        blank[length] = false;
+                        extendRight(length + 1, next, pos + 1);
+                        putBack(letter);
+                    }
+                    if (rack[BLANK] > 0) {
+                        rack[BLANK]--;
+                        blank[length] = true;
+                        extendRight(length + 1, next, pos + 1);
+                        rack[BLANK]++;
+                    }
+                }
+            } else {
+                int next = lexicon.child(node, Lexicon.letterIndex(at(line, pos)));
+                if (next != Lexicon.NO_NODE) {
+                    word[length] = at(line, pos);
+                    blank[length] = false;
+                    extendRight(length + 1, next, pos + 1);
+                }
+            }
+        }
+
+        /**
+         * Records the word of the given length starting at start on the current line.
+         */
+        private void record(int length, int start) {
+            int placedMask = 0;
+            int blankMask = 0;
+            for (int i = 0; i < length; i++) {
+                if (at(line, start + i) == EMPTY) {
+                    placedMask |= 1 << i;
+                    if (blank[i]) {
+                        blankMask |= 1 << i;
+                    }
+                }
+            }
+            // a single tile that also forms a horizontal word was already found by the horizontal pass
+            if (!across && Integer.bitCount(placedMask) == 1) {
+                int p = start + Integer.numberOfTrailingZeros(placedMask);
+                if (at(line - 1, p) != EMPTY || at(line + 1, p) != EMPTY) {
+                    return;
+                }
+            }
+            Move move = keepMoves ? makeMove(length, start, placedMask, blankMask) : null;
+            if (move != null) {
+                moves.add(move);
+            }
+            if (score) {
+                wordView.limit(length);
+                int points = across
+                        ? MoveScorer.score(board, line, start, Board.Direction.HORIZONTAL, wordView, placedMask,
+                                blankMask)
+                        : MoveScorer.score(board, start, line, Board.Direction.VERTICAL, wordView, placedMask,
+                                blankMask);
+                // the rack holds exactly the tiles the move leaves
+                double equity = (leaves != null) ? points + leaves.value(rack) : points;
+                if (points > 0 && (bestMove == null || equity > bestEquity)) {
+                    bestScore = points;
+                    bestEquity = equity;
+                    bestMove = (move != null) ? move : makeMove(length, start, placedMask, blankMask);
+                }
+            }
+        }
+
+        /**
+         * Makes a Models.Move of the word of the given length starting at start on the current line.
+         */
+        private Move makeMove(int length, int start, int placedMask, int blankMask) {
+            String w = new String(word, 0, length);
+            return across
+                    ? new Move(line, start, Board.Direction.HORIZONTAL, w, placedMask, blankMask)
+                    : new Move(start, line, Board.Direction.VERTICAL, w, placedMask, blankMask);
+        }
+    }
+}
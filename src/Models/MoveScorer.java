@@ -0,0 +1,168 @@
+package Models;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.MoveScorer scores plays by the rules: the main word plus every cross word formed by a new tile. Letter
+ * multipliers and word multipliers only count on the squares that receive a new tile, and blank tiles are worth
+ * nothing. All the work is int arithmetic on the packed Models.Board, so scoring a play allocates nothing and the AI
+ * can rank every generated Models.Move.
+ *
+ * @date 2026.10.17
+ */
+public final class MoveScorer {
+
+    /**
+     * Private constructor, all methods are static.
+     */
+    private MoveScorer() {
+    }
+
+    /**
+     * Returns the point value of a letter, 0 for anything that is not a letter A-Z.
+     * @param letter the letter
+     * @return int point value
+     */
+    public static int letterValue(char letter) {
+        return TileSet.getDefault().value(letter);
+    }
+
+    /**
+     * Scores a generated move on the board it was generated for, before its tiles are placed.
+     * @param board the board without the tiles of the move
+     * @param move the move to score
+     * @return int score of the main word plus all cross words
+     */
+    public static int score(Board board, Move move) {
+        return score(board, move.getRow(), move.getCol(), move.getDirection(), move.getWord(),
+                move.getPlacedMask(), move.getBlankMask());
+    }
+
+    /**
+     * Scores a play given by its parts rather than a Models.Move, so a search can rank the plays it finds without
+     * making a Models.Move of each.
+     * @param board the board without the tiles of the play
+     * @param row the row of the first letter
+     * @param col the column of the first letter
+     * @param direction the direction the word is read in
+     * @param word the letters of the whole word, including the ones already on the board
+     * @param placedMask bit mask of the word positions that are newly placed tiles
+     * @param blankMask bit mask of the word positions that are newly placed blanks
+     * @return int score of the main word plus all cross words
+     */
+    public static int score(Board board, int row, int col, Board.Direction direction, CharSequence word,
+                            int placedMask, int blankMask) {
+        int rowStep = (direction == Board.Direction.VERTICAL) ? 1 : 0;
+        int colStep = 1 - rowStep;
+        int wordScore = 0;
+        int wordMultiplier = 1;
+        int crossScore = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int r = row + i * rowStep;
+            int c = col + i * colStep;
+            if ((placedMask & (1 << i)) == 0) {
+                wordScore += tileValue(board, r, c);
+                continue;
+            }
+            Square.Multiplier multiplier = board.getMultiplierAt(r, c);
+            int value = ((blankMask & (1 << i)) != 0) ? 0 : letterValue(word.charAt(i));
+            wordScore += value * letterMultiplier(multiplier);
+            wordMultiplier *= wordMultiplier(multiplier);
+            crossScore += crossWordScore(board, r, c, colStep, rowStep, value, multiplier);
+        }
+        return wordScore * wordMultiplier + crossScore;
+    }
+
+    /**
+     * Scores the last play made on the board (see Models.Board.getLastPlayTileCount()), whose tiles are already on it.
+     * @param board the board after the play
+     * @return int score of the main word plus all cross words
+     */
+    public static int scoreLastPlay(Board board) {
+        int tiles = board.getLastPlayTileCount();
+        if (tiles == 0) {
+            return 0;
+        }
+        int firstRow = board.getLastPlayRow(0);
+        int firstCol = board.getLastPlayCol(0);
+        boolean vertical = tiles > 1 && board.getLastPlayCol(1) == firstCol;
+        int rowStep = vertical ? 1 : 0;
+        int colStep = 1 - rowStep;
+
+        int row = firstRow;
+        int col = firstCol;
+        while (board.getCharAt(row - rowStep, col - colStep) != MoveGenerator.EMPTY) {
+            row -= rowStep;
+            col -= colStep;
+        }
+        int wordScore = 0;
+        int wordMultiplier = 1;
+        int crossScore = 0;
+        int length = 0;
+        for (; board.getCharAt(row, col) != MoveGenerator.EMPTY; row += rowStep, col += colStep) {
+            length++;
+            int value = tileValue(board, row, col);
+            if (!isLastPlayed(board, row, col)) {
+                wordScore += value;
+                continue;
+            }
+            Square.Multiplier multiplier = board.getMultiplierAt(row, col);
+            wordScore += value * letterMultiplier(multiplier);
+            wordMultiplier *= wordMultiplier(multiplier);
+            crossScore += crossWordScore(board, row, col, colStep, rowStep, value, multiplier);
+        }
+        // a single tile only forms a main word if it has neighbours in that direction
+        return ((length > 1) ? wordScore * wordMultiplier : 0) + crossScore;
+    }
+
+    /**
+     * Scores the word through the new tile at (row, col) in the direction (rowStep, colStep), or 0 if the tile has
+     * no neighbour in that direction. Only the letters next to it are read from the board.
+     */
+    private static int crossWordScore(Board board, int row, int col, int rowStep, int colStep, int value,
+                                      Square.Multiplier multiplier) {
+        int sum = 0;
+        boolean formed = false;
+        for (int r = row - rowStep, c = col - colStep; board.getCharAt(r, c) != MoveGenerator.EMPTY;
+             r -= rowStep, c -= colStep) {
+            sum += tileValue(board, r, c);
+            formed = true;
+        }
+        for (int r = row + rowStep, c = col + colStep; board.getCharAt(r, c) != MoveGenerator.EMPTY;
+             r += rowStep, c += colStep) {
+            sum += tileValue(board, r, c);
+            formed = true;
+        }
+        if (!formed) {
+            return 0;
+        }
+        return (sum + value * letterMultiplier(multiplier)) * wordMultiplier(multiplier);
+    }
+
+    /**
+     * Returns the value of the tile on the board at (row, col), 0 for blank tiles.
+     */
+    private static int tileValue(Board board, int row, int col) {
+        return board.isBlankTileAt(row, col) ? 0 : letterValue(board.getCharAt(row, col));
+    }
+
+    /**
+     * Returns true if the tile at (row, col) was placed by the last play.
+     */
+    private static boolean isLastPlayed(Board board, int row, int col) {
+        for (int i = 0; i < board.getLastPlayTileCount(); i++) {
+            if (board.getLastPlayRow(i) == row && board.getLastPlayCol(i) == col) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int letterMultiplier(Square.Multiplier multiplier) {
+        return (multiplier == Square.Multiplier.DL || multiplier == Square.Multiplier.TL) ? multiplier.getValue() : 1;
+    }
+
+    private static int wordMultiplier(Square.Multiplier multiplier) {
+        return (multiplier == Square.Multiplier.DW || multiplier == Square.Multiplier.TW) ? multiplier.getValue() : 1;
+    }
+}
@@ -10,6 +10,9 @@ import java.util.ArrayList;
  * The job of the Models.PlayMove class is primarily parse certain values (like coordinates) out of the
  * passed in Strings related to user inputs. It is also meant to handle exception cases like when
  * a Models.Tile is blank. Once all necessary information is parsed, it is placed on the Models.Board.
+ *
+ * The word is placed on the given board as a trial (see Models.Board.beginTrial()), so nothing is copied. The caller
+ * keeps it with commit() once the word is known to be valid, or takes it back with discard().
  * @author  Mohamed Kaddour
  * @date 2022.10.25
  */
@@ -28,22 +31,15 @@ public class PlayMove implements Serializable {
 
 
     /**
-     * Constructor for Models.PlayMove initializes the copy of the board (acting as a copy constructor) and also
-     * initializes class state.
+     * Constructor for Models.PlayMove initializes class state.
      * @param placementAttempt the String including the coordinates where the player wants to place.
      * @param direction boolean for the direction (horizontal, vertical)
-     * @param board The board that is going to be copied.
+     * @param board The board the word is tried on.
      * @param wordTiles The ArrayList of Tiles to be printed.
      * */
     public PlayMove(String placementAttempt, ArrayList<Tile> wordTiles, Board board, boolean direction)
     {
-        //Manual Cloning
-        this.board = new Board();
-        this.board.setCells(board.getCells());
-        this.board.setSquares(board.getSquares());
-        this.board.setTiles(board.getTiles());
-        this.board.setFirstPlay(board.isFirstPlay());
-        this.board.updateBoardPattern(board.getBoardPattern());
+        this.board = board;
 
         this.placementAttempt = placementAttempt;
         this.direction = direction ? Board.Direction.HORIZONTAL : Board.Direction.VERTICAL;
@@ -109,13 +105,13 @@ public class PlayMove implements Serializable {
     }
 
     /**
-     * Gets the current board score related to the recently placed word and returns it.
+     * Gets the current board score related to the recently placed word and returns it: the main word and every cross
+     * word formed, see Models.MoveScorer.
      * @return int as the word score
      * */
     public int getPlayedWordScore()
     {
-        //return this.board.getWordScore(parseRow(), parseColumn(), this.wordTiles, this.direction);
-        return this.board.getWordScore(parseRow(), parseColumn());
+        return MoveScorer.scoreLastPlay(this.board);
     }
 
     /**
@@ -126,6 +122,7 @@ public class PlayMove implements Serializable {
     public boolean placeTile()
     {
         if (this.direction != null && this.placementAttempt != null) {
+            this.board.beginTrial();
             return this.board.placeWord(parseRow(), parseColumn(), this.wordTiles, this.direction);
         }
         else
@@ -134,6 +131,22 @@ public class PlayMove implements Serializable {
         }
     }
 
+    /**
+     * Keeps the placed tiles on the board.
+     * */
+    public void commit()
+    {
+        this.board.commitTrial();
+    }
+
+    /**
+     * Takes the placed tiles back off the board, leaving it as it was before placeTile().
+     * */
+    public void discard()
+    {
+        this.board.rollbackTrial();
+    }
+
     /**
      * Returns the updated board in the case where everything is valid.
      * @return the current board in this class
@@ -149,8 +162,7 @@ public class PlayMove implements Serializable {
      * @return boolean if all the passed in words are valid.
      * */
     public boolean checkWord() throws FileNotFoundException {
-        WordValidator wordValidator = new WordValidator();
         ArrayList<String> allWords = board.getNewWords();
-        return wordValidator.isWordsValid(allWords);
+        return WordValidator.getInstance().isWordsValid(allWords);
     }
 }
\ No newline at end of file
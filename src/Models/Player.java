@@ -66,7 +66,7 @@ public class Player implements Serializable {
     {
         if ((this.hand.removeTiles(removeTiles, true)) == false)
         {
-            System.out.println("Couldn't remove tiles from hand");
+            GameLogger.warn("Couldn't remove tiles from hand");
         }
         else
         {
@@ -74,7 +74,7 @@ public class Player implements Serializable {
 
             if ((this.hand.getHandSize() == Hand.MAX_HAND_SIZE) == false)
             {
-                System.out.print("Unexpected Models.Hand size: " + this.hand.getHandSize());
+                GameLogger.warn("Unexpected hand size: {}", this.hand.getHandSize());
             }
         }
 
@@ -109,7 +109,7 @@ public class Player implements Serializable {
         boolean rc = true;
 
         if ((rc = (t.size() == Hand.MAX_HAND_SIZE)) == false) {
-            System.out.println("Need to Initialize with 7 tiles");
+            GameLogger.warn("Need to initialize with {} tiles", Hand.MAX_HAND_SIZE);
         }
         else
         {
@@ -0,0 +1,140 @@
+package Models;
+
+import java.util.Arrays;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.Rack counts the tiles of a player's hand by letter: 26 slots for A-Z and a last slot, BLANK, for blank tiles,
+ * the same layout the Models.MoveGenerator searches with. Adding, removing and looking up a letter is one array access,
+ * and canForm() checks a whole word against the rack without allocating.
+ *
+ * @date 2026.10.17
+ */
+public final class Rack {
+
+    public static final int BLANK = Lexicon.ALPHABET_SIZE;
+    public static final int SLOTS = Lexicon.ALPHABET_SIZE + 1;
+    public static final char BLANK_CHAR = '_';
+
+    private final int[] counts = new int[SLOTS];
+    private int size;
+
+    /**
+     * Returns the slot of a tile letter: 0-25 for A-Z, BLANK for a blank, -1 for anything else.
+     * @param letter the letter of a tile
+     * @return int slot of the letter
+     */
+    public static int slotOf(char letter) {
+        return (letter == BLANK_CHAR) ? BLANK : Lexicon.letterIndex(letter);
+    }
+
+    /**
+     * Adds a tile.
+     * @param letter the letter of the tile, BLANK_CHAR for a blank
+     * @return boolean false if the letter is not a tile letter and was not added
+     */
+    public boolean add(char letter) {
+        int slot = slotOf(letter);
+        if (slot < 0) {
+            return false;
+        }
+        this.counts[slot]++;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Removes one tile of a letter.
+     * @param letter the letter of the tile, BLANK_CHAR for a blank
+     * @return boolean false if the rack has no such tile
+     */
+    public boolean remove(char letter) {
+        int slot = slotOf(letter);
+        if (slot < 0 || this.counts[slot] == 0) {
+            return false;
+        }
+        this.counts[slot]--;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * @param letter the letter of a tile, BLANK_CHAR for a blank
+     * @return true if the rack holds at least one tile of the letter
+     */
+    public boolean contains(char letter) {
+        return count(letter) > 0;
+    }
+
+    /**
+     * @param letter the letter of a tile, BLANK_CHAR for a blank
+     * @return the number of tiles of the letter in the rack
+     */
+    public int count(char letter) {
+        int slot = slotOf(letter);
+        return (slot < 0) ? 0 : this.counts[slot];
+    }
+
+    /**
+     * Checks whether the rack holds a tile for every letter, counting repeated letters as separate tiles. Blanks are
+     * only matched by BLANK_CHAR.
+     * @param letters the letters to form
+     * @return boolean true if the rack holds all of them
+     */
+    public boolean canForm(CharSequence letters) {
+        if (letters.length() > this.size) {
+            return false;
+        }
+        int taken = 0;
+        boolean formed = true;
+        for (; taken < letters.length(); taken++) {
+            int slot = slotOf(letters.charAt(taken));
+            if (slot < 0 || this.counts[slot] == 0) {
+                formed = false;
+                break;
+            }
+            this.counts[slot]--;
+        }
+        // give back the tiles taken to check
+        for (int i = 0; i < taken; i++) {
+            this.counts[slotOf(letters.charAt(i))]++;
+        }
+        return formed;
+    }
+
+    /**
+     * @return the number of tiles in the rack
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes every tile.
+     */
+    public void clear() {
+        Arrays.fill(this.counts, 0);
+        this.size = 0;
+    }
+
+    /**
+     * @return a new Rack holding the same tiles
+     */
+    public Rack copy() {
+        Rack copy = new Rack();
+        System.arraycopy(this.counts, 0, copy.counts, 0, SLOTS);
+        copy.size = this.size;
+        return copy;
+    }
+
+    /**
+     * Copies the counts into an array, for searches that take and give back tiles as they go.
+     * @param into array of at least SLOTS ints
+     * @return the array passed in
+     */
+    public int[] copyCounts(int[] into) {
+        System.arraycopy(this.counts, 0, into, 0, SLOTS);
+        return into;
+    }
+}
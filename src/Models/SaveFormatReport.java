@@ -0,0 +1,150 @@
+package Models;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.SaveFormatReport compares Models.GameCodec saves with Java serialization of the whole Models.Game, the
+ * format saves used before. It plays a few seeded AI games without the GUI, keeps every position in both formats,
+ * then prints the average save size and the time to encode and decode a position in each format.
+ *
+ * Usage: java Models.SaveFormatReport [games] [seed]
+ *
+ * @date 2026.10.17
+ */
+public class SaveFormatReport {
+
+    private static final int DEFAULT_GAMES = 10;
+    private static final long DEFAULT_SEED = 14L;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    /**
+     * Runs the report.
+     * @param args optional number of games and random seed
+     */
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        GameLogger.setLevel(GameLogger.Level.OFF);
+
+        List<GameState> states = new ArrayList<>();
+        List<byte[]> codecSaves = new ArrayList<>();
+        List<byte[]> javaSaves = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+            play(seed + game, states, codecSaves, javaSaves);
+        }
+        List<Game> positions = new ArrayList<>();
+        for (byte[] save : javaSaves) {
+            positions.add(javaDecode(save));
+        }
+
+        long[] codecNanos = new long[2];
+        long[] javaNanos = new long[2];
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long[] codec = timeCodec(states, codecSaves);
+            long[] java = timeJava(positions, javaSaves);
+            if (round >= WARMUP_ROUNDS) {
+                for (int i = 0; i < 2; i++) {
+                    codecNanos[i] += codec[i];
+                    javaNanos[i] += java[i];
+                }
+            }
+        }
+
+        int count = states.size();
+        System.out.printf("%d positions from %d games (seed %d)%n", count, games, seed);
+        System.out.printf("%-8s %12s %12s %12s%n", "format", "avg bytes", "encode us", "decode us");
+        printFormat("codec", codecSaves, codecNanos, count);
+        printFormat("java", javaSaves, javaNanos, count);
+    }
+
+    /**
+     * Plays one AI game, storing every position as a state, a codec save and a Java serialization save.
+     */
+    private static void play(long seed, List<GameState> states, List<byte[]> codecSaves, List<byte[]> javaSaves)
+            throws IOException, ClassNotFoundException {
+        int players = Simulator.DEFAULT_PLAYERS;
+        Game game = new Game(seed);
+        game.createPlayers("0", String.valueOf(players));
+        int scoreless = 0;
+        for (int turn = 0; turn < Simulator.MAX_TURNS && !game.isGameFinished() && scoreless < 2 * players; turn++) {
+            GameState state = GameState.capture(game, null);
+            states.add(state);
+            codecSaves.add(GameCodec.encode(state, game.getBag().getSeed(), game.getBag().getDraws()));
+            javaSaves.add(javaEncode(game));
+            Player player = game.getCurrentPlayer();
+            int points = player.getPoints();
+            game.playAITurn();
+            scoreless = (player.getPoints() == points) ? scoreless + 1 : 0;
+        }
+    }
+
+    /**
+     * Times encoding and decoding every position with the codec.
+     * @return long[] the nanoseconds taken to encode and to decode
+     */
+    private static long[] timeCodec(List<GameState> states, List<byte[]> saves) throws IOException {
+        Game target = new Game(0L);
+        long start = System.nanoTime();
+        for (GameState state : states) {
+            GameCodec.encode(state, 0L, 0L);
+        }
+        long encode = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (byte[] save : saves) {
+            GameState state = GameCodec.decode(save).getState();
+            state.toBoard();
+            state.toBagTiles();
+            state.toPlayers(target);
+        }
+        return new long[]{encode, System.nanoTime() - start};
+    }
+
+    /**
+     * Times encoding and decoding every position with Java serialization.
+     * @return long[] the nanoseconds taken to encode and to decode
+     */
+    private static long[] timeJava(List<Game> positions, List<byte[]> saves) throws IOException, ClassNotFoundException {
+        long start = System.nanoTime();
+        for (Game game : positions) {
+            javaEncode(game);
+        }
+        long encode = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (byte[] save : saves) {
+            javaDecode(save);
+        }
+        return new long[]{encode, System.nanoTime() - start};
+    }
+
+    private static byte[] javaEncode(Game game) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(game);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Game javaDecode(byte[] save) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(save))) {
+            return (Game) in.readObject();
+        }
+    }
+
+    /**
+     * Prints one line of the report.
+     */
+    private static void printFormat(String name, List<byte[]> saves, long[] nanos, int count) {
+        double bytes = saves.stream().mapToInt(save -> save.length).average().orElse(0);
+        System.out.printf("%-8s %12.0f %12.1f %12.1f%n", name, bytes, nanos[0] / 1e3 / ROUNDS / count,
+                nanos[1] / 1e3 / ROUNDS / count);
+    }
+}
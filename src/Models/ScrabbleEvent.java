@@ -18,6 +18,7 @@ public class ScrabbleEvent implements Serializable {
     private boolean gameFinished;
     private Player currentPlayer;
     private Board board;
+    private boolean aiThinking;
 
     /**
      * Constructor to initialize Models.ScrabbleEvent with information that is passed during the event trigger
@@ -31,6 +32,18 @@ public class ScrabbleEvent implements Serializable {
         this.gameFinished = gameFinished;
     }
 
+    /**
+     * Constructor to initialize Models.ScrabbleEvent for a current player that may be an AI thinking about its play
+     * @param player
+     * @param board
+     * @param gameFinished
+     * @param aiThinking true while the current player, an AI, searches for its play in the background
+     * */
+    public ScrabbleEvent(Player player, Board board, boolean gameFinished, boolean aiThinking) {
+        this(player, board, gameFinished);
+        this.aiThinking = aiThinking;
+    }
+
     /**
      * Getter for if game is finished
      * @return boolean
@@ -54,4 +67,12 @@ public class ScrabbleEvent implements Serializable {
     public Board getBoard() {
         return board;
     }
+
+    /**
+     * Getter for if the current player is an AI thinking about its play, see Models.Game.runAITurnsInBackground()
+     * @return boolean
+     * */
+    public boolean isAIThinking() {
+        return aiThinking;
+    }
 }
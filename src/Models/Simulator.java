@@ -0,0 +1,242 @@
+package Models;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.Simulator plays AI-only games without the GUI, many at a time on a fork-join pool. Every game is a headless
+ * Models.Game (no views, no save state files) whose bag is seeded with the base seed plus the game's index, so a run
+ * can be repeated exactly. The report gives games per second, the average score and the percentiles of the time an
+ * AI takes to play a turn, which is what bot tuning needs.
+ *
+ * A game ends when a player reaches the winning score, when every player has had two turns in a row without scoring,
+ * or after MAX_TURNS turns.
+ *
+ * Usage: java Models.Simulator [games] [players] [threads] [seed]
+ *
+ * @date 2026.10.17
+ */
+public class Simulator {
+
+    public static final int DEFAULT_GAMES = 1000;
+    public static final int DEFAULT_PLAYERS = 2;
+    public static final long DEFAULT_SEED = 14L;
+    public static final int MAX_TURNS = 200;
+    private static final int SCORELESS_ROUNDS = 2;
+
+    private final int players;
+
+    /**
+     * Constructor for a simulator of games between the given number of AI players.
+     * @param players number of AI players in every game
+     */
+    public Simulator(int players) {
+        if (players < 1) {
+            throw new IllegalArgumentException("A game needs at least one player");
+        }
+        this.players = players;
+    }
+
+    /**
+     * Runs the simulator and prints its report.
+     * @param args optional number of games, players, threads and the base seed
+     */
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int players = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+        int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        GameLogger.setLevel(GameLogger.Level.OFF);
+        new Simulator(players).run(games, seed, threads).print();
+    }
+
+    /**
+     * Plays games with the seeds seed, seed + 1, ... on a pool of the given number of threads.
+     * @param games number of games to play
+     * @param seed seed of the first game
+     * @param threads number of games played at the same time
+     * @return Report of the run
+     */
+    public Report run(int games, long seed, int threads) {
+        // load the dictionary and word graphs before the clock starts
+        MoveGenerator.create(MoveGenerator.DEFAULT_BACKEND);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<GameResult> results = pool.submit(() -> LongStream.range(0, games).parallel()
+                    .mapToObj(i -> playGame(seed + i))
+                    .collect(Collectors.toList())).get();
+            return new Report(results, threads, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game to the end on the calling thread.
+     * @param seed seed of the game's bag
+     * @return GameResult final scores and turn timings
+     */
+    public GameResult playGame(long seed) {
+        Game game = new Game(seed);
+        game.createPlayers("0", String.valueOf(this.players));
+        long[] turnNanos = new long[MAX_TURNS];
+        int turns = 0;
+        int scoreless = 0;
+        try {
+            while (!game.isGameFinished() && turns < MAX_TURNS && scoreless < SCORELESS_ROUNDS * this.players) {
+                Player player = game.getCurrentPlayer();
+                int points = player.getPoints();
+                long start = System.nanoTime();
+                game.playAITurn();
+                turnNanos[turns++] = System.nanoTime() - start;
+                scoreless = (player.getPoints() == points) ? scoreless + 1 : 0;
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+
+        int[] scores = new int[this.players];
+        for (Player player : game.getPlayerList()) {
+            scores[player.getPlayerNumber()] = player.getPoints();
+        }
+        return new GameResult(seed, scores, Arrays.copyOf(turnNanos, turns));
+    }
+
+    /**
+     * Outcome of one simulated game.
+     */
+    public static final class GameResult {
+        private final long seed;
+        private final int[] scores;
+        private final long[] turnNanos;
+
+        GameResult(long seed, int[] scores, long[] turnNanos) {
+            this.seed = seed;
+            this.scores = scores;
+            this.turnNanos = turnNanos;
+        }
+
+        /**
+         * @return the seed the game was played with
+         */
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * @return the final score of every player, by player number
+         */
+        public int[] getScores() {
+            return scores.clone();
+        }
+
+        /**
+         * @return the number of turns played
+         */
+        public int getTurns() {
+            return turnNanos.length;
+        }
+
+        /**
+         * @return the time taken by each turn in nanoseconds, in the order they were played
+         */
+        public long[] getTurnNanos() {
+            return turnNanos.clone();
+        }
+
+        /**
+         * @return the highest final score
+         */
+        public int getWinningScore() {
+            return Arrays.stream(scores).max().orElse(0);
+        }
+    }
+
+    /**
+     * Totals of a simulator run.
+     */
+    public static final class Report {
+        private final List<GameResult> results;
+        private final int threads;
+        private final long nanos;
+        private final long[] sortedTurnNanos;
+
+        Report(List<GameResult> results, int threads, long nanos) {
+            this.results = results;
+            this.threads = threads;
+            this.nanos = nanos;
+            this.sortedTurnNanos = results.stream().flatMapToLong(r -> Arrays.stream(r.turnNanos)).sorted().toArray();
+        }
+
+        /**
+         * @return the result of every game, in seed order
+         */
+        public List<GameResult> getResults() {
+            return results;
+        }
+
+        /**
+         * @return games finished per second of wall clock time
+         */
+        public double getGamesPerSecond() {
+            return results.size() / (nanos / 1e9);
+        }
+
+        /**
+         * @return the average final score of a player
+         */
+        public double getAverageScore() {
+            return results.stream().flatMapToInt(r -> Arrays.stream(r.scores)).average().orElse(0);
+        }
+
+        /**
+         * @return the average score of the winner of a game
+         */
+        public double getAverageWinningScore() {
+            return results.stream().mapToInt(GameResult::getWinningScore).average().orElse(0);
+        }
+
+        /**
+         * Returns the turn time below which the given fraction of all turns fall.
+         * @param fraction between 0 and 1, e.g. 0.99 for the 99th percentile
+         * @return long turn time in nanoseconds
+         */
+        public long getTurnPercentile(double fraction) {
+            if (sortedTurnNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(fraction * sortedTurnNanos.length) - 1;
+            return sortedTurnNanos[Math.max(0, Math.min(index, sortedTurnNanos.length - 1))];
+        }
+
+        /**
+         * Prints the report to System.out.
+         */
+        public void print() {
+            System.out.printf("%d games, %d turns on %d threads in %.2f s%n", results.size(), sortedTurnNanos.length,
+                    threads, nanos / 1e9);
+            System.out.printf("games/sec       %10.1f%n", getGamesPerSecond());
+            System.out.printf("avg score       %10.1f%n", getAverageScore());
+            System.out.printf("avg winning     %10.1f%n", getAverageWinningScore());
+            System.out.printf("turn p50 (us)   %10.1f%n", getTurnPercentile(0.50) / 1e3);
+            System.out.printf("turn p90 (us)   %10.1f%n", getTurnPercentile(0.90) / 1e3);
+            System.out.printf("turn p99 (us)   %10.1f%n", getTurnPercentile(0.99) / 1e3);
+            System.out.printf("turn max (us)   %10.1f%n", getTurnPercentile(1.0) / 1e3);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package Models;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A square is added to each cell of the Scrabble board. Each square has one of five Multiplier types,
@@ -72,7 +72,14 @@ public class Square implements Serializable {
 
 
     private Multiplier multiplier;
-    public static HashMap<Integer,String> columns;
+
+    /**
+     * Letter of every column of the board, built once and never modified so squares can be created from any thread.
+     */
+    private static final Map<Integer, String> COLUMNS = Map.ofEntries(
+            Map.entry(1, "A"), Map.entry(2, "B"), Map.entry(3, "C"), Map.entry(4, "D"), Map.entry(5, "E"),
+            Map.entry(6, "F"), Map.entry(7, "G"), Map.entry(8, "H"), Map.entry(9, "I"), Map.entry(10, "J"),
+            Map.entry(11, "K"), Map.entry(12, "L"), Map.entry(13, "M"), Map.entry(14, "N"), Map.entry(15, "O"));
 
     /**
      * Constructor for the class Models.Square.
@@ -83,32 +90,37 @@ public class Square implements Serializable {
         this.row = row;
         this.col = col;
         this.multiplier = Multiplier.NONE;
-        columns = new HashMap<>();
-        initializeColumns();
         //assignMultiplier();
     }
 
-    /**
-     * Assigns String letter values to integer values for all columns of the board.
-     */
-    private void initializeColumns() {
-        columns.put(1,"A"); columns.put(2,"B"); columns.put(3,"C");
-        columns.put(4,"D"); columns.put(5,"E"); columns.put(6,"F");
-        columns.put(7,"G"); columns.put(8,"H"); columns.put(9,"I");
-        columns.put(10,"J"); columns.put(11,"K"); columns.put(12,"L");
-        columns.put(13,"M"); columns.put(14,"N"); columns.put(15,"O");
-    }
-
     /**
      * Returns the coordinates of the square as a string of the row as a digit, followed by the column as a letter .
      *
      * @return this square's coordinates as a string.
      */
     public String getStringCoordinates() {
-        String stringCoordinates = "" + row + columns.get(col);
+        String stringCoordinates = "" + row + COLUMNS.get(col);
         return stringCoordinates;
     }
 
+    /**
+     * Getter for the square's row.
+     *
+     * @return this square's row.
+     */
+    public int getRow() {
+        return this.row;
+    }
+
+    /**
+     * Getter for the square's column.
+     *
+     * @return this square's column.
+     */
+    public int getCol() {
+        return this.col;
+    }
+
     /**
      * Getter for the square's multiplier.
      *
@@ -142,7 +154,7 @@ public class Square implements Serializable {
      * Assigns this square's multiplier based on the square's coordinates. Called from the constructor.
      */
     private void assignMultiplier() {
-        String coordinates = "" + row + columns.get(col);
+        String coordinates = getStringCoordinates();
 
         ArrayList<String> DL_coordsList = new ArrayList<>(Arrays.asList(
                 new String[]{"1D","1L","3G","3I","4A","4H","4O","7C","7G","7I","7M","8D","8L"
@@ -26,6 +26,13 @@ public class Tile implements Serializable {
     }
 
 
+    /**
+     * @return Returns the point value of the Models.Tile, 0 for blank tiles
+     */
+    public Integer getValue() {
+        return value;
+    }
+
     /**
      * @return Returns formatted string of Models.Tile
      */
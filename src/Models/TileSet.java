@@ -0,0 +1,174 @@
+package Models;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This class is part of the "Scrabble" application.
+ *
+ * Models.TileSet defines the tiles of a game: the point value and number of tiles of every letter A-Z, and the number
+ * of blanks. Values and counts are int tables indexed by letter (see Models.Lexicon.letterIndex()), so scoring looks
+ * a value up by char without any String work.
+ *
+ * The tile set of the game is read from the xml file named by the scrabble.tileset system property, or from
+ * STANDARD_FILE, the English tile set, by default. Other distributions only need another file; they are limited to
+ * the letters A-Z the board and dictionary use.
+ *
+ * @date 2026.10.17
+ */
+public final class TileSet {
+
+    public static final String STANDARD_FILE = "src/TileSets/tileset_standard.xml";
+
+    private final int[] values;
+    private final int[] counts;
+    private final int blanks;
+
+    /**
+     * Holder class so the tile set is read the first time getDefault() is called, and only once.
+     */
+    private static final class Holder {
+        private static final TileSet DEFAULT = loadDefault();
+    }
+
+    /**
+     * Constructor for a tile set.
+     * @param values point value of every letter, indexed 0-25
+     * @param counts number of tiles of every letter, indexed 0-25
+     * @param blanks number of blank tiles
+     */
+    public TileSet(int[] values, int[] counts, int blanks) {
+        if (values.length != Lexicon.ALPHABET_SIZE || counts.length != Lexicon.ALPHABET_SIZE) {
+            throw new IllegalArgumentException("A tile set has a value and a count for each of the 26 letters");
+        }
+        this.values = values.clone();
+        this.counts = counts.clone();
+        this.blanks = blanks;
+    }
+
+    /**
+     * Returns the tile set of the game, reading it on first use.
+     * @return the process wide Models.TileSet
+     */
+    public static TileSet getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Reads a tile set xml file. Every letter needs a tile element with its letter, value and count; a blank
+     * element gives the number of blanks.
+     * @param file the tile set xml file
+     * @return the Models.TileSet
+     * @throws IOException if the file cannot be read or leaves out a letter
+     */
+    public static TileSet load(File file) throws IOException {
+        int[] values = new int[Lexicon.ALPHABET_SIZE];
+        int[] counts = new int[Lexicon.ALPHABET_SIZE];
+        boolean[] defined = new boolean[Lexicon.ALPHABET_SIZE];
+        int blanks = 0;
+        try {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            DocumentBuilder db = dbf.newDocumentBuilder();
+            Document doc = db.parse(file);
+            doc.getDocumentElement().normalize();
+
+            NodeList tiles = doc.getElementsByTagName("tile");
+            for (int i = 0; i < tiles.getLength(); i++) {
+                Element tile = (Element) tiles.item(i);
+                String letter = text(tile, "letter");
+                int index = (letter.length() == 1) ? Lexicon.letterIndex(letter.charAt(0)) : -1;
+                if (index < 0) {
+                    throw new IOException("Tile letter " + letter + " is not a letter A-Z");
+                }
+                values[index] = Integer.parseInt(text(tile, "value"));
+                counts[index] = Integer.parseInt(text(tile, "count"));
+                defined[index] = true;
+            }
+            NodeList blank = doc.getElementsByTagName("blank");
+            if (blank.getLength() > 0) {
+                blanks = Integer.parseInt(text((Element) blank.item(0), "count"));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not read the tile set " + file, e);
+        }
+        for (int i = 0; i < defined.length; i++) {
+            if (!defined[i]) {
+                throw new IOException("The tile set " + file + " has no tile for " + (char) ('A' + i));
+            }
+        }
+        return new TileSet(values, counts, blanks);
+    }
+
+    /**
+     * Returns the point value of a letter, 0 for anything that is not a letter A-Z.
+     * @param letter the upper case letter
+     * @return int point value
+     */
+    public int value(char letter) {
+        int index = Lexicon.letterIndex(letter);
+        return (index < 0) ? 0 : this.values[index];
+    }
+
+    /**
+     * @param index letter index 0-25
+     * @return int point value of the letter
+     */
+    public int valueAt(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * @param index letter index 0-25
+     * @return int number of tiles of the letter in a full bag
+     */
+    public int countAt(int index) {
+        return this.counts[index];
+    }
+
+    /**
+     * @return the number of blank tiles in a full bag
+     */
+    public int getBlankCount() {
+        return this.blanks;
+    }
+
+    /**
+     * @return the number of tiles in a full bag, blanks included
+     */
+    public int getTileCount() {
+        int total = this.blanks;
+        for (int count : this.counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Reads the tile set named by the scrabble.tileset property, or the standard one. If it cannot be read, the game
+     * stops, since it cannot be played or scored without tiles.
+     */
+    private static TileSet loadDefault() {
+        File file = new File(System.getProperty("scrabble.tileset", STANDARD_FILE));
+        try {
+            return load(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load the tile set " + file, e);
+        }
+    }
+
+    private static String text(Element parent, String tag) throws IOException {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        if (nodes.getLength() == 0) {
+            throw new IOException("Missing " + tag + " element");
+        }
+        return nodes.item(0).getTextContent().trim();
+    }
+}
@@ -1,48 +1,114 @@
 package Models;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Scanner;
 
 /**
  * This class validates an arraylist of words formed by the players turn
  * based off the players word placement it will create either one or more words.
- * it will validate every word by checking if words.txt contains word.
+ * it will validate every word by looking it up in a Models.Lexicon of words.txt.
+ *
+ * The dictionary is loaded once per process and shared through getInstance(). The instance is immutable after
+ * loading so it can be used from any thread, and it is not Serializable so it never ends up in saved games.
+ * The GADDAG used by the move generator is loaded from the same word list the first time getGaddag() is called.
+ * Both graphs are mapped from their prebuilt images when Models.LexiconImage has been run, and built from words.txt
+ * otherwise.
  *
  * @author Jaydon Haghighi
  * @version 2022.10.25
  */
-public class WordValidator implements Serializable {
-    private final Map<Integer, String> wordsMap = new HashMap<>();
-    private static final String FILE = "src/Resources/words.txt";
+public class WordValidator {
+    private final Lexicon lexicon;
+    static final String FILE = "src/Resources/words.txt";
+
+    /**
+     * Holder class so the dictionary is read the first time getInstance() is called, and only once.
+     */
+    private static final class Holder {
+        private static final WordValidator INSTANCE = new WordValidator();
+    }
+
+    /**
+     * Holder class for the GADDAG, which is only built if a Models.MoveGenerator asks for it.
+     */
+    private static final class GaddagHolder {
+        private static final Lexicon GADDAG = buildGaddag();
+    }
 
     /**
      * Initializes the scanner
      */
-    public WordValidator() {
+    private WordValidator() {
         try {
-            scanner();
+            this.lexicon = scanner();
         } catch (FileNotFoundException e) {
             throw new RuntimeException(e);
         }
     }
 
     /**
-     * Scans the file containing all the valid words
+     * Returns the shared dictionary, loading words.txt on first use.
+     * @return the process wide Models.WordValidator
+     */
+    public static WordValidator getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Maps the lexicon image of the file containing all the valid words, or builds the lexicon from the words
+     * @return the Models.Lexicon of all valid words
      * @throws FileNotFoundException if file given is not found an exception will occur
      */
-    public void scanner() throws FileNotFoundException {
-        Scanner scanner = new Scanner(new FileInputStream(FILE));
-        int index = 0;
+    private static Lexicon scanner() throws FileNotFoundException {
+        return LexiconImage.load(new File(LexiconImage.DAWG_FILE), LexiconImage.Kind.DAWG, new File(FILE));
+    }
+
+    /**
+     * Loads the GADDAG of the same word file as the lexicon.
+     * @return the Models.Lexicon holding the GADDAG
+     */
+    private static Lexicon buildGaddag() {
+        try {
+            return LexiconImage.load(new File(LexiconImage.GADDAG_FILE), LexiconImage.Kind.GADDAG, new File(FILE));
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads every line of the word file.
+     * @return ArrayList of the words
+     * @throws FileNotFoundException if file given is not found an exception will occur
+     */
+    static ArrayList<String> readWords() throws FileNotFoundException {
+        return readWords(new File(FILE));
+    }
+
+    /**
+     * Reads every line of a word file.
+     * @param file the word file
+     * @return ArrayList of the words
+     * @throws FileNotFoundException if file given is not found an exception will occur
+     */
+    static ArrayList<String> readWords(File file) throws FileNotFoundException {
+        Scanner scanner = new Scanner(new FileInputStream(file));
+        ArrayList<String> words = new ArrayList<>();
         while (scanner.hasNextLine()) {
-            String word = scanner.nextLine();
-            wordsMap.put(index, word);
-            index++;
+            words.add(scanner.nextLine());
         }
+        scanner.close();
+        return words;
+    }
+
+    /**
+     * @param word a single word to look up
+     * @return returns true if the word is in the dictionary
+     */
+    public boolean isWordValid(String word) {
+        return lexicon.contains(word);
     }
 
     /**
@@ -50,22 +116,26 @@ public class WordValidator implements Serializable {
      * @return returns true if all words given are valid and false if one or more words are not valid
      */
     public boolean isWordsValid(ArrayList<String> wordsToValidate) {
-        //Reading the word to be found from the user
-        int count = 0;
         for (String word : wordsToValidate) {
-            if (wordsMap.containsValue(word)) {
-                count++;
+            if (!lexicon.contains(word)) {
+                return false;
             }
         }
-        if (count == wordsToValidate.size()) {
-            return true;
-        } else {
-            return false;
-        }
+        return true;
     }
-}
-
-
-
 
+    /**
+     * @return the lexicon backing this validator
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
 
+    /**
+     * Returns the shared GADDAG of the dictionary, building it on first use.
+     * @return the GADDAG as a Models.Lexicon
+     */
+    public Lexicon getGaddag() {
+        return GaddagHolder.GADDAG;
+    }
+}
@@ -1,11 +1,19 @@
 package Test;
 
 import Models.Board;
+import Models.Lexicon;
+import Models.LexiconImage;
+import Models.Move;
+import Models.MoveScorer;
 import Models.Square;
 import Models.Tile;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import static org.junit.Assert.*;
 
@@ -222,7 +230,7 @@ public class BoardTest {
      * Test Case: The valid one-letter word "H" is to be placed on the centre of the board (row 8, col 8) is to be scored.
      *
      * Tests whether the valid word "H" can be correctly placed horizontally in centre of the board.
-     * Methods covered: getWordScore(), getWordFromTiles(), getWordsOnRow(), calculateWordScore()
+     * Methods covered: placeWord(), MoveScorer.scoreLastPlay()
      *
      */
     @Test
@@ -233,7 +241,7 @@ public class BoardTest {
         HE_word.add(H_tile);
         HE_word.add(E_tile);
         board.placeWord(8,8,HE_word, Board.Direction.HORIZONTAL);
-        int wordScore = board.getWordScore(8,8);
+        int wordScore = MoveScorer.scoreLastPlay(board);
         // correct score is 5 8 2 = 10.
         assertEquals(10, wordScore);
     }
@@ -242,9 +250,9 @@ public class BoardTest {
     /**
      * Test Case: The vertical word "M" is appended to "H" on row8, col8. The INVALID word "HM" is to be scored.
      *
-     * Tests whether the invalid word "HM" is correctly scored to 0.
+     * Tests whether the second play is scored without the premium of the square the first play already used.
      *
-     * Methods covered: placeWord(), adjacentConditionMet(), placeTileAt()
+     * Methods covered: placeWord(), MoveScorer.scoreLastPlay()
      *
      */
     @Test
@@ -260,8 +268,9 @@ public class BoardTest {
         HM_word.add(M_tile);
         board.placeWord(8,8,H_word, Board.Direction.HORIZONTAL);
         board.placeWord(9,8,H_word, Board.Direction.VERTICAL);
-        int wordScore = board.getWordScore(8, 8);
-        assertEquals(16, wordScore);
+        int wordScore = MoveScorer.scoreLastPlay(board);
+        // the centre H was scored by the first play, so its double word square no longer counts: 4 + 4
+        assertEquals(8, wordScore);
     }
 
 
@@ -324,7 +333,7 @@ public class BoardTest {
      *
      * Tests whether the score for the valid word "PAW" is correctly scored as: 2 * (3 + 1 + 4) = 16.
      *
-     * Methods covered: calculatePremiumScore()
+     * Methods covered: placeWord(), MoveScorer.scoreLastPlay()
      *
      */
     @Test
@@ -338,7 +347,7 @@ public class BoardTest {
         PAW_word.add(A_tile);
         PAW_word.add(W_tile);
         board.placeWord(8,8,PAW_word, Board.Direction.HORIZONTAL);
-        int premiumScore = premiumScore = board.getWordScore(8,8);
+        int premiumScore = MoveScorer.scoreLastPlay(board);
         assertEquals(16, premiumScore);
     }
 
@@ -348,7 +357,7 @@ public class BoardTest {
      *
      * Tests whether the score for the valid word "LQ" is correctly scored as: 2 * (1 + 3) = 8.
      *
-     * Methods covered: calculatePremiumScore()
+     * Methods covered: placeWord(), MoveScorer.scoreLastPlay()
      *
      */
     @Test
@@ -360,7 +369,7 @@ public class BoardTest {
         LB_word.add(L_tile);
         LB_word.add(B_tile);
         board.placeWord(8,8,LB_word, Board.Direction.HORIZONTAL);
-        int premiumScore = premiumScore = board.getWordScore(8,8);
+        int premiumScore = MoveScorer.scoreLastPlay(board);
         assertEquals(8, premiumScore);
     }
 
@@ -398,4 +407,165 @@ public class BoardTest {
         assertEquals(2,wordCount);
     }
 
+
+    /**
+     * Test Case: the centre is the only anchor of an empty board, and the squares around a placed word become anchors.
+     *
+     * Tests whether anchors are updated when "TWO" is placed on row 8 from column 8.
+     *
+     * Methods covered: isAnchor(), getCrossCheck(), placeWord()
+     *
+     */
+    @Test
+    public void testAnchors() {
+        assertTrue(board.isAnchor(8, 8));
+        assertFalse(board.isAnchor(7, 8));
+        board.placeWord(8, 8, testWord_TWO, Board.Direction.HORIZONTAL);
+        assertFalse(board.isAnchor(8, 8));
+        assertTrue(board.isAnchor(7, 8));
+        assertTrue(board.isAnchor(8, 11));
+        assertFalse(board.isAnchor(6, 8));
+        assertEquals(0, board.getCrossCheck(8, 9, Board.Direction.VERTICAL));
+    }
+
+
+    /**
+     * Test Case: testWord_2 and testWord_3 are placed on a board whose cross-checks were already built.
+     *
+     * Tests whether the incrementally updated cross-checks and anchors match the ones of a board built from scratch
+     * with the same cells.
+     *
+     * Methods covered: getCrossCheck(), isAnchor(), placeWord(), setCells()
+     *
+     */
+    @Test
+    public void testCrossChecks_Incremental() {
+        board.getCrossCheck(1, 1, Board.Direction.HORIZONTAL);
+        board.placeWord(8, 8, testWord_TWO, Board.Direction.HORIZONTAL);
+        board.placeWord(9, 8, testWord_THREE, Board.Direction.VERTICAL);
+        Board fresh = new Board();
+        fresh.setCells(board.getCells());
+        for (int row = 1; row < cellsLength; row++) {
+            for (int col = 1; col < cellsLength; col++) {
+                for (Board.Direction direction : Board.Direction.values()) {
+                    assertEquals(fresh.getCrossCheck(row, col, direction), board.getCrossCheck(row, col, direction));
+                }
+                assertEquals(fresh.isAnchor(row, col), board.isAnchor(row, col));
+            }
+        }
+    }
+
+
+    /**
+     * Test Case: testWord_3 is placed as a trial next to testWord_2 and then rolled back.
+     *
+     * Tests whether the board is left exactly as it was before the trial, including the words of the last play.
+     *
+     * Methods covered: beginTrial(), rollbackTrial(), placeWord()
+     *
+     */
+    @Test
+    public void testTrial_Rollback() {
+        board.placeWord(8, 8, testWord_TWO, Board.Direction.HORIZONTAL);
+        String[][] before = board.getCells();
+        ArrayList<String> wordsBefore = board.getNewWords();
+        board.beginTrial();
+        board.placeWord(9, 8, testWord_THREE, Board.Direction.VERTICAL);
+        assertEquals("H", board.getLetterAt(9, 8));
+        board.rollbackTrial();
+        assertFalse(board.isTrialOpen());
+        assertArrayEquals(before, board.getCells());
+        assertSame(wordsBefore, board.getNewWords());
+    }
+
+
+    /**
+     * Test Case: testWord_3 is placed as a trial next to testWord_2 and then committed.
+     *
+     * Tests whether the tiles stay on the board and the cross-checks are brought up to date on commit.
+     *
+     * Methods covered: beginTrial(), commitTrial(), getCrossCheck(), placeWord()
+     *
+     */
+    @Test
+    public void testTrial_Commit() {
+        board.placeWord(8, 8, testWord_TWO, Board.Direction.HORIZONTAL);
+        board.getCrossCheck(1, 1, Board.Direction.HORIZONTAL);
+        board.beginTrial();
+        board.placeWord(9, 8, testWord_THREE, Board.Direction.VERTICAL);
+        board.commitTrial();
+        assertEquals("E", board.getLetterAt(12, 8));
+        Board fresh = new Board();
+        fresh.setCells(board.getCells());
+        for (int row = 1; row < cellsLength; row++) {
+            for (int col = 1; col < cellsLength; col++) {
+                assertEquals(fresh.getCrossCheck(row, col, Board.Direction.HORIZONTAL),
+                        board.getCrossCheck(row, col, Board.Direction.HORIZONTAL));
+                assertEquals(fresh.isAnchor(row, col), board.isAnchor(row, col));
+            }
+        }
+    }
+
+
+    /**
+     * Test Case: testWord_2 is placed on the centre, then testWord_3 below its T, then a single E below its W.
+     *
+     * Tests whether each play is scored with multipliers on its new tiles only, cross words included:
+     * TWO = 2 * (1 + 4 + 1) = 12, THREE = 1 + 4 + 1 + 1 + 2 * 1 (DL on 12H) = 9,
+     * and the E on 9I (DL) forms WE = 4 + 2 = 6 and HE = 4 + 2 = 6, 12 in total.
+     *
+     * Methods covered: MoveScorer.scoreLastPlay(), MoveScorer.score(), placeWord()
+     *
+     */
+    @Test
+    public void testMoveScorer() {
+        board.placeWord(8, 8, testWord_TWO, Board.Direction.HORIZONTAL);
+        assertEquals(12, MoveScorer.scoreLastPlay(board));
+        board.placeWord(9, 8, testWord_THREE, Board.Direction.VERTICAL);
+        assertEquals(9, MoveScorer.scoreLastPlay(board));
+        Move we = new Move(8, 9, Board.Direction.VERTICAL, "WE", 0b10, 0);
+        assertEquals(12, MoveScorer.score(board, we));
+        ArrayList<Tile> E_word = new ArrayList<>();
+        E_word.add(E_tile);
+        board.placeWord(9, 9, E_word, Board.Direction.VERTICAL);
+        assertEquals(12, MoveScorer.scoreLastPlay(board));
+    }
+
+    /**
+     * Test Case: a small lexicon is written to an image and mapped back, then its word list changes.
+     *
+     * Tests whether the mapped lexicon holds the same words off the heap, and that an image built from an older
+     * word list is not used.
+     *
+     * Methods covered: LexiconImage.write(), LexiconImage.map(), LexiconImage.load()
+     *
+     */
+    @Test
+    public void testLexiconImage() throws IOException {
+        File words = File.createTempFile("words", ".txt");
+        File image = File.createTempFile("words", ".dawg");
+        words.deleteOnExit();
+        image.deleteOnExit();
+        Files.write(words.toPath(), Arrays.asList("TWO", "THREE", "WE"));
+        Lexicon lexicon = Lexicon.fromWords(Files.readAllLines(words.toPath()));
+
+        LexiconImage.write(lexicon, LexiconImage.Kind.DAWG, words, image);
+        Lexicon mapped = LexiconImage.map(image, LexiconImage.Kind.DAWG, words);
+        assertTrue(mapped.isMapped());
+        assertEquals(lexicon.getNodeCount(), mapped.getNodeCount());
+        assertEquals(lexicon.getEdgeCount(), mapped.getEdgeCount());
+        assertEquals(3, mapped.getWordCount());
+        assertTrue(mapped.contains("THREE"));
+        assertFalse(mapped.contains("THR"));
+
+        Files.write(words.toPath(), Arrays.asList("TWO", "THREE", "WE", "HE"));
+        try {
+            LexiconImage.map(image, LexiconImage.Kind.DAWG, words);
+            fail("an image of an older word list was mapped");
+        } catch (IOException expected) {
+        }
+        Lexicon rebuilt = LexiconImage.load(image, LexiconImage.Kind.DAWG, words);
+        assertFalse(rebuilt.isMapped());
+        assertTrue(rebuilt.contains("HE"));
+    }
 }
\ No newline at end of file
@@ -10,14 +10,45 @@ package Test;
  * @author Mohamed Kaddour
  * @date 2022.11.13
  */
+import Models.AIPlayer;
+import Models.Bag;
+import Models.Board;
 import Models.Command;
 import Models.Game;
+import Models.GameCodec;
+import Models.GameHistory;
+import Models.GameJournal;
+import Models.GameState;
+import Models.Hand;
+import Models.LeaveTable;
+import Models.Lexicon;
+import Models.MonteCarloSearch;
+import Models.Move;
+import Models.MoveGenerator;
 import Models.Player;
+import Models.Rack;
+import Models.Simulator;
 import Models.Tile;
+import Models.TileSet;
+import Models.WordValidator;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class GameTest {
 
@@ -368,10 +399,11 @@ public class GameTest {
 
         game.processCommand(new Command("play", "ARE", "H9"));
 
-        //D has two points and O has one point to make 3 points
+        //D has two points and O has one point, premium square multiplies by 2 to make 6 points
         //D has two points, A has one point, E has one point, R has one point to make 5 points
-        //Total 8 points, premium square multiples by 2
-        assert(player.getPoints() == 16);
+        //the premium square under D was used by the first play, so it does not count again
+        //Total 11 points
+        assert(player.getPoints() == 11);
     }
 
     /**
@@ -411,4 +443,870 @@ public class GameTest {
         assert(exp);
     }
 
+    /**
+     * Tests word and prefix lookups in a lexicon, that words sharing suffixes share nodes, and that a list of words
+     * is rejected at its first invalid word without looking at the rest.
+     * */
+    @Test
+    public void testLexicon() {
+        Lexicon lexicon = Lexicon.fromWords(Arrays.asList("CATS", "BAT", "CAT", "BATS", "X-RAY", "cat", "BAT"));
+        assert(lexicon.getWordCount() == 4);
+        assert(lexicon.contains("CAT"));
+        assert(lexicon.contains("BATS"));
+        assert(!lexicon.contains("CA"));
+        assert(!lexicon.contains("CATX"));
+        assert(!lexicon.contains("X-RAY"));
+        assert(!lexicon.contains("cat"));
+        assert(!lexicon.contains(""));
+
+        int prefix = lexicon.child(lexicon.child(Lexicon.ROOT, Lexicon.letterIndex('C')), Lexicon.letterIndex('A'));
+        assert(prefix != Lexicon.NO_NODE);
+        assert(!lexicon.isTerminal(prefix));
+        assert(lexicon.letterMask(prefix) == 1 << Lexicon.letterIndex('T'));
+        assert(lexicon.child(Lexicon.ROOT, Lexicon.letterIndex('D')) == Lexicon.NO_NODE);
+        // B and C lead to the same node, so the four words need 5 nodes where a trie needs 9
+        assert(lexicon.child(Lexicon.ROOT, Lexicon.letterIndex('B'))
+                == lexicon.child(Lexicon.ROOT, Lexicon.letterIndex('C')));
+        assert(lexicon.getNodeCount() == 5);
+        assert(lexicon.getEdgeCount() == 5);
+
+        int[] looked = new int[1];
+        ArrayList<String> words = new ArrayList<String>(Arrays.asList("QZXW", "CAT", "DOG")) {
+            @Override
+            public Iterator<String> iterator() {
+                Iterator<String> iterator = super.iterator();
+                return new Iterator<String>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        looked[0]++;
+                        return iterator.next();
+                    }
+                };
+            }
+        };
+        assert(!WordValidator.getInstance().isWordsValid(words));
+        assert(looked[0] == 1);
+        words.remove(0);
+        assert(WordValidator.getInstance().isWordsValid(words));
+    }
+
+
+    /**
+     * Tests that the moves generated around CAT include the plays known to be there: one extending CAT, one placing
+     * five tiles through its C, and one placing six tiles alongside it.
+     * */
+    @Test
+    public void testMoveGeneratorFindsKnownPlays() {
+        Board board = new Board();
+        ArrayList<Tile> cat = new ArrayList<>();
+        cat.add(new Tile("C", 3));
+        cat.add(new Tile("A", 1));
+        cat.add(new Tile("T", 1));
+        assert(board.placeWord(8, 8, cat, Board.Direction.HORIZONTAL));
+        int[] rack = new int[MoveGenerator.RACK_SIZE];
+        for (char c : "DEORST".toCharArray()) {
+            rack[Lexicon.letterIndex(c)]++;
+        }
+
+        for (MoveGenerator.Backend backend : MoveGenerator.Backend.values()) {
+            HashSet<String> plays = new HashSet<>();
+            for (Move move : MoveGenerator.create(backend).generateMoves(board, rack)) {
+                plays.add(move + ":" + move.getTileCount());
+                assert(move.getTileCount() > 0);
+            }
+            assert(plays.contains("CATS@8K:1"));
+            assert(plays.contains("SCORED@H7:5"));
+            assert(plays.contains("STORED@7H:6"));
+            assert(!plays.contains("STORED@7H:5"));
+            assert(!plays.contains("CAT@8H:0"));
+        }
+    }
+
+    /**
+     * Tests that every move generated on a growing board, with a blank in every rack, can be placed on the board and
+     * only forms words of the dictionary.
+     * */
+    @Test
+    public void testGeneratedMovesAreLegal() {
+        WordValidator validator = WordValidator.getInstance();
+        MoveGenerator generator = new MoveGenerator(validator.getLexicon());
+        Board board = new Board();
+        for (String letters : new String[]{"DEORST", "AEILNR", "EGIMNO", "ACHPTU"}) {
+            int[] rack = new int[MoveGenerator.RACK_SIZE];
+            for (char c : letters.toCharArray()) {
+                rack[Lexicon.letterIndex(c)]++;
+            }
+            rack[MoveGenerator.BLANK]++;
+            List<Move> moves = generator.generateMoves(board, rack);
+            assert(!moves.isEmpty());
+            for (Move move : moves) {
+                boolean vertical = move.getDirection() == Board.Direction.VERTICAL;
+                String word = move.getWord();
+                Board after = new Board(board);
+                assert(placeMove(after, move));
+                assert(wordAt(after, move.getRow(), move.getCol(), vertical).equals(word));
+                assert(validator.isWordValid(word));
+                assert(validator.isWordsValid(after.getNewWords()));
+                for (int i = 0; i < word.length(); i++) {
+                    String cross = wordAt(after, move.getRow() + (vertical ? i : 0), move.getCol() + (vertical ? 0 : i),
+                            !vertical);
+                    assert(!move.isPlaced(i) || cross.length() == 1 || validator.isWordValid(cross));
+                }
+            }
+            // go on from the longest play, so the next rack meets more letters
+            Move longest = moves.get(0);
+            for (Move move : moves) {
+                if (move.getTileCount() > longest.getTileCount()) {
+                    longest = move;
+                }
+            }
+            assert(placeMove(board, longest));
+        }
+    }
+
+    /**
+     * Tests that the trie and the GADDAG backends find the same moves on a growing board, with and without a blank in
+     * the rack.
+     * */
+    @Test
+    public void testBackendsFindTheSameMoves() {
+        MoveGenerator trie = MoveGenerator.create(MoveGenerator.Backend.TRIE);
+        MoveGenerator gaddag = MoveGenerator.create(MoveGenerator.Backend.GADDAG);
+        Board board = new Board();
+        String[] racks = {"DEORST", "AEILNR", "EGIMNO", "ACHPTU", "BEKLOW", "ADFIRY", "EEJNQS", "GHORUZ"};
+        for (int i = 0; i < racks.length; i++) {
+            int[] rack = new int[MoveGenerator.RACK_SIZE];
+            for (char c : racks[i].toCharArray()) {
+                rack[Lexicon.letterIndex(c)]++;
+            }
+            if (i % 2 == 1) {
+                rack[MoveGenerator.BLANK]++;
+            }
+            List<Move> trieList = trie.generateMoves(board, rack);
+            List<Move> gaddagList = gaddag.generateMoves(board, rack);
+            assert(!trieList.isEmpty());
+            assert(trieList.size() == gaddagList.size());
+            assert(moveKeys(trieList).equals(moveKeys(gaddagList)));
+            assert(placeMove(board, trieList.get(trieList.size() / 2)));
+        }
+    }
+
+    /**
+     * @return a key per move telling apart its word, square, direction and the tiles placed and played as blanks
+     * */
+    private static HashSet<String> moveKeys(List<Move> moves) {
+        HashSet<String> keys = new HashSet<>();
+        for (Move move : moves) {
+            keys.add(move + ":" + move.getDirection() + ":" + move.getPlacedMask() + ":" + move.getBlankMask());
+        }
+        return keys;
+    }
+
+    /**
+     * Places the tiles of a generated move with Board.placeWord().
+     * @return true if the board accepted the placement
+     * */
+    private static boolean placeMove(Board board, Move move) {
+        boolean vertical = move.getDirection() == Board.Direction.VERTICAL;
+        ArrayList<Tile> tiles = new ArrayList<>();
+        String word = move.getWord();
+        for (int i = 0; i < word.length(); i++) {
+            if (move.isPlaced(i)) {
+                int value = move.isBlank(i) ? 0 : Bag.getLetterValue(String.valueOf(word.charAt(i)));
+                tiles.add(new Tile(String.valueOf(word.charAt(i)), value));
+            }
+        }
+        int first = Integer.numberOfTrailingZeros(move.getPlacedMask());
+        return board.placeWord(move.getRow() + (vertical ? first : 0), move.getCol() + (vertical ? 0 : first), tiles,
+                move.getDirection());
+    }
+
+    /**
+     * Reads the whole word on the board through a square.
+     * @param vertical true to read down the column, false to read along the row
+     * @return the letters of the word, the letter of the square alone if it is part of no longer word
+     * */
+    private static String wordAt(Board board, int row, int col, boolean vertical) {
+        int rowStep = vertical ? 1 : 0;
+        int colStep = 1 - rowStep;
+        while (row - rowStep >= 1 && col - colStep >= 1
+                && !board.getLetterAt(row - rowStep, col - colStep).equals(" ")) {
+            row -= rowStep;
+            col -= colStep;
+        }
+        StringBuilder word = new StringBuilder();
+        while (row <= Board.BOARD_SIZE && col <= Board.BOARD_SIZE && !board.getLetterAt(row, col).equals(" ")) {
+            word.append(board.getLetterAt(row, col));
+            row += rowStep;
+            col += colStep;
+        }
+        return word.toString();
+    }
+
+    /**
+     * Tests that a headless AI game plays to the end and that the same seed replays the same game.
+     * */
+    @Test
+    public void testHeadlessGameIsReplayable() {
+        Simulator simulator = new Simulator(2);
+        Simulator.GameResult first = simulator.playGame(7L);
+        Simulator.GameResult second = simulator.playGame(7L);
+
+        assert(first.getTurns() > 0);
+        assert(first.getWinningScore() > 0);
+        assert(Arrays.equals(first.getScores(), second.getScores()));
+        assert(first.getTurns() == second.getTurns());
+    }
+
+    /**
+     * Tests that undo and redo restore the board of their own game and that every game keeps its own history.
+     * */
+    @Test
+    public void testUndoRedoIsPerGame() throws IOException, ClassNotFoundException {
+        ArrayList<Tile> playerHand = new ArrayList<>();
+
+        Game game = new Game();
+        game.createPlayers("2", "0");
+        Game other = new Game();
+        other.createPlayers("2", "0");
+        Player player = game.getCurrentPlayer();
+        player.getHand().getHand().clear();
+        playerHand.add(new Tile("A", 1));
+        playerHand.add(new Tile("B", 1));
+        playerHand.add(new Tile("C", 1));
+        playerHand.add(new Tile("D", 1));
+        playerHand.add(new Tile("E", 1));
+        playerHand.add(new Tile("O", 1));
+        playerHand.add(new Tile("R", 1));
+        player.getHand().addTiles(playerHand, false);
+
+        game.addToRemoveTilesFromHand('O',false);
+        game.addToRemoveTilesFromHand('R',false);
+        game.processCommand(new Command("play", "OR", "8H"));
+        game.nextPlayer();
+
+        assert(game.getBoard().getLetterAt(8, 8).equals("O"));
+        assert(!other.undoGame());
+        assert(game.undoGame());
+        assert(game.getBoard().getLetterAt(8, 8).equals(" "));
+        assert(game.redoGame());
+        assert(game.getBoard().getLetterAt(8, 8).equals("O"));
+    }
+
+    /**
+     * Tests that the AI settings, which a snapshot does not keep, outlast undo and redo.
+     * */
+    @Test
+    public void testUndoRedoKeepsAISettings() throws IOException, ClassNotFoundException {
+        ArrayList<Tile> playerHand = new ArrayList<>();
+
+        Game game = new Game();
+        game.createPlayers("1", "1");
+        AIPlayer ai = (AIPlayer) game.getPlayerList().get(1);
+        LeaveTable leaves = LeaveTable.empty();
+        ai.setTimeBudget(60_000L);
+        ai.setStrategy(AIPlayer.Strategy.SIMULATION);
+        ai.setLeaves(leaves);
+        Player player = game.getCurrentPlayer();
+        player.getHand().getHand().clear();
+        playerHand.add(new Tile("A", 1));
+        playerHand.add(new Tile("B", 1));
+        playerHand.add(new Tile("C", 1));
+        playerHand.add(new Tile("D", 1));
+        playerHand.add(new Tile("E", 1));
+        playerHand.add(new Tile("O", 1));
+        playerHand.add(new Tile("R", 1));
+        player.getHand().addTiles(playerHand, false);
+
+        game.addToRemoveTilesFromHand('O',false);
+        game.addToRemoveTilesFromHand('R',false);
+        game.processCommand(new Command("play", "OR", "8H"));
+        game.nextPlayer();
+
+        assert(game.undoGame());
+        assert(game.redoGame());
+        ai = (AIPlayer) game.getPlayerList().get(1);
+        assert(ai.getTimeBudget() == 60_000L);
+        assert(ai.getStrategy() == AIPlayer.Strategy.SIMULATION);
+        assert(ai.getLeaves() == leaves);
+    }
+
+    /**
+     * Tests that a history snapshot only copies the rows a play changed, that the history log replays to the
+     * same undo and redo states, and that a corrupt log fails to replay with an IOException.
+     * */
+    @Test
+    public void testHistoryLogReplay() throws IOException {
+        ArrayList<Tile> playerHand = new ArrayList<>();
+
+        Game game = new Game();
+        game.createPlayers("2", "0");
+        GameHistory history = new GameHistory();
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        history.setLog(log);
+        GameState first = GameState.capture(game, null);
+        history.push(first);
+        int firstRecord = log.size();
+
+        Player player = game.getCurrentPlayer();
+        player.getHand().getHand().clear();
+        playerHand.add(new Tile("A", 1));
+        playerHand.add(new Tile("B", 3));
+        playerHand.add(new Tile("C", 3));
+        playerHand.add(new Tile("D", 2));
+        playerHand.add(new Tile("E", 1));
+        playerHand.add(new Tile("O", 1));
+        playerHand.add(new Tile("R", 1));
+        player.getHand().addTiles(playerHand, false);
+        game.addToRemoveTilesFromHand('O',false);
+        game.addToRemoveTilesFromHand('R',false);
+        game.processCommand(new Command("play", "OR", "8H"));
+
+        GameState second = GameState.capture(game, history.current());
+        history.push(second);
+        history.undo();
+
+        assert(second.countSharedRows(first) == Board.BOARD_SIZE - 1);
+
+        GameHistory replayed = GameHistory.replay(new ByteArrayInputStream(log.toByteArray()));
+        assert(replayed.getUndoDepth() == 1);
+        assert(replayed.getRedoDepth() == 1);
+        assert(replayed.current().toBoard().getLetterAt(8, 8).equals(" "));
+        assert(replayed.redo().toBoard().getLetterAt(8, 8).equals("O"));
+
+        byte[] bytes = log.toByteArray();
+        assert(replayFails(Arrays.copyOfRange(bytes, firstRecord, bytes.length)));
+        assert(replayFails(new byte[]{2}));
+        assert(replayFails(new byte[]{3}));
+    }
+
+    /**
+     * Replays a history log that is expected to be corrupt.
+     * @param log the bytes of the log
+     * @return true if the replay failed with an IOException
+     * */
+    private static boolean replayFails(byte[] log) {
+        try {
+            GameHistory.replay(new ByteArrayInputStream(log));
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Tests that a saved game keeps journaling the moves played after the save, that loading replays them, and that
+     * a record cut off at the end of the file only loses that record.
+     * */
+    @Test
+    public void testJournalLoadAndCrashRecovery() throws IOException, ClassNotFoundException {
+        ArrayList<Tile> playerHand = new ArrayList<>();
+        File file = File.createTempFile("scrabble", ".journal");
+        file.deleteOnExit();
+
+        Game game = new Game();
+        game.createPlayers("2", "0");
+        Player player = game.getCurrentPlayer();
+        player.getHand().getHand().clear();
+        playerHand.add(new Tile("A", 1));
+        playerHand.add(new Tile("B", 3));
+        playerHand.add(new Tile("C", 3));
+        playerHand.add(new Tile("D", 2));
+        playerHand.add(new Tile("E", 1));
+        playerHand.add(new Tile("O", 1));
+        playerHand.add(new Tile("R", 1));
+        player.getHand().addTiles(playerHand, false);
+        game.saveGame(file);
+
+        game.addToRemoveTilesFromHand('O',false);
+        game.addToRemoveTilesFromHand('R',false);
+        game.processCommand(new Command("play", "OR", "8H"));
+        game.nextPlayer();
+
+        Game loaded = new Game();
+        loaded.loadGame(file);
+        assert(loaded.getBoard().getLetterAt(8, 8).equals("O"));
+        assert(loaded.getBoard().getLetterAt(8, 9).equals("R"));
+        assert(loaded.getPlayerList().get(0).getPoints() == player.getPoints());
+        assert(loaded.getCurrentPlayer().getPlayerNumber() == game.getCurrentPlayer().getPlayerNumber());
+        assert(loaded.getPlayerList().get(0).getHand().getHand().toString()
+                .equals(player.getHand().getHand().toString()));
+
+        // the last record is the change of turn, cut it in half
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 4);
+        }
+        Game recovered = new Game();
+        recovered.loadGame(file);
+        assert(recovered.getBoard().getLetterAt(8, 8).equals("O"));
+        assert(recovered.getCurrentPlayer().getPlayerNumber() == player.getPlayerNumber());
+    }
+
+    /**
+     * Tests that journaling a game, snapshots included, does not change the tiles it draws, and that loading the
+     * journal gives the same game.
+     * */
+    @Test
+    public void testJournalKeepsDraws() throws IOException, ClassNotFoundException {
+        File file = File.createTempFile("scrabble", ".journal");
+        file.deleteOnExit();
+        Game journaled = new Game(11L);
+        journaled.createPlayers("0", "2");
+        journaled.saveGame(file);
+        Game plain = new Game(11L);
+        plain.createPlayers("0", "2");
+        for (int turn = 0; turn < 3 * GameJournal.DEFAULT_SNAPSHOT_INTERVAL && !plain.isGameFinished(); turn++) {
+            journaled.playAITurn();
+            plain.playAITurn();
+        }
+
+        Game loaded = new Game();
+        loaded.loadGame(file);
+        for (Game game : new Game[]{journaled, loaded}) {
+            assert(game.getBag().getBagSize() == plain.getBag().getBagSize());
+            for (int i = 0; i < plain.getPlayerList().size(); i++) {
+                assert(game.getPlayerList().get(i).getPoints() == plain.getPlayerList().get(i).getPoints());
+                assert(game.getPlayerList().get(i).getHand().getHand().toString()
+                        .equals(plain.getPlayerList().get(i).getHand().getHand().toString()));
+            }
+        }
+    }
+
+    /**
+     * Tests that a codec save decodes to the same board, players, bag, turn and seed, and that a section added by a
+     * later version is skipped.
+     * */
+    @Test
+    public void testGameCodecRoundTrip() throws IOException, ClassNotFoundException {
+        Game game = new Game(7L);
+        game.createPlayers("0", "2");
+        game.playAITurn();
+        game.playAITurn();
+        GameState state = GameState.capture(game, null);
+
+        byte[] save = GameCodec.encode(state, 42L, 5L);
+        GameCodec.SavedGame saved = GameCodec.decode(save);
+        GameState decoded = saved.getState();
+        assert(saved.getSeed() == 42L);
+        assert(saved.getDraws() == 5L);
+        assert(Arrays.equals(GameCodec.encode(decoded, 42L, 5L), save));
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            for (int col = 1; col <= Board.BOARD_SIZE; col++) {
+                assert(decoded.toBoard().getLetterAt(row, col).equals(game.getBoard().getLetterAt(row, col)));
+            }
+        }
+        assert(decoded.toBagTiles().size() == game.getBag().getBagSize());
+        assert(decoded.getCurrentPlayerIndex() == game.getPlayerList().indexOf(game.getCurrentPlayer()));
+        ArrayList<Player> players = decoded.toPlayers(game);
+        for (int i = 0; i < players.size(); i++) {
+            assert(players.get(i).getPoints() == game.getPlayerList().get(i).getPoints());
+            assert(players.get(i).getHand().getHand().toString()
+                    .equals(game.getPlayerList().get(i).getHand().getHand().toString()));
+        }
+
+        // insert an unknown section (tag 99, three bytes) right after the header
+        byte[] extended = new byte[save.length + 8];
+        System.arraycopy(save, 0, extended, 0, 6);
+        extended[6] = 99;
+        extended[10] = 3;
+        System.arraycopy(save, 6, extended, 14, save.length - 6);
+        assert(Arrays.equals(GameCodec.encode(GameCodec.decode(extended).getState(), 42L, 5L), save));
+    }
+
+    /**
+     * Tests that a save with an unknown board pattern, move generator backend or current player fails to load with
+     * an IOException.
+     * */
+    @Test
+    public void testGameCodecRejectsBadIndexes() throws IOException {
+        Game game = new Game(7L);
+        game.createPlayers("0", "2");
+        byte[] save = GameCodec.encode(GameState.capture(game, null), 42L, 5L);
+        int pattern = 12;                           // header, BOARD tag and length, first play flag
+        int backend = pattern + 1 + 15 * 19 + 13;   // the rows, RACKS tag, length and count, first player's fields
+        int currentPlayer = save.length - 24;       // TURN is followed by its game over flag, RNG and END
+        for (int index : new int[] {pattern, backend, currentPlayer}) {
+            byte[] corrupt = save.clone();
+            corrupt[index] = 99;
+            try {
+                GameCodec.decode(corrupt);
+                assert(false);
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    /**
+     * Tests that two bags with the same seed draw the same tiles in the same order, down to an empty bag.
+     * */
+    @Test
+    public void testSeededBagDrawsAreReproducible() {
+        Bag first = new Bag(3110L);
+        Bag second = new Bag(3110L);
+        StringBuilder firstDraws = new StringBuilder();
+        StringBuilder secondDraws = new StringBuilder();
+        while (first.getBagSize() > 0) {
+            for (Tile tile : first.removeTiles(7)) {
+                firstDraws.append(tile.getLetter());
+            }
+            for (Tile tile : second.removeTiles(7)) {
+                secondDraws.append(tile.getLetter());
+            }
+        }
+        assert(firstDraws.length() == 100);
+        assert(second.getBagSize() == 0);
+        assert(firstDraws.toString().equals(secondDraws.toString()));
+        StringBuilder otherSeedDraws = new StringBuilder();
+        for (Tile tile : new Bag(3111L).removeTiles(100)) {
+            otherSeedDraws.append(tile.getLetter());
+        }
+        assert(!firstDraws.toString().equals(otherSeedDraws.toString()));
+    }
+
+    /**
+     * Tests that the standard tile set fills a bag of 100 tiles with the usual values, and that a tile set file
+     * leaving out letters is rejected.
+     * */
+    @Test
+    public void testTileSet() throws IOException {
+        TileSet standard = TileSet.load(new File(TileSet.STANDARD_FILE));
+        assert(standard.getTileCount() == 100);
+        assert(standard.getBlankCount() == 2);
+        assert(standard.value('Q') == 10);
+        assert(standard.value('E') == 1);
+        assert(standard.value('_') == 0);
+        assert(new Bag().getBagSize() == 100);
+        assert(Bag.getLetterValue("K") == 5);
+
+        File partial = File.createTempFile("tileset", ".xml");
+        partial.deleteOnExit();
+        Files.write(partial.toPath(), Arrays.asList("<tileset>",
+                "<tile><letter>A</letter><value>1</value><count>9</count></tile>", "</tileset>"));
+        try {
+            TileSet.load(partial);
+            assert(false);
+        } catch (IOException expected) {
+        }
+    }
+
+    /**
+     * Tests the letter counts of a rack, and that a hand's rack follows its tiles, also when the tile list is
+     * changed from outside.
+     * */
+    @Test
+    public void testRackFollowsHand() {
+        Rack rack = new Rack();
+        for (char c : "EEL_".toCharArray()) {
+            assert(rack.add(c));
+        }
+        assert(!rack.add('3'));
+        assert(rack.size() == 4);
+        assert(rack.count('E') == 2);
+        assert(rack.canForm("EEL"));
+        assert(!rack.canForm("EEE"));
+        assert(rack.canForm("LE_"));
+        assert(rack.count('E') == 2);
+        assert(rack.remove('_'));
+        assert(!rack.remove('_'));
+        assert(!rack.contains('_'));
+
+        Hand hand = new Hand();
+        hand.addTiles(new ArrayList<>(new Bag(7L).removeTiles(Hand.MAX_HAND_SIZE)), false);
+        Rack handRack = hand.getRack();
+        assert(handRack.size() == Hand.MAX_HAND_SIZE);
+        for (Tile tile : hand.getHand()) {
+            assert(handRack.contains(tile.getLetter().charAt(0)));
+        }
+        ArrayList<Character> played = new ArrayList<>();
+        played.add(hand.getHand().get(0).getLetter().charAt(0));
+        assert(hand.removeTiles(played, false));
+        assert(hand.getRack().size() == Hand.MAX_HAND_SIZE - 1);
+        hand.getHand().clear();
+        assert(hand.getRack().size() == 0);
+    }
+
+    /**
+     * Tests that a blank played as a letter is taken from the hand, and is counted as that letter by the rack.
+     * */
+    @Test
+    public void testPlayMoveWithBlank() throws FileNotFoundException {
+        ArrayList<Tile> playerHand = new ArrayList<>();
+
+        Game game = new Game();
+        game.createPlayers("1", "0");
+        Player player = game.getCurrentPlayer();
+        player.getHand().getHand().clear();
+        playerHand.add(new Tile("C", 3));
+        playerHand.add(new Tile("A", 1));
+        playerHand.add(new Tile("_", 0));
+        playerHand.add(new Tile("E", 1));
+        playerHand.add(new Tile("E", 1));
+        playerHand.add(new Tile("L", 1));
+        playerHand.add(new Tile("R", 1));
+        player.getHand().addTiles(playerHand, false);
+
+        game.addToRemoveTilesFromHand('C', false);
+        game.addToRemoveTilesFromHand('A', false);
+        game.addToRemoveTilesFromHand('T', true);
+        assert(player.getHand().getRack().count('T') == 1);
+        assert(!player.getHand().getRack().contains('_'));
+
+        assert(game.processCommand(new Command("play", "CAT", "8H")));
+        assert(game.getBoard().getLetterAt(8, 10).equals("T"));
+        assert(player.getHand().getRack().size() == player.getHand().getHandSize());
+    }
+
+    /**
+     * Plays the first turns of a headless game between two AIs.
+     * @param seed seed of the bag
+     * @param turns number of turns to play, fewer if the game ends first
+     * @return the Models.Game, with the next AI to play as its current player
+     * */
+    private static Game playAIGame(long seed, int turns) throws IOException, ClassNotFoundException {
+        Game game = new Game(seed);
+        game.createPlayers("0", "2");
+        for (int turn = 0; turn < turns && !game.isGameFinished(); turn++) {
+            game.playAITurn();
+        }
+        return game;
+    }
+
+    /**
+     * Tests that searching the lines of a board in parallel finds the same moves, in the same order, and the same
+     * best move as searching them on one thread, and that searching for the best move alone finds it too.
+     * */
+    @Test
+    public void testParallelMoveGenerationIsDeterministic() throws IOException, ClassNotFoundException {
+        Game game = playAIGame(5L, 6);
+        Board board = game.getBoard();
+        int[] rack = MoveGenerator.rackCounts(game.getCurrentPlayer().getHand().getHand());
+        rack[MoveGenerator.BLANK]++;
+
+        for (MoveGenerator.Backend backend : MoveGenerator.Backend.values()) {
+            MoveGenerator generator = MoveGenerator.create(backend);
+            MoveGenerator.Analysis serial = generator.analyze(board, rack, true, null);
+            assert(!serial.getMoves().isEmpty());
+            assert(serial.getBestMove() != null);
+            MoveGenerator.Analysis best = generator.best(board, rack, null, MoveGenerator.NO_DEADLINE);
+            assert(best.getMoves().isEmpty());
+            assert(best.getBestMove().toString().equals(serial.getBestMove().toString()));
+            assert(best.getBestScore() == serial.getBestScore());
+            for (int threads : new int[]{2, 4}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                MoveGenerator.Analysis parallel = generator.analyze(board, rack, true, pool);
+                pool.shutdown();
+                assert(parallel.getMoves().toString().equals(serial.getMoves().toString()));
+                assert(parallel.getBestMove().toString().equals(serial.getBestMove().toString()));
+                assert(parallel.getBestScore() == serial.getBestScore());
+            }
+        }
+    }
+
+    /**
+     * Tests that a search without time left stops with nothing searched, and that a search with a budget it cannot
+     * run out of finds every play.
+     * */
+    @Test
+    public void testTimeBudgetedMoveGeneration() throws IOException, ClassNotFoundException {
+        Game game = new Game(5L);
+        game.createPlayers("0", "2");
+        for (int turn = 0; turn < 4 && !game.isGameFinished(); turn++) {
+            game.playAITurn();
+        }
+        Board board = game.getBoard();
+        int[] rack = MoveGenerator.rackCounts(game.getCurrentPlayer().getHand().getHand());
+        MoveGenerator generator = MoveGenerator.create(MoveGenerator.Backend.TRIE);
+
+        MoveGenerator.Analysis expired = generator.analyze(board, rack, true, null, System.nanoTime() - 1);
+        assert(!expired.isComplete());
+        assert(expired.getCoverage() == 0.0);
+        assert(expired.getMoves().isEmpty());
+        assert(expired.getBestMove() == null);
+
+        MoveGenerator.Analysis full = generator.analyze(board, rack, true, null);
+        MoveGenerator.Analysis timed = generator.analyze(board, rack, true, null, System.nanoTime() + 60_000_000_000L);
+        assert(full.isComplete());
+        assert(timed.isComplete());
+        assert(timed.getCoverage() == 1.0);
+        assert(timed.getMoves().toString().equals(full.getMoves().toString()));
+        assert(timed.getBestScore() == full.getBestScore());
+    }
+
+    /**
+     * Tests that the simulation picks one of the highest scoring plays, plays out every opponent rack asked for, and
+     * makes the same choice again from the same random seed.
+     * */
+    @Test
+    public void testMonteCarloSearch() throws IOException, ClassNotFoundException {
+        Game game = new Game(5L);
+        game.createPlayers("0", "2");
+        for (int turn = 0; turn < 4 && !game.isGameFinished(); turn++) {
+            game.playAITurn();
+        }
+        Board board = game.getBoard();
+        Rack rack = game.getCurrentPlayer().getHand().getRack();
+        MoveGenerator generator = MoveGenerator.create(MoveGenerator.Backend.TRIE);
+        MoveGenerator.Analysis analysis = generator.analyze(board, rack);
+        MonteCarloSearch search = new MonteCarloSearch(generator, 3, 12);
+
+        MonteCarloSearch.Result first = search.choose(board, analysis, rack, new SplittableRandom(3L),
+                MoveGenerator.NO_DEADLINE);
+        MonteCarloSearch.Result second = search.choose(board, analysis, rack, new SplittableRandom(3L),
+                MoveGenerator.NO_DEADLINE);
+        assert(first.getPlayouts() == 12);
+        assert(analysis.getMoves().contains(first.getMove()));
+        assert(first.getSpread() <= first.getScore());
+        assert(first.getMove() == second.getMove());
+        assert(first.getSpread() == second.getSpread());
+
+        MonteCarloSearch.Result late = search.choose(board, analysis, rack, new SplittableRandom(3L),
+                System.nanoTime() - 1);
+        assert(late.getPlayouts() == 0);
+        assert(late.getMove() == analysis.getBestMove());
+    }
+
+    /**
+     * Tests that two games between simulating AIs started from the same seed are played the same way.
+     * */
+    @Test
+    public void testSimulationGameIsRepeatable() throws IOException, ClassNotFoundException {
+        String[] boards = new String[2];
+        for (int run = 0; run < boards.length; run++) {
+            Game game = new Game(9L);
+            game.createPlayers("0", "2");
+            for (Player player : game.getPlayerList()) {
+                ((AIPlayer) player).setStrategy(AIPlayer.Strategy.SIMULATION);
+            }
+            for (int turn = 0; turn < 3 && !game.isGameFinished(); turn++) {
+                game.playAITurn();
+            }
+            boards[run] = boardLetters(game.getBoard());
+        }
+        assert(!boards[0].trim().isEmpty());
+        assert(boards[0].equals(boards[1]));
+    }
+
+    /**
+     * @return the letters of every square of the board, row by row, a space for an empty square
+     * */
+    private static String boardLetters(Board board) {
+        StringBuilder letters = new StringBuilder();
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            for (int col = 1; col <= Board.BOARD_SIZE; col++) {
+                letters.append(board.getLetterAt(row, col));
+            }
+        }
+        return letters.toString();
+    }
+
+    /**
+     * Tests that every leave of up to two tiles has its own index in the table, that larger leaves follow them, and
+     * that a written table reads back the values it was given.
+     * */
+    @Test
+    public void testLeaveTable() throws IOException {
+        boolean[] used = new boolean[LeaveTable.size()];
+        int[] leave = new int[Rack.SLOTS];
+        assert(LeaveTable.index(leave) == 0);
+        used[0] = true;
+        for (int first = 0; first < Rack.SLOTS; first++) {
+            for (int second = first; second < Rack.SLOTS; second++) {
+                leave[first]++;
+                int single = LeaveTable.index(leave);
+                assert(single > 0 && single <= Rack.SLOTS);
+                leave[second]++;
+                int pair = LeaveTable.index(leave);
+                assert(pair > Rack.SLOTS && pair < Rack.SLOTS + 1 + Rack.SLOTS * (Rack.SLOTS + 1) / 2);
+                assert(!used[pair]);
+                used[pair] = true;
+                leave[first] = 0;
+                leave[second] = 0;
+            }
+        }
+        leave[Rack.BLANK] = LeaveTable.MAX_LEAVE;
+        assert(LeaveTable.index(leave) == LeaveTable.size() - 1);
+        leave[0] = 1;
+        assert(LeaveTable.index(leave) == -1);
+        assert(LeaveTable.empty().value(leave) == 0);
+
+        double[] values = new double[LeaveTable.size()];
+        int[] blankAndS = new int[Rack.SLOTS];
+        blankAndS[Rack.BLANK] = 1;
+        blankAndS[Rack.slotOf('S')] = 1;
+        values[LeaveTable.index(blankAndS)] = 12.34;
+        File file = File.createTempFile("leaves", ".bin");
+        file.deleteOnExit();
+        LeaveTable.write(values, file);
+        LeaveTable table = LeaveTable.load(file);
+        assert(table.isLoaded());
+        assert(Math.abs(table.value(blankAndS) - 12.34) < 1e-9);
+        assert(table.value(new int[Rack.SLOTS]) == 0);
+    }
+
+    /**
+     * Tests that an AI turn played in the background leaves the game to the caller while the AI thinks, is made
+     * through the publisher, and is dropped when undone before it is made.
+     * */
+    @Test
+    public void testBackgroundAITurn() throws IOException, ClassNotFoundException, InterruptedException {
+        Game game = new Game();
+        game.createPlayers("1", "1");
+        LinkedBlockingQueue<Runnable> published = new LinkedBlockingQueue<>();
+        game.runAITurnsInBackground(published::add);
+        Player human = game.getCurrentPlayer();
+
+        game.nextPlayer();
+        assert(game.isAIThinking());
+        assert(game.getCurrentPlayer().isAI());
+        Runnable play = published.poll(60, TimeUnit.SECONDS);
+        assert(play != null);
+        play.run();
+        assert(!game.isAIThinking());
+        assert(game.getCurrentPlayer() == human);
+
+        StringBuilder before = new StringBuilder();
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            for (int col = 1; col <= Board.BOARD_SIZE; col++) {
+                before.append(game.getBoard().getLetterAt(row, col));
+            }
+        }
+        game.nextPlayer();
+        assert(game.isAIThinking());
+        assert(game.undoGame());
+        assert(!game.isAIThinking());
+        assert(!game.getCurrentPlayer().isAI());
+        Runnable stale = published.poll(60, TimeUnit.SECONDS);
+        assert(stale != null);
+        stale.run();
+        assert(!game.isAIThinking());
+        assert(!game.getCurrentPlayer().isAI());
+        StringBuilder after = new StringBuilder();
+        for (int row = 1; row <= Board.BOARD_SIZE; row++) {
+            for (int col = 1; col <= Board.BOARD_SIZE; col++) {
+                after.append(game.getBoard().getLetterAt(row, col));
+            }
+        }
+        assert(after.toString().equals(before.toString()));
+        game.close();
+
+        // a cancelled turn interrupts the thread of its search, which stops there
+        Rack retains = new Rack();
+        for (char c : "RETAINS".toCharArray()) {
+            retains.add(c);
+        }
+        Thread.currentThread().interrupt();
+        MoveGenerator.Analysis cancelled;
+        try {
+            cancelled = MoveGenerator.create(MoveGenerator.Backend.TRIE).analyze(new Board(), retains);
+        } finally {
+            Thread.interrupted();
+        }
+        assert(!cancelled.isComplete());
+        assert(cancelled.getMoves().isEmpty());
+    }
 }
\ No newline at end of file
@@ -108,6 +108,12 @@ public class GameCommandPanel extends JPanel implements ScrabbleView {
 
     @Override
     public void update(ScrabbleEvent e) {
+        // the commands wait for an AI to finish its turn
+        for (JButton[] row : buttons) {
+            for (JButton button : row) {
+                button.setEnabled(!e.isAIThinking());
+            }
+        }
         if (e.getCurrentPlayer() != null) {
             this.player = e.getCurrentPlayer();
             initializeExchangeFrame();
@@ -88,6 +88,9 @@ public class GameConsolePanel extends JPanel implements ScrabbleView {
             console.append(" Models.Player " + (e.getCurrentPlayer().getPlayerNumber() + 1) +
                     ((e.getCurrentPlayer().isAI()) ? "(AI PLAYER)" : "") + "'s turn..." + "\n Points: " +
                     e.getCurrentPlayer().getPoints() + NEWLINE2);
+            if (e.isAIThinking()) {
+                console.append(" Thinking..." + NEWLINE2);
+            }
         }
 
 
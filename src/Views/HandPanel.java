@@ -62,7 +62,12 @@ public class HandPanel extends JPanel implements ScrabbleView {
 
     @Override
     public void update(ScrabbleEvent e) {
-        if (e.getCurrentPlayer() != null) {
+        if (e.isAIThinking()) {
+            // an AI's tiles are neither shown nor dragged
+            this.removeAll();
+            removedPanels.clear();
+            this.repaint();
+        } else if (e.getCurrentPlayer() != null) {
             this.player = e.getCurrentPlayer();
             refreshHand();
         }
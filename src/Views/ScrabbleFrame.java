@@ -15,6 +15,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 
 public class ScrabbleFrame extends JFrame implements ActionListener {
@@ -31,6 +32,7 @@ public class ScrabbleFrame extends JFrame implements ActionListener {
      */
     public ScrabbleFrame() {
         super("Welcome to Scrabble!");
+        this.game.runAITurnsInBackground(SwingUtilities::invokeLater);
         this.initializeFrame();
         this.initializePanels(game);
     }
@@ -41,6 +43,12 @@ public class ScrabbleFrame extends JFrame implements ActionListener {
      */
     private void initializeFrame() {
         this.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                game.close();
+            }
+        });
         this.setSize(frameWidth, frameHeight);
         //this.setLayout(new GridLayout(2,2)); //todo revisit later
         this.setLayout(new BorderLayout()); //todo revisit later